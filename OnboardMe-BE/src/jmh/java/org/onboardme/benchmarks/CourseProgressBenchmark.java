@@ -0,0 +1,115 @@
+package org.onboardme.benchmarks;
+
+import org.onboardme.OnboardMe;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.onboardme.services.CoursesService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Avance de un usuario en N cursos: una llamada a {@code CoursesService.getCourseProgress} por par,
+ * como hacen hoy course-calendar y la vista de empleados, contra {@code getCoursesProgress} en una sola
+ * consulta. Levanta la aplicación con el perfil {@code test} (H2 en memoria, puerto libre) y mide a nivel
+ * servicio, sin HTTP, así que el costo por request real del bucle es todavía mayor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseProgressBenchmark {
+
+    private static final int SECTIONS_PER_COURSE = 5;
+
+    @Param({"1", "10", "100"})
+    public int pairs;
+
+    private ConfigurableApplicationContext context;
+    private CoursesService coursesService;
+    private Long userId;
+    private List<Long> courseIds;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(OnboardMe.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        coursesService = context.getBean(CoursesService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+
+        User buddy = userRepository.save(user("bench.buddy." + pairs + "@empresa.com", null));
+        User user = userRepository.save(user("bench.user." + pairs + "@empresa.com", buddy));
+        userId = user.getId();
+        courseIds = new ArrayList<>();
+        for (int i = 0; i < pairs; i++) {
+            Course course = courseRepository.save(course("Curso " + i));
+            coursesService.assignCourse(course.getId(), buddy.getId(), userId);
+            courseIds.add(course.getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void perPair(Blackhole bh) {
+        for (Long courseId : courseIds) {
+            bh.consume(coursesService.getCourseProgress(courseId, userId));
+        }
+    }
+
+    @Benchmark
+    public Object bulk() {
+        return coursesService.getCoursesProgress(userId, courseIds, null, null);
+    }
+
+    private static User user(String email, User buddy) {
+        User user = new User();
+        user.setFirstName("Bench");
+        user.setEmail(email);
+        user.setPassword("clave");
+        user.setBuddy(buddy);
+        return user;
+    }
+
+    private static Course course(String title) {
+        Course course = new Course();
+        course.setTitle(title);
+        List<Section> sections = new ArrayList<>();
+        for (int s = 1; s <= SECTIONS_PER_COURSE; s++) {
+            Section section = new Section();
+            section.setTitle("Sección " + s);
+            section.setOrder(s);
+            section.setCourse(course);
+            sections.add(section);
+        }
+        course.setSections(sections);
+        return course;
+    }
+}
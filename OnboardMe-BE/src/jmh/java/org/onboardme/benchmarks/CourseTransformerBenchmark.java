@@ -0,0 +1,162 @@
+package org.onboardme.benchmarks;
+
+import com.onboardme.model.CourseDTO;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.Enrollment;
+import org.onboardme.dao.entities.EnrollmentId;
+import org.onboardme.dao.entities.Role;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.entities.content.ExamContent;
+import org.onboardme.dao.entities.content.ExamOption;
+import org.onboardme.dao.entities.content.ExamQuestion;
+import org.onboardme.dao.entities.content.QuestionType;
+import org.onboardme.dao.entities.content.VideoContent;
+import org.onboardme.transformers.CourseTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code CourseTransformer.buildCourseResponse} sobre un curso armado en memoria: {@code sections}
+ * secciones (una de cada cinco es un examen, el resto video) e {@code inscriptions} inscripciones.
+ * Los transformers salen de un contexto de Spring con sólo el paquete {@code transformers}, sin base.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CourseTransformerBenchmark {
+
+    private static final int QUESTIONS_PER_EXAM = 10;
+    private static final int OPTIONS_PER_QUESTION = 4;
+
+    @Param({"10", "100"})
+    public int sections;
+
+    @Param({"10", "1000"})
+    public int inscriptions;
+
+    private AnnotationConfigApplicationContext context;
+    private CourseTransformer courseTransformer;
+    private Course course;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext("org.onboardme.transformers");
+        courseTransformer = context.getBean(CourseTransformer.class);
+
+        Role role = new Role(1L, "Empleado", null);
+        User creator = user(1L, role, null);
+
+        course = new Course();
+        course.setId(1L);
+        course.setTitle("Curso de bienvenida");
+        course.setDescription("Curso sintético para benchmarks");
+        course.setArea("IT");
+        course.setCreatedDate(new Date());
+        course.setCreatedBy(creator);
+
+        long id = 1;
+        List<Section> courseSections = new ArrayList<>();
+        for (int s = 1; s <= sections; s++) {
+            Section section = new Section();
+            section.setId((long) s);
+            section.setTitle("Sección " + s);
+            section.setOrder(s);
+            section.setCourse(course);
+            if (s % 5 == 0) {
+                ExamContent exam = exam(id);
+                id += QUESTIONS_PER_EXAM * (OPTIONS_PER_QUESTION + 1);
+                exam.setSection(section);
+                section.setContent(exam);
+            } else {
+                VideoContent video = new VideoContent();
+                video.setId_content((long) s);
+                video.setUrl("https://videos.empresa.com/" + s);
+                video.setSection(section);
+                section.setContent(video);
+            }
+            courseSections.add(section);
+        }
+        course.setSections(courseSections);
+
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (int i = 0; i < inscriptions; i++) {
+            User user = user(i + 2L, role, creator);
+            Section current = courseSections.get(i % sections);
+            enrollments.add(new Enrollment(new EnrollmentId(user.getId(), course.getId()), user, course, new Date(),
+                    null, "EN_CURSO", i % 7 == 0, current));
+        }
+        course.setEnrollments(enrollments);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CourseDTO buildCourseResponse() {
+        return courseTransformer.buildCourseResponse(course);
+    }
+
+    private static ExamContent exam(long firstId) {
+        ExamContent exam = new ExamContent();
+        exam.setId_content(firstId);
+        exam.setTimeLimit(30);
+        long id = firstId;
+        List<ExamQuestion> questions = new ArrayList<>();
+        for (int q = 0; q < QUESTIONS_PER_EXAM; q++) {
+            ExamQuestion question = new ExamQuestion();
+            question.setId(id++);
+            question.setText("Pregunta " + q);
+            question.setType(QuestionType.SINGLE_CHOICE);
+            question.setExam(exam);
+            List<ExamOption> options = new ArrayList<>();
+            for (int o = 0; o < OPTIONS_PER_QUESTION; o++) {
+                ExamOption option = new ExamOption();
+                option.setId(id++);
+                option.setText("Opción " + o);
+                option.setCorrect(o == 0);
+                option.setQuestion(question);
+                options.add(option);
+            }
+            question.setOptions(options);
+            questions.add(question);
+        }
+        exam.setQuestions(questions);
+        return exam;
+    }
+
+    private static User user(long id, Role role, User buddy) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName("Empleado");
+        user.setLastName("Número " + id);
+        user.setEmail("empleado" + id + "@empresa.com");
+        user.setArea("IT");
+        user.setStatus(1);
+        user.setCreatedDate(new Date());
+        user.setRole(role);
+        user.setBuddy(buddy);
+        return user;
+    }
+}
@@ -0,0 +1,129 @@
+package org.onboardme.benchmarks;
+
+import org.onboardme.dao.entities.content.ExamContent;
+import org.onboardme.dao.entities.content.ExamOption;
+import org.onboardme.dao.entities.content.ExamQuestion;
+import org.onboardme.dao.entities.content.QuestionType;
+import org.onboardme.services.ExamAnswerKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corrección de un examen: la versión anterior de {@code ExamService.submitExam} (stream de
+ * opciones y dos {@code HashSet} por pregunta) contra la clave compilada {@link ExamAnswerKey}.
+ *
+ * <p>Con {@code -Djmh.args="ExamGrading -prof gc"} se ve además la asignación por operación.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExamGradingBenchmark {
+
+    private static final int OPTIONS_PER_QUESTION = 4;
+
+    @Param({"10", "100", "1000"})
+    public int questions;
+
+    private ExamContent exam;
+    private ExamAnswerKey answerKey;
+    private Map<Long, List<Long>> answers;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        exam = new ExamContent();
+        exam.setId_content(1L);
+        answers = new HashMap<>();
+
+        long optionId = 1;
+        List<ExamQuestion> examQuestions = new ArrayList<>();
+        for (long q = 1; q <= questions; q++) {
+            ExamQuestion question = new ExamQuestion();
+            question.setId(q);
+            question.setType(q % 3 == 0 ? QuestionType.MULTIPLE_CHOICE : QuestionType.SINGLE_CHOICE);
+
+            List<ExamOption> options = new ArrayList<>();
+            List<Long> correct = new ArrayList<>();
+            for (int o = 0; o < OPTIONS_PER_QUESTION; o++) {
+                ExamOption option = new ExamOption();
+                option.setId(optionId++);
+                option.setCorrect(o == 0 || (question.getType() == QuestionType.MULTIPLE_CHOICE && o == 2));
+                if (option.getCorrect()) {
+                    correct.add(option.getId());
+                }
+                options.add(option);
+            }
+            question.setOptions(options);
+            examQuestions.add(question);
+
+            // Dos de cada tres respuestas correctas (en cualquier orden), el resto con una opción de más
+            List<Long> selected = new ArrayList<>(correct);
+            if (random.nextInt(3) == 0) {
+                selected.add(options.get(1).getId());
+            }
+            Collections.shuffle(selected, random);
+            answers.put(question.getId(), selected);
+        }
+        exam.setQuestions(examQuestions);
+        answerKey = ExamAnswerKey.compile(exam, 1L);
+    }
+
+    @Benchmark
+    public int legacy(Blackhole blackhole) {
+        int score = 0;
+        for (ExamQuestion question : exam.getQuestions()) {
+            List<Long> selected = answers.getOrDefault(question.getId(), List.of());
+            List<Long> correctOptionIds = question.getOptions().stream()
+                    .filter(o -> Boolean.TRUE.equals(o.getCorrect()))
+                    .map(ExamOption::getId)
+                    .toList();
+            boolean correct = new HashSet<>(selected).equals(new HashSet<>(correctOptionIds));
+            if (correct) {
+                score++;
+            }
+            blackhole.consume(correctOptionIds);
+        }
+        return score;
+    }
+
+    @Benchmark
+    public int compiled(Blackhole blackhole) {
+        int score = 0;
+        for (ExamAnswerKey.QuestionKey question : answerKey.getQuestions()) {
+            List<Long> selected = answers.getOrDefault(question.getQuestionId(), List.of());
+            if (question.isCorrect(selected)) {
+                score++;
+            }
+            blackhole.consume(question.getCorrectOptionIds());
+        }
+        return score;
+    }
+
+    // Costo de compilar la clave, que se paga una vez por examen hasta que la caché la descarta
+    @Benchmark
+    public ExamAnswerKey compile() {
+        return ExamAnswerKey.compile(exam, 1L);
+    }
+}
@@ -0,0 +1,110 @@
+package org.onboardme.benchmarks;
+
+import com.onboardme.model.GenericMetricDTO;
+import com.onboardme.model.MetricTypeDTO;
+import org.onboardme.dao.projections.UserCourseCompletionRow;
+import org.onboardme.dao.repositories.EnrollmentRepository;
+import org.onboardme.dao.repositories.SectionRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.onboardme.services.EnrollmentProgressResolver;
+import org.onboardme.services.EnrollmentProgressResolver.CourseSections;
+import org.onboardme.services.MetricsRollupService;
+import org.onboardme.services.MetricsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Armado en memoria de USER_COURSE_COMPLETION en {@code MetricsService.getMetric}: agrupar las filas
+ * por usuario, calcular el avance, ordenar y generar las etiquetas. Las filas de {@code users} empleados
+ * con hasta {@code coursesPerUser} cursos cada uno salen de stubs de Mockito, así que no se mide la base.
+ *
+ * <p>Uno de cada 20 empleados no tiene cursos; del resto, más o menos un tercio de las inscripciones
+ * está terminada y una de cada cuatro no tiene avance guardado y se calcula por orden de sección.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsAssemblyBenchmark {
+
+    private static final int COURSES = 50;
+    private static final int SECTIONS_PER_COURSE = 8;
+
+    @Param({"100", "10000"})
+    public int users;
+
+    @Param({"10"})
+    public int coursesPerUser;
+
+    private MetricsService metricsService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Date finished = new Date();
+        List<UserCourseCompletionRow> rows = new ArrayList<>();
+        for (long u = 1; u <= users; u++) {
+            String firstName = "Empleado";
+            String lastName = "Número " + random.nextInt(users);
+            if (u % 20 == 0) {
+                rows.add(new UserCourseCompletionRow(u, firstName, lastName, null, null, null, null, null, null));
+                continue;
+            }
+            int courses = 1 + random.nextInt(coursesPerUser);
+            for (int c = 0; c < courses; c++) {
+                long courseId = (u * 7 + c) % COURSES + 1;
+                int section = 1 + random.nextInt(SECTIONS_PER_COURSE);
+                boolean done = random.nextInt(3) == 0;
+                Double progress = random.nextInt(4) == 0 ? null : section * 100.0 / SECTIONS_PER_COURSE;
+                rows.add(new UserCourseCompletionRow(u, firstName, lastName, courseId, "Curso | " + courseId,
+                        done ? finished : null, done ? "FINALIZADO" : "EN_CURSO", section, progress));
+            }
+        }
+
+        Map<Long, CourseSections> sections = new HashMap<>();
+        for (long courseId = 1; courseId <= COURSES; courseId++) {
+            sections.put(courseId, new CourseSections(SECTIONS_PER_COURSE));
+        }
+
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findCourseCompletionRows(any())).thenReturn(rows);
+        EnrollmentProgressResolver progressResolver = mock(EnrollmentProgressResolver.class, withSettings().stubOnly());
+        when(progressResolver.loadCourseSections(any())).thenReturn(sections);
+
+        metricsService = new MetricsService(
+                mock(EnrollmentRepository.class, withSettings().stubOnly()),
+                userRepository,
+                mock(SectionRepository.class, withSettings().stubOnly()),
+                progressResolver,
+                mock(MetricsRollupService.class, withSettings().stubOnly()));
+    }
+
+    @Benchmark
+    public GenericMetricDTO userCourseCompletion() {
+        return metricsService.getMetric(MetricTypeDTO.USER_COURSE_COMPLETION, null, null);
+    }
+}
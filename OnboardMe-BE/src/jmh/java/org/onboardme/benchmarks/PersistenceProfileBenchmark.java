@@ -0,0 +1,150 @@
+package org.onboardme.benchmarks;
+
+import org.onboardme.OnboardMe;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.onboardme.services.CoursesService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendimiento de {@code CoursesService.updateCourseProgress} con la configuración por defecto
+ * ({@code show-sql}, {@code format_sql}, SQL en DEBUG y parámetros en TRACE) y con el perfil {@code prod}.
+ *
+ * <p>Las dos variantes usan H2 en memoria en modo MySQL, así que lo que se compara es el costo del
+ * log y de la configuración de Hibernate, no el driver de MySQL (cuyas opciones H2 ignora). La salida
+ * estándar se manda a {@code target/jmh-persistence-<perfil>.log}: en una consola real el log
+ * cuesta todavía más.</p>
+ *
+ * <p>Cada operación avanza una sección a uno de {@code LEARNERS} alumnos, en orden, y la última
+ * termina el curso y notifica al buddy. Antes de cada iteración se vuelven todos a la primera sección.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceProfileBenchmark {
+
+    private static final int LEARNERS = 500;
+    private static final int SECTIONS = 40;
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private CoursesService coursesService;
+    private TransactionTemplate transaction;
+    private JdbcTemplate jdbcTemplate;
+    private PrintStream originalOut;
+    private Long courseId;
+    private List<Long> userIds;
+    private List<Long> sectionIds;
+    private int next;
+
+    @Setup
+    public void setUp() throws FileNotFoundException {
+        originalOut = System.out;
+        System.setOut(new PrintStream(new FileOutputStream("target/jmh-persistence-" + profile + ".log"), true));
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(OnboardMe.class)
+                .properties("server.port=0", "spring.main.banner-mode=off");
+        if (profile.equals("prod")) {
+            builder.profiles("prod");
+        }
+        context = builder.run(
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,ORDER;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--onboardme.mail.outbox.poll-interval=1h");
+        coursesService = context.getBean(CoursesService.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+
+        User buddy = userRepository.save(user("bench.buddy@empresa.com", null));
+        Course course = courseRepository.save(course());
+        courseId = course.getId();
+        sectionIds = course.getSections().stream().map(Section::getId).toList();
+        userIds = new ArrayList<>();
+        for (int i = 0; i < LEARNERS; i++) {
+            User learner = userRepository.save(user("bench.alumno" + i + "@empresa.com", buddy));
+            coursesService.assignCourse(courseId, buddy.getId(), learner.getId());
+            userIds.add(learner.getId());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetProgress() {
+        jdbcTemplate.update("UPDATE usuario_x_curso SET Id_Seccion = NULL, Fecha_finalizacion = NULL, Estado = 'ASIGNADO', Progreso = 0 WHERE Id_Curso = ?", courseId);
+        next = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void updateCourseProgress() {
+        int i = next++ % (LEARNERS * SECTIONS);
+        Long userId = userIds.get(i % LEARNERS);
+        Long sectionId = sectionIds.get(i / LEARNERS);
+        transaction.executeWithoutResult(status -> coursesService.updateCourseProgress(courseId, userId, sectionId));
+    }
+
+    private static User user(String email, User buddy) {
+        User user = new User();
+        user.setFirstName("Bench");
+        user.setEmail(email);
+        user.setPassword("clave");
+        user.setBuddy(buddy);
+        return user;
+    }
+
+    private static Course course() {
+        Course course = new Course();
+        course.setTitle("Curso de benchmark");
+        List<Section> sections = new ArrayList<>();
+        for (int s = 1; s <= SECTIONS; s++) {
+            Section section = new Section();
+            section.setTitle("Sección " + s);
+            section.setOrder(s);
+            section.setCourse(course);
+            sections.add(section);
+        }
+        course.setSections(sections);
+        return course;
+    }
+}
@@ -0,0 +1,89 @@
+package org.onboardme.benchmarks;
+
+import com.onboardme.model.UploadUsersCsv200Response;
+import org.onboardme.dao.entities.Role;
+import org.onboardme.dao.repositories.RoleRepository;
+import org.onboardme.dao.repositories.UserJdbcRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.onboardme.services.EmailService;
+import org.onboardme.services.UserCsvImporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Lectura de un CSV de {@code lines} usuarios con {@code UserCsvImporter.importCsv}, que es lo que hace
+ * {@code UserService.processUsersCsv}: parseo, validación y armado de los lotes. Los repositorios, el
+ * mail y la transacción son stubs de Mockito sin registro de llamadas, así que no se mide la base.
+ *
+ * <p>Una de cada 50 líneas repite un email, una de cada 100 tiene un rol inexistente y una de cada
+ * 200 le faltan columnas, para pasar también por los mensajes de error.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserCsvImportBenchmark {
+
+    @Param({"1000", "100000"})
+    public int lines;
+
+    private UserCsvImporter importer;
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        RoleRepository roleRepository = mock(RoleRepository.class, withSettings().stubOnly());
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, "Empleado", null), new Role(2L, "Buddy", null), new Role(3L, "Admin", null)));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class, withSettings().stubOnly());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        importer = new UserCsvImporter(
+                mock(UserRepository.class, withSettings().stubOnly()),
+                roleRepository,
+                mock(UserJdbcRepository.class, withSettings().stubOnly()),
+                mock(EmailService.class, withSettings().stubOnly()),
+                transactionManager);
+
+        StringBuilder content = new StringBuilder("nombre,apellido,email,contrasenia,rol,area\n");
+        for (int i = 1; i <= lines; i++) {
+            if (i % 200 == 0) {
+                content.append("Empleado,Incompleto ").append(i).append('\n');
+                continue;
+            }
+            int email = i % 50 == 0 ? i - 1 : i;
+            String role = i % 100 == 0 ? "Pasante" : (i % 10 == 0 ? "buddy" : "Empleado");
+            content.append(" Empleado , Número ").append(i).append(", empleado").append(email).append("@empresa.com ,clave")
+                    .append(i).append(',').append(role).append(",IT\n");
+        }
+        csv = content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public UploadUsersCsv200Response importCsv() throws IOException {
+        return importer.importCsv(new ByteArrayInputStream(csv));
+    }
+}
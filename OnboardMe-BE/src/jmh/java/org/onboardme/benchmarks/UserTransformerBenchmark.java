@@ -0,0 +1,103 @@
+package org.onboardme.benchmarks;
+
+import com.onboardme.model.UserDTO;
+import org.onboardme.dao.entities.Role;
+import org.onboardme.dao.entities.User;
+import org.onboardme.transformers.UserTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code UserTransformer.buildUserResponse}, que arma el buddy, el buddy del buddy y así hasta el
+ * final de la cadena. {@code depth} es el largo de la cadena; {@code page} transforma
+ * {@value #PAGE_SIZE} empleados que comparten esa cadena, como un listado de usuarios.
+ * {@code cycle} es una cadena cerrada, que corta la prevención de ciclos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserTransformerBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1", "10", "100"})
+    public int depth;
+
+    private final UserTransformer userTransformer = new UserTransformer();
+    private User chain;
+    private User cycle;
+    private List<User> page;
+
+    @Setup
+    public void setUp() {
+        Role role = new Role(1L, "Empleado", null);
+        long id = 1;
+
+        chain = null;
+        for (int i = 0; i < depth; i++) {
+            chain = user(id++, role, chain);
+        }
+
+        User last = user(id++, role, null);
+        cycle = last;
+        for (int i = 1; i < depth; i++) {
+            cycle = user(id++, role, cycle);
+        }
+        last.setBuddy(cycle);
+
+        page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(user(id++, role, chain));
+        }
+    }
+
+    @Benchmark
+    public UserDTO buddyChain() {
+        return userTransformer.buildUserResponse(chain);
+    }
+
+    @Benchmark
+    public UserDTO cycle() {
+        return userTransformer.buildUserResponse(cycle);
+    }
+
+    @Benchmark
+    public void page(Blackhole bh) {
+        for (User user : page) {
+            bh.consume(userTransformer.buildUserResponse(user));
+        }
+    }
+
+    private static User user(long id, Role role, User buddy) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName("Empleado");
+        user.setLastName("Número " + id);
+        user.setEmail("empleado" + id + "@empresa.com");
+        user.setArea("IT");
+        user.setStatus(1);
+        user.setCreatedDate(new Date());
+        user.setBirthDate(new Date());
+        user.setRole(role);
+        user.setBuddy(buddy);
+        return user;
+    }
+}
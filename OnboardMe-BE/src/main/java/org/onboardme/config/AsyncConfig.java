@@ -0,0 +1,79 @@
+package org.onboardme.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    public static final String IMPORT_EXECUTOR = "importExecutor";
+    public static final String NOTIFICATION_STREAM_EXECUTOR = "notificationStreamExecutor";
+    public static final String DOMAIN_EVENT_EXECUTOR = "domainEventExecutor";
+    public static final String EXPORT_EXECUTOR = "exportExecutor";
+
+    @Value("${onboardme.exports.max-concurrent:2}")
+    private int maxConcurrentExports;
+
+    /**
+     * Importaciones de usuarios en segundo plano. Pocas a la vez porque cada una ocupa una
+     * conexión por lote; si la cola está llena la tarea se rechaza y el controller responde 503.
+     */
+    @Bean(name = IMPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor importExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(8);
+        executor.setThreadNamePrefix("import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    /**
+     * Envíos a las conexiones SSE de notificaciones. La cola no tiene límite porque cada conexión
+     * encola a lo sumo un envío a la vez: nunca pasa de {@code onboardme.notifications.stream.max-streams}.
+     */
+    @Bean(name = NOTIFICATION_STREAM_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setThreadNamePrefix("sse-");
+        return executor;
+    }
+
+    /**
+     * Procesa los eventos de dominio apenas se confirma la transacción que los guardó. Un solo hilo:
+     * el procesador toma los lotes de a uno, en orden.
+     */
+    @Bean(name = DOMAIN_EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor domainEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("events-");
+        return executor;
+    }
+
+    /**
+     * Escribe las exportaciones de ExportController, que lo pasa a su {@code WebAsyncTask}: el resto de
+     * las respuestas asíncronas usa la configuración por defecto de Spring MVC. Un hilo por exportación;
+     * ExportService no deja que corran más de {@code max-concurrent}.
+     */
+    @Bean(name = EXPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentExports);
+        executor.setMaxPoolSize(maxConcurrentExports);
+        executor.setThreadNamePrefix("export-");
+        return executor;
+    }
+}
@@ -0,0 +1,39 @@
+package org.onboardme.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caché en memoria de la estructura de los cursos (secciones, contenido, claves de examen y el
+ * curso de cada sección), que sólo cambia en {@code createCourse} y en los {@code addXxxContent}.
+ *
+ * <p>Cada caché está acotada por cantidad de entradas y registra estadísticas; Spring Boot las
+ * publica como {@code cache.gets}, {@code cache.puts}, {@code cache.evictions} y {@code cache.size}
+ * en {@code /actuator/metrics}.</p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COURSE_SECTIONS = "courseSections";
+    public static final String SECTION_CONTENT = "sectionContent";
+    public static final String EXAM_ANSWER_KEYS = "examAnswerKeys";
+    public static final String SECTION_COURSE = "sectionCourse";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${onboardme.cache.maximum-size:5000}") long maximumSize) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager(COURSE_SECTIONS, SECTION_CONTENT, EXAM_ANSWER_KEYS, SECTION_COURSE);
+        caffeine.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats());
+        // Las invalidaciones hechas dentro de una transacción se aplican recién después del commit,
+        // así una lectura concurrente no vuelve a cargar la versión anterior.
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
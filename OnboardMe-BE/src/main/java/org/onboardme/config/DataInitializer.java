@@ -133,75 +133,75 @@ public class DataInitializer {
         // ---------- SECCIONES (orden en cada curso) ----------
         Section s1 = sectionRepository.findByTitle("Bienvenida")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Bienvenida", "1", cursoOnboarding, null,null)));
+                        new Section(null, "Bienvenida", 1, cursoOnboarding, null,null)));
 
         Section s2 = sectionRepository.findByTitle("Historia de la empresa")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Historia de la empresa", "2", cursoOnboarding, null, null)));
+                        new Section(null, "Historia de la empresa", 2, cursoOnboarding, null, null)));
 
         Section s3 = sectionRepository.findByTitle("Contraseñas seguras")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Contraseñas seguras", "1", cursoSeguridad, null, null)));
+                        new Section(null, "Contraseñas seguras", 1, cursoSeguridad, null, null)));
 
         Section s4 = sectionRepository.findByTitle("Correo corporativo")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Correo corporativo", "2", cursoSeguridad, null, null)));
+                        new Section(null, "Correo corporativo", 2, cursoSeguridad, null, null)));
 
         Section s5 = sectionRepository.findByTitle("Vacaciones y licencias")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Vacaciones y licencias", "1", cursoRRHH, null, null)));
+                        new Section(null, "Vacaciones y licencias", 1, cursoRRHH, null, null)));
 
         Section s6 = sectionRepository.findByTitle("Beneficios corporativos")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Beneficios corporativos", "2", cursoRRHH, null, null)));
+                        new Section(null, "Beneficios corporativos", 2, cursoRRHH, null, null)));
 
         Section s7 = sectionRepository.findByTitle("Uso de Slack")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Uso de Slack", "1", cursoComunicacion, null, null)));
+                        new Section(null, "Uso de Slack", 1, cursoComunicacion, null, null)));
 
         Section s8 = sectionRepository.findByTitle("Reuniones efectivas")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Reuniones efectivas", "2", cursoComunicacion, null, null)));
+                        new Section(null, "Reuniones efectivas", 2, cursoComunicacion, null, null)));
 
         Section s9 = sectionRepository.findByTitle("Valores y misión")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Valores y misión", "1", cursoCultura, null, null)));
+                        new Section(null, "Valores y misión", 1, cursoCultura, null, null)));
 
         Section s10 = sectionRepository.findByTitle("Historia reciente")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Historia reciente", "2", cursoCultura, null, null)));
+                        new Section(null, "Historia reciente", 2, cursoCultura, null, null)));
 
         Section s11 = sectionRepository.findByTitle("Ergonomía en el trabajo")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Ergonomía en el trabajo", "1", cursoSalud, null, null)));
+                        new Section(null, "Ergonomía en el trabajo", 1, cursoSalud, null, null)));
 
         Section s12 = sectionRepository.findByTitle("Prevención de lesiones")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Prevención de lesiones", "2", cursoSalud, null, null)));
+                        new Section(null, "Prevención de lesiones", 2, cursoSalud, null, null)));
 
         Section s13 = sectionRepository.findByTitle("Introducción a la plataforma")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Introducción a la plataforma", "1", cursoInicial, null, null)));
+                        new Section(null, "Introducción a la plataforma", 1, cursoInicial, null, null)));
 
         Section s14 = sectionRepository.findByTitle("Navegación básica")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Navegación básica", "2", cursoInicial, null, null)));
+                        new Section(null, "Navegación básica", 2, cursoInicial, null, null)));
 
         Section s15 = sectionRepository.findByTitle("Recursos de aprendizaje")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Recursos de aprendizaje", "3", cursoInicial, null, null)));
+                        new Section(null, "Recursos de aprendizaje", 3, cursoInicial, null, null)));
 
         Section s16 = sectionRepository.findByTitle("Herramientas esenciales")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Herramientas esenciales", "4", cursoInicial, null, null)));
+                        new Section(null, "Herramientas esenciales", 4, cursoInicial, null, null)));
 
         Section s17 = sectionRepository.findByTitle("Políticas clave")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Políticas clave", "5", cursoInicial, null, null)));
+                        new Section(null, "Políticas clave", 5, cursoInicial, null, null)));
 
         Section s18 = sectionRepository.findByTitle("Resumen y próximos pasos")
                 .orElseGet(() -> sectionRepository.save(
-                        new Section(null, "Resumen y próximos pasos", "6", cursoInicial, null, null)));
+                        new Section(null, "Resumen y próximos pasos", 6, cursoInicial, null, null)));
 
         // Actualizar cursos con secciones
         cursoOnboarding.setSections(List.of(s1, s2));
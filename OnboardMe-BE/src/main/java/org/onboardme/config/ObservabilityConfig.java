@@ -0,0 +1,65 @@
+package org.onboardme.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Métricas de sistema, publicadas en {@code /actuator/prometheus}:
+ * <ul>
+ *     <li>{@code http.server.requests}: latencia por endpoint, con histograma (Spring Boot).</li>
+ *     <li>{@code onboardme.service}: tiempo de cada método de los servicios anotados con {@code @Timed}.</li>
+ *     <li>{@code spring.data.repository.invocations}: tiempo de cada método de los repositorios JPA
+ *     (Spring Boot); {@code onboardme.repository.jdbc} para los que usan {@code JdbcTemplate}.</li>
+ *     <li>{@code onboardme.http.server.queries}: sentencias SQL por pedido, controladas contra el
+ *     {@link QueryBudget} de cada endpoint.</li>
+ * </ul>
+ */
+@Configuration
+public class ObservabilityConfig implements WebMvcConfigurer {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // Estático: es un BeanPostProcessor y tiene que existir antes que el DataSource
+    @Bean
+    public static BeanPostProcessor queryCountingDataSource(
+            @Value("${onboardme.query-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        QueryCounter counter = new QueryCounter(failOnExceed);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)
+                        ? new QueryCountingDataSource(dataSource, counter)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${onboardme.query-budget.repeated-threshold:3}") int repeatedThreshold) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry, repeatedThreshold));
+        // Antes que Spring Security, para contar también lo que hagan sus filtros
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor());
+    }
+}
@@ -0,0 +1,26 @@
+package org.onboardme.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cantidad máxima de sentencias SQL que puede hacer un pedido a este endpoint, de Hibernate y de
+ * {@code JdbcTemplate}. Se declara en cada método de los controllers que implementan un {@code *Api}.
+ *
+ * <p>El presupuesto es fijo: si el costo crece con los datos (un N+1), se pasa apenas hay más filas
+ * que en los tests y el pedido se registra o falla según {@code onboardme.query-budget.fail-on-exceed}.
+ * Un endpoint que por diseño hace sentencias proporcionales a lo que recibe (un INSERT por fila del
+ * archivo o por sección del curso) declara {@link #UNBOUNDED}, con el motivo al lado.</p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    int UNBOUNDED = -1;
+
+    int value();
+}
@@ -0,0 +1,12 @@
+package org.onboardme.config;
+
+/**
+ * Un pedido hizo más sentencias SQL que las declaradas en su {@link QueryBudget}. Sólo se lanza con
+ * {@code onboardme.query-budget.fail-on-exceed: true}, pensado para los tests de integración.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String endpoint, int budget, String sql) {
+        super("El endpoint " + endpoint + " superó su presupuesto de " + budget + " consultas al ejecutar: " + sql);
+    }
+}
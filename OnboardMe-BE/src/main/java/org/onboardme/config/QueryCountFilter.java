@@ -0,0 +1,73 @@
+package org.onboardme.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Publica {@code onboardme.http.server.queries}: cantidad de sentencias SQL por pedido, con los
+ * mismos tags {@code method} y {@code uri} que {@code http.server.requests} para cruzarlas con la latencia.
+ *
+ * <p>Al terminar el pedido avisa en el log de las sentencias repetidas al menos
+ * {@code repeatedThreshold} veces (posible N+1, contadas en {@code onboardme.http.server.repeated.queries})
+ * y de los pedidos que superaron su {@link QueryBudget}.</p>
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "onboardme.http.server.queries";
+    static final String REPEATED_METRIC = "onboardme.http.server.repeated.queries";
+
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry, int repeatedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryCounter.RequestQueries queries = QueryCounter.stop();
+            // El patrón del mapping (/courses/get/{idCourse}) y no la URL, para no abrir una serie por id
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder(METRIC)
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(queries.getCount());
+            report(request.getMethod() + " " + uri, queries);
+        }
+    }
+
+    private void report(String endpoint, QueryCounter.RequestQueries queries) {
+        for (Map.Entry<String, Integer> statement : queries.getBySql().entrySet()) {
+            if (statement.getValue() >= repeatedThreshold) {
+                meterRegistry.counter(REPEATED_METRIC, "endpoint", endpoint).increment();
+                logger.warning("Posible N+1 en " + endpoint + ": la misma consulta se ejecutó "
+                        + statement.getValue() + " veces: " + statement.getKey());
+            }
+        }
+        if (queries.getBudget() >= 0 && queries.getCount() > queries.getBudget()) {
+            logger.warning(endpoint + " hizo " + queries.getCount() + " consultas, su presupuesto es "
+                    + queries.getBudget());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.onboardme.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cuenta las sentencias SQL que se ejecutan en el hilo actual, de Hibernate y de {@code JdbcTemplate}:
+ * se las pasa {@link QueryCountingDataSource}. {@link QueryCountFilter} lo usa para medir cuántas
+ * consultas hace cada pedido.
+ *
+ * <p>También agrupa las sentencias por texto: llegan con los parámetros como {@code ?}, así que la
+ * misma consulta repetida con distintos valores es el síntoma de un N+1. Si el pedido tiene un
+ * {@link QueryBudget} y {@code failOnExceed} está activo, la sentencia que lo supera falla.</p>
+ */
+public class QueryCounter {
+
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+    private final boolean failOnExceed;
+
+    public QueryCounter(boolean failOnExceed) {
+        this.failOnExceed = failOnExceed;
+    }
+
+    public void count(String sql) {
+        RequestQueries queries = CURRENT.get();
+        if (queries != null) {
+            queries.count++;
+            queries.bySql.merge(sql, 1, Integer::sum);
+            if (failOnExceed && queries.budget >= 0 && queries.count > queries.budget) {
+                throw new QueryBudgetExceededException(queries.endpoint, queries.budget, sql);
+            }
+        }
+    }
+
+    /**
+     * Empieza a contar en el hilo actual, descartando lo contado antes.
+     */
+    public static void start() {
+        CURRENT.set(new RequestQueries());
+    }
+
+    /**
+     * Fija el presupuesto del pedido en curso; lo llama {@link QueryBudgetInterceptor} al conocer el endpoint.
+     */
+    public static void budget(String endpoint, int budget) {
+        RequestQueries queries = CURRENT.get();
+        if (queries != null) {
+            queries.endpoint = endpoint;
+            queries.budget = budget;
+        }
+    }
+
+    /**
+     * Sentencias contadas desde {@link #start()}, o 0 si el hilo no está contando.
+     */
+    public static int current() {
+        RequestQueries queries = CURRENT.get();
+        return queries != null ? queries.count : 0;
+    }
+
+    /**
+     * Deja de contar y devuelve lo contado, o null si el hilo no estaba contando.
+     */
+    public static RequestQueries stop() {
+        RequestQueries queries = CURRENT.get();
+        CURRENT.remove();
+        return queries;
+    }
+
+    public static final class RequestQueries {
+
+        private int count;
+        private int budget = QueryBudget.UNBOUNDED;
+        private String endpoint;
+        private final Map<String, Integer> bySql = new LinkedHashMap<>();
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Presupuesto declarado para el endpoint, o {@link QueryBudget#UNBOUNDED} si no tiene.
+         */
+        public int getBudget() {
+            return budget;
+        }
+
+        /**
+         * Cantidad de ejecuciones de cada sentencia distinta, en el orden en que se ejecutó cada una por primera vez.
+         */
+        public Map<String, Integer> getBySql() {
+            return bySql;
+        }
+    }
+}
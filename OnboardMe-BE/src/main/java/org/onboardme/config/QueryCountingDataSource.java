@@ -0,0 +1,77 @@
+package org.onboardme.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Pasa a {@link QueryCounter} cada sentencia que se prepara o ejecuta por sus conexiones, venga de
+ * Hibernate o de {@code JdbcTemplate}. Un lote ({@code executeBatch}) cuenta como una sentencia.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private final QueryCounter counter;
+
+    public QueryCountingDataSource(DataSource target, QueryCounter counter) {
+        super(target);
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    private Connection countingConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("prepare")) {
+                counter.count((String) args[0]);
+            }
+            Object result = invoke(connection, method, args);
+            return name.equals("createStatement") ? countingStatement((Statement) result) : result;
+        });
+    }
+
+    private Statement countingStatement(Statement statement) {
+        return proxy(Statement.class, statement, (method, args) -> {
+            String name = method.getName();
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                counter.count("batch");
+            } else if (name.startsWith("execute") && args != null && args[0] instanceof String sql) {
+                counter.count(sql);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private interface Call {
+        Object apply(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Call call) {
+        InvocationHandler handler = (proxy, method, args) -> call.apply(method, args);
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package org.onboardme.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -40,9 +50,12 @@ public class SecurityConfig {
             "/files/**",
             "/metrics",
             "/notifications/**",
+            "/exports/**", //SACAR AL IMPLEMENTAR LOGIN
             "/onboardMe/**"
     };
 
+    private static final String ACTUATOR_ROLE = "ACTUATOR";
+
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         System.out.println("CORS config loaded");
@@ -54,13 +67,50 @@ public class SecurityConfig {
         ));
         cc.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         cc.setMaxAge(3600L);
-        cc.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Origin", "Access-Control-Allow-Origin"));
+        cc.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Origin", "Access-Control-Allow-Origin", "Last-Event-ID"));
         cc.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", cc);
         return source;
     }
 
+    /**
+     * Actuator: sólo {@code /actuator/health} es público (balanceador, orquestador). Métricas, cachés y
+     * Prometheus piden HTTP Basic con el usuario de {@code onboardme.management}; sin contraseña
+     * configurada no hay usuario y quedan cerrados.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole(ACTUATOR_ROLE)
+                )
+                // 401 escrito directo: con sendError el forward a /error terminaría en 403
+                .httpBasic(basic -> basic.authenticationEntryPoint((request, response, e) -> {
+                    response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"actuator\"");
+                    response.setStatus(HttpStatus.UNAUTHORIZED.value());
+                }));
+
+        return http.build();
+    }
+
+    @Bean
+    public UserDetailsService actuatorUsers(@Value("${onboardme.management.username:actuator}") String username,
+                                            @Value("${onboardme.management.password:}") String password) {
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager();
+        if (!password.isBlank()) {
+            users.createUser(User.withUsername(username)
+                    .password(PasswordEncoderFactories.createDelegatingPasswordEncoder().encode(password))
+                    .roles(ACTUATOR_ROLE)
+                    .build());
+        }
+        return users;
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
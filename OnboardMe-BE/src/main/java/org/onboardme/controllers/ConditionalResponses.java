@@ -0,0 +1,51 @@
+package org.onboardme.controllers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Enumeration;
+import java.util.function.Supplier;
+
+/**
+ * Respuestas de lectura con ETag: si el {@code If-None-Match} del pedido coincide se contesta 304
+ * sin llamar al {@code body}, que es el que arma y transforma la respuesta.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * El ETag se calcula antes que el cuerpo: si el curso cambia en el medio el cliente guarda un
+     * cuerpo más nuevo con un ETag viejo, que en el próximo pedido ya no coincide y se vuelve a pedir.
+     */
+    static <T> ResponseEntity<T> ok(HttpServletRequest request, String etag, CacheControl cacheControl, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok().cacheControl(cacheControl).body(body.get());
+        }
+        if (matches(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
+    private static boolean matches(HttpServletRequest request, String etag) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                String tag = candidate.trim();
+                // If-None-Match compara en forma débil: W/"x" coincide con "x"
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,10 +1,17 @@
 package org.onboardme.controllers;
 
 import com.onboardme.api.CoursesApi;
+import com.onboardme.model.CourseCatalogPageDTO;
 import com.onboardme.model.CourseDTO;
+import com.onboardme.model.CourseProgressDTO;
 import com.onboardme.model.EnrollmentDTO;
+import com.onboardme.model.LearnerCourseDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import org.onboardme.config.QueryBudget;
+import org.onboardme.services.CourseVersionService;
 import org.onboardme.services.CoursesService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -14,36 +21,65 @@ import java.util.List;
 @RestController
 public class CoursesController implements CoursesApi {
 
+    // Incluyen las inscripciones, que cambian seguido: el cliente siempre revalida
+    private static final CacheControl COURSES_CACHE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     CoursesService coursesService;
 
+    @Autowired
+    CourseVersionService courseVersionService;
+
+    @Autowired
+    HttpServletRequest request;
+
     @Override
+    @QueryBudget(8)
     public ResponseEntity<List<CourseDTO>> getCourses() {
-        return ResponseEntity.ok(coursesService.getCourses());
+        return ConditionalResponses.ok(request, courseVersionService.coursesEtag(), COURSES_CACHE, coursesService::getCourses);
+    }
+
+    @Override
+    @QueryBudget(1)
+    public ResponseEntity<CourseCatalogPageDTO> getCourseCatalog(String area, String sort, String cursor, Integer size) {
+        return ResponseEntity.ok(coursesService.getCourseCatalog(area, sort, cursor, size));
     }
 
     @Override
+    @QueryBudget(8)
     public ResponseEntity<List<CourseDTO>> getCoursesByUser(Long idLegajo) {
 
         return ResponseEntity.ok(coursesService.getCoursesByUser(idLegajo));
     }
 
     @Override
+    @QueryBudget(2)
+    public ResponseEntity<List<LearnerCourseDTO>> getLearnerCourses(Long idUser) {
+        return ResponseEntity.ok(coursesService.getLearnerCourses(idUser));
+    }
+
+    @Override
+    @QueryBudget(6)
     public ResponseEntity<CourseDTO> getCourseById(Long idCourse) {
-        return ResponseEntity.ok(coursesService.getCourseById(idCourse));
+        return ConditionalResponses.ok(request, courseVersionService.courseEtag(idCourse), COURSES_CACHE,
+                () -> coursesService.getCourseById(idCourse));
     }
 
     @Override
+    @QueryBudget(6)
     public ResponseEntity<Void> favCourse(Long idCourse, Long idUser) {
         return coursesService.favCourse(idCourse, idUser);
     }
 
     @Override
+    @QueryBudget(6)
     public ResponseEntity<List<CourseDTO>> getFavorites(Long userId) {
         return ResponseEntity.ok(coursesService.getFavorites(userId));
     }
 
     @Override
+    // Un INSERT por sección: crece con el curso que se recibe
+    @QueryBudget(QueryBudget.UNBOUNDED)
     public ResponseEntity<CourseDTO> createCourse(CourseDTO courseDTO) {
         CourseDTO created = coursesService.createCourse(courseDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
@@ -51,24 +87,35 @@ public class CoursesController implements CoursesApi {
 
 
     @Override
+    @QueryBudget(12)
     public ResponseEntity<Void> updateCourseProgress(Long idCourse, Long idUser, Long sectionId) {
         coursesService.updateCourseProgress(idCourse, idUser, sectionId);
         return ResponseEntity.ok().build();
     }
 
     @Override
+    @QueryBudget(3)
     public ResponseEntity<Double> getCourseProgress(Long idCourse, Long idUser) {
         Double progress = coursesService.getCourseProgress(idCourse, idUser);
         return ResponseEntity.ok(progress);
     }
 
     @Override
+    // Las inscripciones y, si alguna no tiene avance precalculado, las secciones de esos cursos
+    @QueryBudget(2)
+    public ResponseEntity<List<CourseProgressDTO>> getCoursesProgress(Long idUser, List<Long> courseIds, Long idCourse, List<Long> userIds) {
+        return ResponseEntity.ok(coursesService.getCoursesProgress(idUser, courseIds, idCourse, userIds));
+    }
+
+    @Override
+    @QueryBudget(12)
     public ResponseEntity<Void> assignCourse(Long idCourse, Long idBuddy, Long idUser) {
         coursesService.assignCourse(idCourse, idBuddy, idUser);
         return ResponseEntity.ok().build();
     }
 
     @Override
+    @QueryBudget(4)
     public ResponseEntity<EnrollmentDTO> getEnrollment(Long idCourse, Long idUser) {
         EnrollmentDTO enrollment = coursesService.getEnrollment(idCourse, idUser);
         return ResponseEntity.ok(enrollment);
@@ -0,0 +1,105 @@
+package org.onboardme.controllers;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.onboardme.config.AsyncConfig;
+import org.onboardme.services.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exportaciones para planillas, escritas a medida que se leen de la base. No están en OnboardMe.yaml
+ * porque el generador no tiene un tipo de respuesta para escribir directo en la salida.
+ * {@code format} es {@code csv} (por defecto) o {@code ndjson}.
+ *
+ * <p>Cada exportación es un {@link WebAsyncTask} con su propio executor y timeout
+ * ({@code onboardme.exports.timeout}), así no cambian los de las demás respuestas asíncronas.</p>
+ */
+@RestController
+public class ExportController {
+
+    @Autowired
+    ExportService exportService;
+
+    @Autowired
+    @Qualifier(AsyncConfig.EXPORT_EXECUTOR)
+    AsyncTaskExecutor exportExecutor;
+
+    @Value("${onboardme.exports.timeout:30m}")
+    Duration exportTimeout;
+
+    @GetMapping("/exports/enrollments")
+    public WebAsyncTask<Void> exportEnrollments(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "idBuddy", required = false) Long idBuddy,
+            @RequestParam(value = "idCourse", required = false) Long idCourse,
+            HttpServletResponse response) {
+        return export(format, "inscripciones", response,
+                (exportFormat, out) -> exportService.exportEnrollments(idBuddy, idCourse, exportFormat, out));
+    }
+
+    @GetMapping("/exports/user-course-completion")
+    public WebAsyncTask<Void> exportUserCourseCompletion(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "idBuddy", required = false) Long idBuddy,
+            HttpServletResponse response) {
+        return export(format, "cursos-completados", response,
+                (exportFormat, out) -> exportService.exportUserCourseCompletion(idBuddy, exportFormat, out));
+    }
+
+    private interface Export {
+        void write(ExportService.Format format, OutputStream out) throws IOException;
+    }
+
+    // Sin tarea (null) la respuesta es sólo el estado; no con ResponseStatusException: el forward a /error terminaría en 403
+    private WebAsyncTask<Void> export(String format, String name, HttpServletResponse response, Export export) {
+        ExportService.Format exportFormat = ExportService.Format.parse(format);
+        if (exportFormat == null) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return null;
+        }
+        if (!exportService.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "60");
+            return null;
+        }
+
+        // El lugar se libera una sola vez: al terminar de escribir o al cerrarse el request, lo que pase
+        // primero. Si el cliente se va, vence el timeout o el executor rechaza la tarea, ésta nunca corre.
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                exportService.release();
+            }
+        };
+
+        String filename = name + "-" + LocalDate.now() + "." + exportFormat.getExtension();
+        response.setContentType(exportFormat.getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+
+        WebAsyncTask<Void> task = new WebAsyncTask<>(exportTimeout.toMillis(), exportExecutor, () -> {
+            try {
+                export.write(exportFormat, response.getOutputStream());
+            } finally {
+                release.run();
+            }
+            return null;
+        });
+        task.onCompletion(release);
+        return task;
+    }
+}
@@ -0,0 +1,134 @@
+package org.onboardme.controllers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.onboardme.services.FileStoreService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sirve los documentos de {@link FileStoreService}. No está en OnboardMe.yaml porque necesita el
+ * request y el response de la servlet: rangos ({@code Range}/{@code If-Range}), respuestas 304 por
+ * {@code ETag}/{@code Last-Modified} y sendfile de Tomcat, que manda el archivo desde el kernel
+ * sin copiarlo por la JVM.
+ *
+ * <p>El nombre es el hash del contenido, así que la respuesta no cambia nunca y se puede cachear
+ * como inmutable. Un pedido con varios rangos se responde con el archivo completo.</p>
+ */
+@RestController
+public class FilesController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+
+    private final FileStoreService fileStoreService;
+
+    public FilesController(FileStoreService fileStoreService) {
+        this.fileStoreService = fileStoreService;
+    }
+
+    @GetMapping(FileStoreService.URL_PREFIX + "{name}")
+    public void getFile(@PathVariable String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path path = fileStoreService.find(name);
+        if (path == null) {
+            // Sin sendError: el forward a /error no está en la lista blanca y terminaría en 403
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        long length = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        String etag = "\"" + name.substring(0, name.indexOf('.')) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setContentType(MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = singleRange(request, etag, lastModified);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            if (start >= length) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            end = range.getRangeEnd(length);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentLengthLong(end - start + 1);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            StreamUtils.copyRange(in, response.getOutputStream(), start, end);
+        }
+    }
+
+    /**
+     * El único rango pedido, o null si no hay que responder parcialmente: sin {@code Range}, con una
+     * sintaxis inválida, con varios rangos o con un {@code If-Range} que ya no coincide.
+     */
+    private static HttpRange singleRange(HttpServletRequest request, String etag, long lastModified) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            // Un ETag distinto (o débil) invalida el rango; si no es un ETag tiene que ser una fecha
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                return null;
+            }
+            try {
+                if (lastModified / 1000 > request.getDateHeader(HttpHeaders.IF_RANGE) / 1000) {
+                    return null;
+                }
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.onboardme.controllers;
 import com.onboardme.api.MetricsApi;
 import com.onboardme.model.GenericMetricDTO;
 import com.onboardme.model.MetricTypeDTO;
+import org.onboardme.config.QueryBudget;
 import org.onboardme.services.MetricsService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -18,6 +19,7 @@ public class MetricsController implements MetricsApi {
     }
 
     @Override
+    @QueryBudget(4)
     public ResponseEntity<GenericMetricDTO> getMetric(
             @RequestParam("metricType") MetricTypeDTO metricType,
             @RequestParam(value = "idBuddy", required = false) Long idBuddy,
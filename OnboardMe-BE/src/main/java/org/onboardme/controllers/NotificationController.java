@@ -1,12 +1,23 @@
 package org.onboardme.controllers;
 
 import com.onboardme.api.NotificationsApi;
-import com.onboardme.api.UsersApi;
+import com.onboardme.model.MarkNotificationsReadDTO;
+import com.onboardme.model.NotificationCountDTO;
 import com.onboardme.model.NotificationDTO;
+import com.onboardme.model.NotificationPageDTO;
+import org.onboardme.config.QueryBudget;
 import org.onboardme.services.NotificationService;
+import org.onboardme.services.NotificationStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,15 +27,55 @@ public class NotificationController implements NotificationsApi {
     @Autowired
     NotificationService notificationService;
 
+    @Autowired
+    NotificationStreamService notificationStreamService;
+
     @Override
+    @QueryBudget(1)
     public ResponseEntity<List<NotificationDTO>> getNotificationsByUser(Long idUser) {
         List<NotificationDTO> notifications = notificationService.getNotificationsByUser(idUser);
         return ResponseEntity.ok(notifications);
     }
 
     @Override
+    @QueryBudget(1)
+    public ResponseEntity<NotificationPageDTO> getNotificationPage(Long idUser, Boolean unreadOnly, String cursor, Integer size) {
+        return ResponseEntity.ok(notificationService.getNotificationPage(idUser, unreadOnly, cursor, size));
+    }
+
+    @Override
+    @QueryBudget(1)
+    public ResponseEntity<NotificationCountDTO> getUnreadNotificationCount(Long idUser) {
+        return ResponseEntity.ok(notificationService.getUnreadCount(idUser));
+    }
+
+    @Override
+    @QueryBudget(1)
+    public ResponseEntity<NotificationCountDTO> markNotificationsAsRead(Long idUser, MarkNotificationsReadDTO markNotificationsReadDTO) {
+        return ResponseEntity.ok(notificationService.markNotificationsAsRead(idUser, markNotificationsReadDTO));
+    }
+
+    @Override
+    @QueryBudget(3)
     public ResponseEntity<NotificationDTO> markNotificationAsRead(Long idNotification) {
         NotificationDTO updated = notificationService.markNotificationAsRead(idNotification);
         return ResponseEntity.ok(updated);
     }
+
+    /**
+     * Notificaciones nuevas y cantidad de no leídas por SSE, en lugar de consultar la lista
+     * periódicamente. No está en OnboardMe.yaml porque el generador no tiene un tipo de respuesta
+     * para {@code text/event-stream}.
+     */
+    @GetMapping(path = "/notifications/{idUser}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @QueryBudget(2) // con Last-Event-ID: las notificaciones pendientes y su usuario
+    public ResponseEntity<SseEmitter> streamNotifications(@PathVariable Long idUser,
+                                                          @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = notificationStreamService.open(idUser, lastEventId);
+        if (emitter == null) {
+            // Directo y no con ResponseStatusException: el forward a /error terminaría en 403
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
 }
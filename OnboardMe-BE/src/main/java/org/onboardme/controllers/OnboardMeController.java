@@ -2,6 +2,7 @@ package org.onboardme.controllers;
 
 import com.onboardme.api.HelloApi;
 import com.onboardme.model.HelloGet200Response;
+import org.onboardme.config.QueryBudget;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,6 +16,7 @@ public class OnboardMeController implements HelloApi {
     Logger logger = Logger.getLogger(getClass().getName());
 
     @Override
+    @QueryBudget(0)
     public ResponseEntity<HelloGet200Response> helloGet() {
         HelloGet200Response response = new HelloGet200Response();
         response.setMessage("hello");
@@ -2,67 +2,94 @@ package org.onboardme.controllers;
 
 import com.onboardme.api.SectionsApi;
 import com.onboardme.model.*;
+import jakarta.servlet.http.HttpServletRequest;
+import org.onboardme.config.QueryBudget;
+import org.onboardme.services.CourseVersionService;
 import org.onboardme.services.SectionContentService;
 import org.onboardme.services.ExamService;
-import org.onboardme.transformers.SectionContentTransformer;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
 
 @RestController
 public class SectionContentController implements SectionsApi {
 
+    // El contenido de una sección casi no cambia: se usa unos minutos sin revalidar
+    private static final CacheControl SECTION_CONTENT_CACHE = CacheControl.maxAge(Duration.ofMinutes(5))
+            .cachePrivate()
+            .mustRevalidate();
+
     private final SectionContentService sectionContentService;
-    private final SectionContentTransformer sectionContentTransformer;
     private final ExamService examService;
+    private final CourseVersionService courseVersionService;
+    private final HttpServletRequest request;
 
     public SectionContentController(SectionContentService sectionContentService,
-                                    SectionContentTransformer sectionContentTransformer,
-                                    ExamService examService) {
+                                    ExamService examService,
+                                    CourseVersionService courseVersionService,
+                                    HttpServletRequest request) {
         this.sectionContentService = sectionContentService;
-        this.sectionContentTransformer = sectionContentTransformer;
         this.examService = examService;
+        this.courseVersionService = courseVersionService;
+        this.request = request;
     }
 
     @Override
+    @QueryBudget(4)
     public ResponseEntity<Void> addVideoContent(Long sectionId, String url) {
         sectionContentService.addVideoContent(sectionId, url);
         return ResponseEntity.ok().build();
     }
 
     @Override
+    @QueryBudget(4)
     public ResponseEntity<Void> addDocumentContent(Long sectionId, String url) {
         sectionContentService.addDocumentContent(sectionId, url);
         return ResponseEntity.ok().build();
     }
 
     @Override
+    @QueryBudget(5)
+    public ResponseEntity<String> uploadDocumentContent(Long sectionId, MultipartFile file) {
+        return ResponseEntity.ok(sectionContentService.uploadDocumentContent(sectionId, file));
+    }
+
+    @Override
+    @QueryBudget(4)
     public ResponseEntity<Void> addImageContent(Long sectionId, String url) {
         sectionContentService.addImageContent(sectionId, url);
         return ResponseEntity.ok().build();
     }
 
     @Override
+    // Un INSERT por pregunta y por opción: crece con el examen que se recibe
+    @QueryBudget(QueryBudget.UNBOUNDED)
     public ResponseEntity<Void> addExamContent(Long sectionId, ExamContentDTO examContentDTO) {
         sectionContentService.addExamContent(sectionId, examContentDTO);
         return ResponseEntity.ok().build();
     }
 
     @Override
+    @QueryBudget(15)
     public ResponseEntity<ExamResultDTO> submitExam(Long sectionId, Long idUser, ExamSubmissionDTO examSubmissionDTO) {
         var result = examService.submitExam(sectionId, idUser, examSubmissionDTO);
         return ResponseEntity.ok(result);
     }
 
     @Override
+    @QueryBudget(6)
     public ResponseEntity<ExamResultDTO> getExamResult(Long sectionId, Long idUser) {
         var result = examService.getExamResult(sectionId, idUser);
         return ResponseEntity.ok(result);
     }
 
     @Override
+    @QueryBudget(5)
     public ResponseEntity<SectionContentDTO> getSectionContent(Long sectionId) {
-        var content = sectionContentService.getContentBySection(sectionId);
-        var response = sectionContentTransformer.buildSectionContentResponse(content);
-        return ResponseEntity.ok(response);
+        return ConditionalResponses.ok(request, courseVersionService.sectionContentEtag(sectionId), SECTION_CONTENT_CACHE,
+                () -> sectionContentService.getSectionContent(sectionId));
     }
 }
@@ -1,8 +1,12 @@
 package org.onboardme.controllers;
 
 import com.onboardme.api.UsersApi;
+import com.onboardme.model.EmployeeOverviewPageDTO;
+import com.onboardme.model.ImportJobDTO;
 import com.onboardme.model.UploadUsersCsv200Response;
 import com.onboardme.model.UserDTO;
+import org.onboardme.config.QueryBudget;
+import org.onboardme.services.UserImportJobService;
 import org.onboardme.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,30 +22,65 @@ public class UserController implements UsersApi {
     @Autowired
     UserService userService;
 
+    @Autowired
+    UserImportJobService userImportJobService;
+
     @Override
+    @QueryBudget(3)
     public ResponseEntity<List<UserDTO>> getUsers() {
         return ResponseEntity.ok(userService.getUsers());
     }
 
     @Override
+    @QueryBudget(4)
     public ResponseEntity<UserDTO> getUser(Long id) {
         return ResponseEntity.ok(userService.getUser(id));
     }
 
     @Override
+    @QueryBudget(3)
+    public ResponseEntity<EmployeeOverviewPageDTO> getEmployeeOverview(Long idBuddy, String area, String cursor, Integer size) {
+        return ResponseEntity.ok(userService.getEmployeeOverview(idBuddy, area, cursor, size));
+    }
+
+    @Override
+    @QueryBudget(6)
     public ResponseEntity<UserDTO> assignBuddy(Long idUser, Long id) {
         return ResponseEntity.ok(userService.assignBuddy(idUser, id));
     }
 
     @Override
+    @QueryBudget(4)
     public ResponseEntity<List<UserDTO>> getUsersByBuddy(Long idBuddy) {
         return ResponseEntity.ok(userService.getUsersByBuddy(idBuddy));
     }
 
     @Override
+    // Un lote de sentencias por cada bloque de filas: crece con el archivo que se recibe
+    @QueryBudget(QueryBudget.UNBOUNDED)
     public ResponseEntity<UploadUsersCsv200Response> uploadUsersCsv(MultipartFile file) {
         UploadUsersCsv200Response response = userService.processUsersCsv(file);
         return ResponseEntity.ok(response);
     }
 
+    @Override
+    // La importación corre en otro hilo
+    @QueryBudget(0)
+    public ResponseEntity<ImportJobDTO> createUserImportJob(MultipartFile file) {
+        return ResponseEntity.accepted().body(userImportJobService.createJob(file));
+    }
+
+    @Override
+    // La importación corre en otro hilo
+    @QueryBudget(0)
+    public ResponseEntity<ImportJobDTO> appendUserImportChunk(String jobId, MultipartFile file, Long offset, Boolean last) {
+        return ResponseEntity.accepted().body(userImportJobService.appendChunk(jobId, file, offset, Boolean.TRUE.equals(last)));
+    }
+
+    @Override
+    @QueryBudget(0)
+    public ResponseEntity<ImportJobDTO> getUserImportJob(String jobId, Integer errorsFrom) {
+        return ResponseEntity.ok(userImportJobService.getJob(jobId, errorsFrom));
+    }
+
 }
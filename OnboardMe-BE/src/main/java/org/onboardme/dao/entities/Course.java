@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.FractionalSeconds;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -16,8 +17,18 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "curso")
+@NamedEntityGraph(
+        name = Course.GRAPH_STRUCTURE,
+        attributeNodes = {
+                @NamedAttributeNode("createdBy"),
+                @NamedAttributeNode(value = "sections", subgraph = "sections")
+        },
+        subgraphs = @NamedSubgraph(name = "sections", attributeNodes = @NamedAttributeNode("content"))
+)
 public class Course {
 
+    public static final String GRAPH_STRUCTURE = "Course.structure";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,7 +42,9 @@ public class Course {
     @Column(name = "Area")
     private String area;
 
-    @Column(name = "Fecha_creacion")
+    // En milisegundos, como el cursor del catálogo (Date.getTime())
+    @Column(name = "Fecha_creacion", nullable = false)
+    @FractionalSeconds(3)
     private Date createdDate;
 
     @Column(name = "Fecha_vencimiento")
@@ -42,11 +55,22 @@ public class Course {
     private User createdBy;
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("order")
     private List<Section> sections = new ArrayList<>();
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Enrollment> enrollments = new ArrayList<>();
 
+    // Sello de versión para los ETag de las lecturas del curso. Sólo lo modifica
+    // CourseRepository.bumpVersion: guardar la entidad (p. ej. un merge en createCourse) no lo pisa.
+    @Column(name = "Version", nullable = false, updatable = false)
+    private long version;
+
+    public Course(Long id, String title, String description, String area, Date createdDate, Date expiryDate,
+                  User createdBy, List<Section> sections, List<Enrollment> enrollments) {
+        this(id, title, description, area, createdDate, expiryDate, createdBy, sections, enrollments, 0L);
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdDate = new Date();
@@ -0,0 +1,59 @@
+package org.onboardme.dao.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Evento de dominio pendiente de procesar. Se guarda en la misma transacción que el cambio que lo
+ * origina y lo procesa {@code DomainEventProcessor}, así sus efectos (notificaciones) no demoran el
+ * request ni se pierden si la aplicación se reinicia.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "evento_dominio", indexes = {
+        @Index(name = "idx_evento_dominio_pendientes", columnList = "Estado, Proximo_intento")
+})
+public class DomainEvent implements Retryable {
+
+    public static final String PENDING = "PENDIENTE";
+    public static final String PROCESSED = "PROCESADO";
+    public static final String FAILED = "FALLIDO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Nombre del record de DomainEvents (CourseAssigned, CourseCompleted, ...)
+    @Column(name = "Tipo", nullable = false, length = 64)
+    private String type;
+
+    // El record serializado como JSON
+    @Column(name = "Datos", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "Estado", nullable = false, length = 16)
+    private String status;
+
+    @Column(name = "Intentos", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "Proximo_intento", nullable = false)
+    private Date nextAttemptAt;
+
+    @Column(name = "Fecha_creacion", nullable = false)
+    private Date createdAt;
+
+    @Column(name = "Fecha_procesado")
+    private Date processedAt;
+
+    @Column(name = "Ultimo_error", length = 1000)
+    private String lastError;
+}
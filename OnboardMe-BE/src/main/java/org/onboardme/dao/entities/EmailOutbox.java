@@ -0,0 +1,63 @@
+package org.onboardme.dao.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Mail pendiente de envío. Se guarda en la misma transacción que el alta que lo origina y lo
+ * envía {@code EmailOutboxSender}, así un error de SMTP no pierde el mail ni demora el request.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_pendientes", columnList = "Estado, Proximo_intento")
+})
+public class EmailOutbox implements Retryable {
+
+    public static final String PENDING = "PENDIENTE";
+    public static final String SENT = "ENVIADO";
+    public static final String FAILED = "FALLIDO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "Destinatario", nullable = false)
+    private String recipient;
+
+    @Column(name = "Asunto", nullable = false)
+    private String subject;
+
+    @Column(name = "Cuerpo", nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "Estado", nullable = false, length = 16)
+    private String status;
+
+    @Column(name = "Intentos", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "Proximo_intento", nullable = false)
+    private Date nextAttemptAt;
+
+    @Column(name = "Fecha_creacion", nullable = false)
+    private Date createdAt;
+
+    @Column(name = "Fecha_envio")
+    private Date sentAt;
+
+    @Column(name = "Ultimo_error", length = 1000)
+    private String lastError;
+
+    // El cuerpo tiene la marca de la contraseña del destinatario, que se completa recién al enviar
+    @Column(name = "Credenciales", nullable = false)
+    private boolean credentials;
+}
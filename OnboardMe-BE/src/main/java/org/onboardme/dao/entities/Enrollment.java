@@ -47,5 +47,24 @@ public class Enrollment {
     @JoinColumn(name = "Id_Seccion", referencedColumnName = "Id")
     Section section;
 
+    // Avance precalculado (0..100), mantenido por CoursesService en cada escritura que lo afecta
+    @Column(name = "Progreso")
+    private Double progress;
 
+    @Column(name = "Cantidad_Secciones")
+    private Integer sectionCount;
+
+    // Crece en cada actualización; los ETag de los cursos suman los de sus inscripciones
+    @Column(name = "Cambios", nullable = false)
+    private long changes;
+
+    public Enrollment(EnrollmentId id, User user, Course course, Date enrolledAt, Date finishedDate,
+                      String status, Boolean favorite, Section section) {
+        this(id, user, course, enrolledAt, finishedDate, status, favorite, section, null, null, 0L);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        changes++;
+    }
 }
\ No newline at end of file
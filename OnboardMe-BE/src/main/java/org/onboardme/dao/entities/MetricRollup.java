@@ -0,0 +1,60 @@
+package org.onboardme.dao.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Estado actual de las inscripciones de un curso ({@link #COURSE}) o de los empleados de un buddy
+ * ({@link #BUDDY}). Lo mantiene {@code MetricsRollupService}; los tableros lo leen sin recorrer
+ * {@code usuario_x_curso}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "metrica_resumen", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_metrica_resumen", columnNames = {"Dimension", "Clave"})
+})
+public class MetricRollup {
+
+    public static final String COURSE = "CURSO";
+    public static final String BUDDY = "BUDDY";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "Dimension", nullable = false, length = 8)
+    private String dimension;
+
+    // Id del curso o del buddy
+    @Column(name = "Clave", nullable = false)
+    private Long keyId;
+
+    @Column(name = "Asignados", nullable = false)
+    private Integer assigned;
+
+    @Column(name = "En_curso", nullable = false)
+    private Integer inProgress;
+
+    @Column(name = "Finalizados", nullable = false)
+    private Integer finished;
+
+    @Column(name = "Avance_promedio", nullable = false)
+    private Double averageProgress;
+
+    @Column(name = "Dias_promedio")
+    private Double averageDaysToFinish;
+
+    @Column(name = "Fecha_actualizacion", nullable = false)
+    private Date updatedAt;
+
+    public MetricRollup(String dimension, Long keyId) {
+        this.dimension = dimension;
+        this.keyId = keyId;
+    }
+}
@@ -0,0 +1,50 @@
+package org.onboardme.dao.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Foto diaria de una fila de {@link MetricRollup}, para las tendencias de los tableros.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "metrica_historial", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_metrica_historial", columnNames = {"Dimension", "Clave", "Fecha"})
+})
+public class MetricSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Día cuyo cierre representa la foto
+    @Column(name = "Fecha", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "Dimension", nullable = false, length = 8)
+    private String dimension;
+
+    @Column(name = "Clave", nullable = false)
+    private Long keyId;
+
+    @Column(name = "Asignados", nullable = false)
+    private Integer assigned;
+
+    @Column(name = "En_curso", nullable = false)
+    private Integer inProgress;
+
+    @Column(name = "Finalizados", nullable = false)
+    private Integer finished;
+
+    @Column(name = "Avance_promedio", nullable = false)
+    private Double averageProgress;
+
+    @Column(name = "Dias_promedio")
+    private Double averageDaysToFinish;
+}
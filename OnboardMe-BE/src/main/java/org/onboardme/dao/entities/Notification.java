@@ -13,7 +13,12 @@ import java.util.Date;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notificacion")
+@Table(name = "notificacion", indexes = {
+        // Cubre el conteo de no leídas y la página de no leídas de un usuario
+        @Index(name = "idx_notificacion_usuario_leida_fecha", columnList = "Id_Usuario_Enviado, Leida, Fecha_envio"),
+        // Página de todas las notificaciones de un usuario, de la más nueva a la más vieja
+        @Index(name = "idx_notificacion_usuario_fecha", columnList = "Id_Usuario_Enviado, Fecha_envio, id")
+})
 public class Notification {
 
     @Id
@@ -0,0 +1,17 @@
+package org.onboardme.dao.entities;
+
+import java.util.Date;
+
+/**
+ * Fila de una cola que se procesa en segundo plano y se reintenta si falla.
+ */
+public interface Retryable {
+
+    Integer getAttempts();
+
+    void setAttempts(Integer attempts);
+
+    void setNextAttemptAt(Date nextAttemptAt);
+
+    void setLastError(String lastError);
+}
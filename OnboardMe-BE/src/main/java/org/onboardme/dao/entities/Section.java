@@ -23,8 +23,9 @@ public class Section {
     @Column(name = "Titulo")
     private String title;
 
-    @Column(name = "Orden")
-    private String order;
+    // Posición de la sección en el curso, de 1 a la cantidad de secciones (única por curso)
+    @Column(name = "Orden", nullable = false)
+    private Integer order;
 
     @ManyToOne
     @JoinColumn(name = "Id_Curso", referencedColumnName = "Id")
@@ -25,7 +25,7 @@ public class ExamResult {
     @JoinColumn(name = "exam_id")
     private ExamContent exam;
 
-    @Lob
+    @Column(columnDefinition = "LONGTEXT")
     private String detail; // JSON with question results
 
     private Integer score;
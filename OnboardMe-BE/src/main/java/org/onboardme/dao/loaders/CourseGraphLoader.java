@@ -0,0 +1,131 @@
+package org.onboardme.dao.loaders;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.content.ExamContent;
+import org.onboardme.dao.entities.content.ExamQuestion;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Carga el grafo completo que necesita {@code CourseTransformer} en una cantidad acotada de consultas.
+ *
+ * <p>Curso, creador, secciones y contenido (herencia JOINED) se traen con el entity graph
+ * {@link Course#GRAPH_STRUCTURE}; después se inicializan con un fetch join por nivel las
+ * inscripciones (con su usuario), las preguntas de examen y sus opciones. Lo que queda
+ * (buddies, roles) se resuelve con batch fetching ({@code hibernate.default_batch_fetch_size}),
+ * por lo que la cantidad de consultas depende de la profundidad del grafo y no de la cantidad
+ * de cursos, secciones o inscripciones.</p>
+ *
+ * <p>Debe usarse dentro de una transacción para que las cargas en lote compartan la sesión.</p>
+ */
+@Component
+@Transactional(readOnly = true)
+public class CourseGraphLoader {
+
+    private static final String FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<Course> loadAll() {
+        List<Course> courses = entityManager.createQuery("SELECT c FROM Course c ORDER BY c.id", Course.class)
+                .setHint(FETCH_GRAPH, entityManager.getEntityGraph(Course.GRAPH_STRUCTURE))
+                .getResultList();
+        fetchCollections(courses);
+        return courses;
+    }
+
+    public Optional<Course> loadById(Long courseId) {
+        return loadByIds(List.of(courseId)).stream().findFirst();
+    }
+
+    /**
+     * Sólo la estructura del curso (secciones, contenido, preguntas y opciones), sin inscripciones.
+     */
+    public Optional<Course> loadStructureById(Long courseId) {
+        List<Course> courses = findWithStructure(List.of(courseId));
+        fetchExams(courses);
+        return courses.stream().findFirst();
+    }
+
+    /**
+     * Devuelve los cursos en el mismo orden que {@code courseIds}, ignorando ids inexistentes.
+     */
+    public List<Course> loadByIds(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return List.of();
+        }
+        List<Course> courses = findWithStructure(courseIds);
+        fetchCollections(courses);
+
+        Map<Long, Integer> position = new HashMap<>();
+        for (Long id : courseIds) {
+            position.putIfAbsent(id, position.size());
+        }
+        return courses.stream()
+                .sorted(Comparator.comparing(c -> position.get(c.getId())))
+                .toList();
+    }
+
+    private List<Course> findWithStructure(Collection<Long> courseIds) {
+        return entityManager.createQuery("SELECT c FROM Course c WHERE c.id IN :ids", Course.class)
+                .setParameter("ids", courseIds)
+                .setHint(FETCH_GRAPH, entityManager.getEntityGraph(Course.GRAPH_STRUCTURE))
+                .getResultList();
+    }
+
+    // Inicializa en la sesión actual las colecciones que el entity graph no puede traer
+    // junto con las secciones (Hibernate no permite fetch join de más de un bag por consulta).
+    private void fetchCollections(List<Course> courses) {
+        if (courses.isEmpty()) {
+            return;
+        }
+        entityManager.createQuery("""
+                SELECT DISTINCT c FROM Course c
+                LEFT JOIN FETCH c.enrollments e
+                LEFT JOIN FETCH e.user
+                WHERE c IN :courses
+                """, Course.class)
+                .setParameter("courses", courses)
+                .getResultList();
+        fetchExams(courses);
+    }
+
+    private void fetchExams(List<Course> courses) {
+        List<ExamContent> exams = courses.stream()
+                .flatMap(c -> c.getSections().stream())
+                .map(Section::getContent)
+                .filter(Objects::nonNull)
+                .filter(ExamContent.class::isInstance)
+                .map(ExamContent.class::cast)
+                .toList();
+        if (exams.isEmpty()) {
+            return;
+        }
+        entityManager.createQuery("""
+                SELECT DISTINCT x FROM ExamContent x
+                LEFT JOIN FETCH x.questions
+                WHERE x IN :exams
+                """, ExamContent.class)
+                .setParameter("exams", exams)
+                .getResultList();
+        entityManager.createQuery("""
+                SELECT DISTINCT q FROM ExamQuestion q
+                LEFT JOIN FETCH q.options
+                WHERE q.exam IN :exams
+                """, ExamQuestion.class)
+                .setParameter("exams", exams)
+                .getResultList();
+    }
+}
@@ -0,0 +1,21 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Cursos completados y asignados de un empleado (la métrica USER_COURSE_COMPLETION), agregados en la
+ * base, para la exportación a CSV / NDJSON.
+ */
+@Getter
+@AllArgsConstructor
+public class CompletionExportRow {
+
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Long buddyId;
+    private Long completed;
+    private Long total;
+}
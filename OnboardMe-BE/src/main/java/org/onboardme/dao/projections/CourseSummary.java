@@ -0,0 +1,27 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Vista liviana de un curso para el catálogo: solo los campos de la tarjeta y
+ * los conteos de secciones e inscripciones, sin hidratar el grafo de entidades.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseSummary {
+
+    private Long id;
+    private String title;
+    private String description;
+    private String area;
+    private Date createdDate;
+    private Date expiryDate;
+    private Long createdById;
+    private String createdByFirstName;
+    private String createdByLastName;
+    private Long sectionCount;
+    private Long enrollmentCount;
+}
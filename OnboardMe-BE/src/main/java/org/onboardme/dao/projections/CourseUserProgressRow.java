@@ -0,0 +1,20 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Una fila por inscripción para la métrica COURSE_USER_PROGRESS.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseUserProgressRow {
+
+    private String firstName;
+    private String lastName;
+    private Date finishedDate;
+    private Integer sectionOrder;
+    private Integer sectionCount;
+}
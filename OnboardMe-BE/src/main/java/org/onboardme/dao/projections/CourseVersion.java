@@ -0,0 +1,16 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Sello de un curso: su versión más la cantidad de inscripciones y la suma de sus cambios.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseVersion {
+
+    private Long version;
+    private Long enrollments;
+    private Long enrollmentChanges;
+}
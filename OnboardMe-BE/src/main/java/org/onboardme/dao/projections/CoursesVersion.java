@@ -0,0 +1,19 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Sello del listado completo de cursos: cantidad, suma de versiones y mayor id, más la cantidad de
+ * inscripciones y la suma de sus cambios.
+ */
+@Getter
+@AllArgsConstructor
+public class CoursesVersion {
+
+    private Long count;
+    private Long versionSum;
+    private Long maxId;
+    private Long enrollments;
+    private Long enrollmentChanges;
+}
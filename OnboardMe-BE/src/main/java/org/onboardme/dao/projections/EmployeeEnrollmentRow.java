@@ -0,0 +1,23 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Una inscripción de la vista general de empleados, con el título del curso y el avance precalculado.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeEnrollmentRow {
+
+    private Long userId;
+    private Long courseId;
+    private String courseTitle;
+    private String status;
+    private Date enrolledAt;
+    private Date finishedDate;
+    private Double progress;
+    private Integer sectionOrder;
+}
@@ -0,0 +1,22 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Datos de un usuario para la vista general de empleados, con su rol y su buddy ya resueltos.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeRow {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String area;
+    private String roleName;
+    private Long buddyId;
+    private String buddyFirstName;
+    private String buddyLastName;
+}
@@ -0,0 +1,26 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Una inscripción con los datos del empleado y del curso, para la exportación a CSV / NDJSON.
+ */
+@Getter
+@AllArgsConstructor
+public class EnrollmentExportRow {
+
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Long buddyId;
+    private Long courseId;
+    private String courseTitle;
+    private String status;
+    private Date enrolledAt;
+    private Date finishedDate;
+    private Double progress;
+}
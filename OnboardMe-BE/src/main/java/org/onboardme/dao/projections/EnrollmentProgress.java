@@ -0,0 +1,13 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EnrollmentProgress {
+
+    private Long courseId;
+    private Long userId;
+    private Double progress;
+}
@@ -0,0 +1,18 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Avance precalculado de una inscripción, con el orden de la sección actual para las
+ * inscripciones que todavía no lo tienen guardado.
+ */
+@Getter
+@AllArgsConstructor
+public class EnrollmentProgressRow {
+
+    private Long courseId;
+    private Long userId;
+    private Double progress;
+    private Integer sectionOrder;
+}
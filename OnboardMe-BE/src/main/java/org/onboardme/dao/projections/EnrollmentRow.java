@@ -0,0 +1,18 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+@Getter
+@AllArgsConstructor
+public class EnrollmentRow {
+
+    private Long courseId;
+    private Long userId;
+    private Date enrolledAt;
+    private String status;
+    private Boolean favorite;
+    private Long sectionId;
+}
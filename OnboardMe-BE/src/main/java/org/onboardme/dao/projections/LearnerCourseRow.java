@@ -0,0 +1,29 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Un curso de la vista del alumno: datos de resumen del curso y la inscripción del propio usuario.
+ */
+@Getter
+@AllArgsConstructor
+public class LearnerCourseRow {
+
+    private Long courseId;
+    private String title;
+    private String description;
+    private String area;
+    private Date expiryDate;
+    private Long sectionCount;
+    private String status;
+    private Boolean favorite;
+    private Date enrolledAt;
+    private Date finishedDate;
+    private Long sectionId;
+    private String sectionTitle;
+    private Integer sectionOrder;
+    private Double progress;
+}
@@ -0,0 +1,20 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Agregado de las inscripciones de un curso o de los empleados de un buddy ({@code keyId}), calculado
+ * en la base con GROUP BY.
+ */
+@Getter
+@AllArgsConstructor
+public class RollupRow {
+
+    private Long keyId;
+    private Long assigned;
+    private Long inProgress;
+    private Long finished;
+    private Double averageProgress;
+    private Double averageSecondsToFinish;
+}
@@ -0,0 +1,16 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Cantidad de secciones de un curso y el orden de la última.
+ */
+@Getter
+@AllArgsConstructor
+public class SectionStats {
+
+    private Long courseId;
+    private Long count;
+    private Integer lastOrder;
+}
@@ -0,0 +1,15 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Id y título de un curso o de una sección.
+ */
+@Getter
+@AllArgsConstructor
+public class TitleRow {
+
+    private Long id;
+    private String title;
+}
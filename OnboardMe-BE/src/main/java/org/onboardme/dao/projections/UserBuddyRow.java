@@ -0,0 +1,19 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Nombre de un usuario y de su buddy, para armar notificaciones sin hidratar las entidades.
+ */
+@Getter
+@AllArgsConstructor
+public class UserBuddyRow {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private Long buddyId;
+    private String buddyFirstName;
+    private String buddyLastName;
+}
@@ -0,0 +1,25 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Una fila por (usuario, inscripción) para la métrica USER_COURSE_COMPLETION.
+ * Los usuarios sin inscripciones aparecen una vez con los campos de curso en null.
+ */
+@Getter
+@AllArgsConstructor
+public class UserCourseCompletionRow {
+
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private Long courseId;
+    private String courseTitle;
+    private Date finishedDate;
+    private String status;
+    private Integer sectionOrder;
+    private Double progress;
+}
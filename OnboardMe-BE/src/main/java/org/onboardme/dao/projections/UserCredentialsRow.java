@@ -0,0 +1,15 @@
+package org.onboardme.dao.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Email y contraseña de un usuario, para completar el mail de alta al momento de enviarlo.
+ */
+@Getter
+@AllArgsConstructor
+public class UserCredentialsRow {
+
+    private String email;
+    private String password;
+}
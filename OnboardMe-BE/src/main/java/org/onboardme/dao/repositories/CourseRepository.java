@@ -2,11 +2,20 @@ package org.onboardme.dao.repositories;
 
 import org.onboardme.dao.entities.Course;
 import org.onboardme.dao.entities.Notification;
+import org.onboardme.dao.projections.CourseSummary;
+import org.onboardme.dao.projections.CourseVersion;
+import org.onboardme.dao.projections.CoursesVersion;
+import org.onboardme.dao.projections.TitleRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +25,83 @@ public interface CourseRepository extends JpaRepository<Course, Integer> {
     Optional<Course> findByTitle(String title);
 
     Course findById(Long userId);
+
+    @Query("SELECT new org.onboardme.dao.projections.TitleRow(c.id, c.title) FROM Course c WHERE c.id IN :ids")
+    List<TitleRow> findTitles(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.version FROM Course c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Las inscripciones se leen por idx_usuario_x_curso_curso. COUNT(e) contaría la fila del LEFT JOIN sin
+    // inscripciones: la clave de Enrollment es compuesta y se compara como tupla
+    @Query("""
+        SELECT new org.onboardme.dao.projections.CourseVersion(c.version, COUNT(e.changes), COALESCE(SUM(e.changes), 0))
+        FROM Course c
+        LEFT JOIN c.enrollments e
+        WHERE c.id = :id
+        GROUP BY c.id, c.version
+    """)
+    Optional<CourseVersion> findCourseVersion(@Param("id") Long id);
+
+    // Cambia si se crea, borra o modifica cualquier curso (las versiones sólo crecen) o cualquier inscripción
+    @Query("""
+        SELECT new org.onboardme.dao.projections.CoursesVersion(COUNT(c), COALESCE(SUM(c.version), 0), COALESCE(MAX(c.id), 0),
+            (SELECT COUNT(e) FROM Enrollment e), (SELECT COALESCE(SUM(e.changes), 0) FROM Enrollment e))
+        FROM Course c
+    """)
+    CoursesVersion findCoursesVersion();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET c.version = c.version + 1 WHERE c.id = :id")
+    int bumpVersion(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET c.version = c.version + 1 WHERE c.createdBy.id = :userId")
+    int bumpVersionsByCreator(@Param("userId") Long userId);
+
+    // Catálogo ordenado por fecha de creación (más nuevos primero), paginado por keyset
+    @Query("""
+        SELECT new org.onboardme.dao.projections.CourseSummary(
+            c.id, c.title, c.description, c.area, c.createdDate, c.expiryDate,
+            u.id, u.firstName, u.lastName,
+            (SELECT COUNT(s) FROM Section s WHERE s.course = c),
+            (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c))
+        FROM Course c
+        LEFT JOIN c.createdBy u
+        WHERE (:area IS NULL OR c.area = :area)
+          AND (:afterDate IS NULL
+               OR c.createdDate < :afterDate
+               OR (c.createdDate = :afterDate AND c.id < :afterId))
+        ORDER BY c.createdDate DESC, c.id DESC
+    """)
+    List<CourseSummary> findCatalogByCreatedDate(
+            @Param("area") String area,
+            @Param("afterDate") Date afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // Catálogo ordenado alfabéticamente por área, paginado por keyset
+    @Query("""
+        SELECT new org.onboardme.dao.projections.CourseSummary(
+            c.id, c.title, c.description, c.area, c.createdDate, c.expiryDate,
+            u.id, u.firstName, u.lastName,
+            (SELECT COUNT(s) FROM Section s WHERE s.course = c),
+            (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c))
+        FROM Course c
+        LEFT JOIN c.createdBy u
+        WHERE (:area IS NULL OR c.area = :area)
+          AND (:afterArea IS NULL
+               OR COALESCE(c.area, '') > :afterArea
+               OR (COALESCE(c.area, '') = :afterArea AND c.id > :afterId))
+        ORDER BY COALESCE(c.area, '') ASC, c.id ASC
+    """)
+    List<CourseSummary> findCatalogByArea(
+            @Param("area") String area,
+            @Param("afterArea") String afterArea,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,47 @@
+package org.onboardme.dao.repositories;
+
+import org.onboardme.dao.entities.DomainEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface DomainEventRepository extends JpaRepository<DomainEvent, Long> {
+
+    // En el orden en que se guardaron, para que los efectos respeten el orden de los cambios
+    @Query("""
+        SELECT e FROM DomainEvent e
+        WHERE e.status = org.onboardme.dao.entities.DomainEvent.PENDING AND e.nextAttemptAt <= :now
+        ORDER BY e.id
+    """)
+    List<DomainEvent> findDue(@Param("now") Date now, Pageable pageable);
+
+    long countByStatus(String status);
+
+    // Sin @Transactional propio: corre en la transacción del lote, junto con los efectos de los handlers
+    @Modifying
+    @Query("""
+        UPDATE DomainEvent e
+        SET e.status = org.onboardme.dao.entities.DomainEvent.PROCESSED, e.processedAt = :now, e.lastError = null
+        WHERE e.id IN :ids
+    """)
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") Date now);
+
+    // De a lotes, para no tener una transacción larga borrando; los FALLIDO quedan para revisarlos
+    @Transactional
+    @Modifying
+    @Query(value = """
+        DELETE FROM evento_dominio
+        WHERE estado = 'PROCESADO' AND fecha_procesado < :before
+        LIMIT :limit
+    """, nativeQuery = true)
+    int deleteProcessedBefore(@Param("before") Date before, @Param("limit") int limit);
+}
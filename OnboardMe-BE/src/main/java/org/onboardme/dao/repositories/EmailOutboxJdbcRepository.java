@@ -0,0 +1,37 @@
+package org.onboardme.dao.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.onboardme.dao.entities.EmailOutbox;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Alta en lote de mails pendientes, dentro de la transacción del llamador (ver {@link UserJdbcRepository}).
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmailOutboxJdbcRepository {
+
+    private static final String INSERT_MAIL = """
+            INSERT INTO email_outbox (destinatario, asunto, cuerpo, estado, intentos, proximo_intento, fecha_creacion, credenciales)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<EmailOutbox> mails) {
+        jdbcTemplate.batchUpdate(INSERT_MAIL, mails, mails.size(), (ps, mail) -> {
+            ps.setString(1, mail.getRecipient());
+            ps.setString(2, mail.getSubject());
+            ps.setString(3, mail.getBody());
+            ps.setString(4, mail.getStatus());
+            ps.setInt(5, mail.getAttempts());
+            ps.setTimestamp(6, new Timestamp(mail.getNextAttemptAt().getTime()));
+            ps.setTimestamp(7, new Timestamp(mail.getCreatedAt().getTime()));
+            ps.setBoolean(8, mail.isCredentials());
+        });
+    }
+}
@@ -0,0 +1,36 @@
+package org.onboardme.dao.repositories;
+
+import org.onboardme.dao.entities.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("""
+        SELECT m FROM EmailOutbox m
+        WHERE m.status = org.onboardme.dao.entities.EmailOutbox.PENDING AND m.nextAttemptAt <= :now
+        ORDER BY m.nextAttemptAt, m.id
+    """)
+    List<EmailOutbox> findDue(@Param("now") Date now, Pageable pageable);
+
+    long countByStatus(String status);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE EmailOutbox m
+        SET m.status = org.onboardme.dao.entities.EmailOutbox.SENT, m.sentAt = :now, m.lastError = null
+        WHERE m.id IN :ids
+    """)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") Date now);
+}
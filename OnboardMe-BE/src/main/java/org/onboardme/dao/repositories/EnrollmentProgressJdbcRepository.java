@@ -0,0 +1,49 @@
+package org.onboardme.dao.repositories;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.onboardme.dao.projections.EnrollmentProgressRow;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Avance de muchas inscripciones por JDBC. Hibernate no guarda en caché la traducción a SQL de
+ * las consultas con parámetros de lista ({@code IN :ids}) y la rehace en cada llamada, lo que
+ * en este endpoint cuesta más que la consulta misma.
+ */
+@Repository
+@Timed("onboardme.repository.jdbc")
+@RequiredArgsConstructor
+public class EnrollmentProgressJdbcRepository {
+
+    private static final String SELECT_PROGRESS = """
+            SELECT e.id_curso, e.id_usuario, e.progreso, s.orden
+            FROM usuario_x_curso e
+            LEFT JOIN seccion s ON s.id = e.id_seccion
+            """;
+
+    private static final RowMapper<EnrollmentProgressRow> ROW_MAPPER = (rs, rowNum) -> new EnrollmentProgressRow(
+            rs.getLong("id_curso"),
+            rs.getLong("id_usuario"),
+            rs.getObject("progreso", Double.class),
+            rs.getObject("orden", Integer.class));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<EnrollmentProgressRow> findByUser(Long userId, Collection<Long> courseIds) {
+        return jdbcTemplate.query(SELECT_PROGRESS + "WHERE e.id_usuario = :userId AND e.id_curso IN (:courseIds) ORDER BY e.id_curso",
+                new MapSqlParameterSource("userId", userId).addValue("courseIds", courseIds),
+                ROW_MAPPER);
+    }
+
+    public List<EnrollmentProgressRow> findByCourse(Long courseId, Collection<Long> userIds) {
+        return jdbcTemplate.query(SELECT_PROGRESS + "WHERE e.id_curso = :courseId AND e.id_usuario IN (:userIds) ORDER BY e.id_usuario",
+                new MapSqlParameterSource("courseId", courseId).addValue("userIds", userIds),
+                ROW_MAPPER);
+    }
+}
@@ -1,20 +1,44 @@
 package org.onboardme.dao.repositories;
 
 import org.onboardme.dao.entities.Enrollment;
-import org.onboardme.dao.entities.User;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.projections.CourseUserProgressRow;
+import org.onboardme.dao.projections.EmployeeEnrollmentRow;
+import org.onboardme.dao.projections.EnrollmentExportRow;
+import org.onboardme.dao.projections.EnrollmentProgress;
+import org.onboardme.dao.projections.EnrollmentRow;
+import org.onboardme.dao.projections.LearnerCourseRow;
+import org.onboardme.dao.projections.RollupRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
-    Optional<Enrollment> findByUserIdAndCourseId(Long userId, Long courseId);
+    // Consultas explícitas en lugar de derivadas: Spring Data resuelve user.id y course.id con un
+    // LEFT JOIN a usuario / curso y filtra por la PK de esas tablas, recorriendo usuario_x_curso entera
+    @Query("SELECT e FROM Enrollment e WHERE e.user.id = :userId AND e.course.id = :courseId")
+    Optional<Enrollment> findByUserIdAndCourseId(@Param("userId") Long userId, @Param("courseId") Long courseId);
 
-    List<Enrollment> findByUserIdAndFavoriteTrue(Long userId);
+    @Query("SELECT e FROM Enrollment e WHERE e.user.id = :userId AND e.favorite = true")
+    List<Enrollment> findByUserIdAndFavoriteTrue(@Param("userId") Long userId);
+
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.user.id = :userId ORDER BY e.course.id")
+    List<Long> findCourseIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.user.id = :userId AND e.favorite = true ORDER BY e.course.id")
+    List<Long> findFavoriteCourseIdsByUserId(@Param("userId") Long userId);
 
     @Query("""
         SELECT e
@@ -28,5 +52,125 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer>
             @Param("idBuddy") Long idBuddy
     );
 
+    @Query("SELECT e FROM Enrollment e WHERE e.course.id = :courseId")
+    List<Enrollment> findByCourseId(@Param("courseId") Long courseId);
+
+    // Cuenta como un cambio de la inscripción para el ETag del curso, igual que Enrollment.onUpdate
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.section = :to, e.changes = e.changes + 1 WHERE e.section = :from")
+    int moveToSection(@Param("from") Section from, @Param("to") Section to);
+
+    // Sin cargar la entidad: Enrollment.section es EAGER y arrastraría secciones y contenido
+    @Query("""
+        SELECT new org.onboardme.dao.projections.EnrollmentRow(
+            e.course.id, e.user.id, e.enrolledAt, e.status, e.favorite, e.section.id)
+        FROM Enrollment e
+        WHERE e.course.id = :courseId
+        ORDER BY e.user.id
+    """)
+    List<EnrollmentRow> findRowsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("""
+        SELECT new org.onboardme.dao.projections.EnrollmentProgress(e.course.id, e.user.id, e.progress)
+        FROM Enrollment e
+        WHERE e.user.id = :userId AND e.course.id = :courseId
+    """)
+    Optional<EnrollmentProgress> findProgress(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    @Query("""
+        SELECT new org.onboardme.dao.projections.CourseUserProgressRow(
+            u.firstName, u.lastName, e.finishedDate, s.order, e.sectionCount)
+        FROM Enrollment e
+        JOIN e.user u
+        LEFT JOIN e.section s
+        WHERE e.course.id = :courseId
+          AND (:idBuddy IS NULL OR u.buddy.id = :idBuddy)
+        ORDER BY u.id
+    """)
+    List<CourseUserProgressRow> findCourseUserProgress(
+            @Param("courseId") Long courseId,
+            @Param("idBuddy") Long idBuddy
+    );
+
+    // Inscripciones que todavía no tienen el avance precalculado (anteriores a la columna)
+    @Query("SELECT e FROM Enrollment e WHERE e.sectionCount IS NULL")
+    List<Enrollment> findWithoutSectionCount(Pageable pageable);
 
+    @Query("""
+        SELECT new org.onboardme.dao.projections.EmployeeEnrollmentRow(
+            e.user.id, c.id, c.title, e.status, e.enrolledAt, e.finishedDate, e.progress, s.order)
+        FROM Enrollment e
+        JOIN e.course c
+        LEFT JOIN e.section s
+        WHERE e.user.id IN :userIds
+        ORDER BY e.user.id, c.id
+    """)
+    List<EmployeeEnrollmentRow> findEmployeeEnrollments(@Param("userIds") Collection<Long> userIds);
+
+    // Cursos de un usuario con su propia inscripción, sin cargar entidades
+    @Query("""
+        SELECT new org.onboardme.dao.projections.LearnerCourseRow(
+            c.id, c.title, c.description, c.area, c.expiryDate,
+            (SELECT COUNT(cs) FROM Section cs WHERE cs.course = c),
+            e.status, e.favorite, e.enrolledAt, e.finishedDate,
+            s.id, s.title, s.order, e.progress)
+        FROM Enrollment e
+        JOIN e.course c
+        LEFT JOIN e.section s
+        WHERE e.user.id = :userId
+        ORDER BY c.id
+    """)
+    List<LearnerCourseRow> findLearnerCourses(@Param("userId") Long userId);
+
+    // Exportación: se lee con un cursor de solo avance, de a 1000 filas, en el orden de la PK (sin ordenar en la base).
+    // En MySQL el fetch size solo se respeta con useCursorFetch=true en la URL; si no, el driver trae todo el resultado.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        SELECT new org.onboardme.dao.projections.EnrollmentExportRow(
+            u.id, u.firstName, u.lastName, u.email, u.buddy.id, c.id, c.title,
+            e.status, e.enrolledAt, e.finishedDate, e.progress)
+        FROM Enrollment e
+        JOIN e.user u
+        JOIN e.course c
+        WHERE (:idBuddy IS NULL OR u.buddy.id = :idBuddy)
+          AND (:idCourse IS NULL OR c.id = :idCourse)
+        ORDER BY u.id, c.id
+    """)
+    Stream<EnrollmentExportRow> streamForExport(@Param("idBuddy") Long idBuddy, @Param("idCourse") Long idCourse);
+
+    // Buddies de los empleados inscriptos en los cursos
+    @Query("""
+        SELECT DISTINCT u.buddy.id FROM Enrollment e JOIN e.user u
+        WHERE e.course.id IN :courseIds AND u.buddy IS NOT NULL
+    """)
+    List<Long> findBuddyIdsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    // Agregados de MetricsRollupService (ver V5__metricas_resumen.sql), calculados en la base.
+    // Con all = true se agrupan todas las claves y courseIds / buddyIds no se usa
+    @Query("""
+        SELECT new org.onboardme.dao.projections.RollupRow(e.course.id,
+            COUNT(e),
+            SUM(CASE WHEN e.finishedDate IS NULL AND e.section IS NOT NULL THEN 1 ELSE 0 END),
+            SUM(CASE WHEN e.finishedDate IS NOT NULL THEN 1 ELSE 0 END),
+            AVG(CASE WHEN e.finishedDate IS NOT NULL THEN 100.0 ELSE COALESCE(e.progress, 0.0) END),
+            AVG(CASE WHEN e.finishedDate IS NOT NULL THEN (e.finishedDate - e.enrolledAt) BY SECOND END))
+        FROM Enrollment e
+        WHERE :all = true OR e.course.id IN :courseIds
+        GROUP BY e.course.id
+    """)
+    List<RollupRow> rollupByCourse(@Param("all") boolean all, @Param("courseIds") Collection<Long> courseIds);
+
+    @Query("""
+        SELECT new org.onboardme.dao.projections.RollupRow(u.buddy.id,
+            COUNT(e),
+            SUM(CASE WHEN e.finishedDate IS NULL AND e.section IS NOT NULL THEN 1 ELSE 0 END),
+            SUM(CASE WHEN e.finishedDate IS NOT NULL THEN 1 ELSE 0 END),
+            AVG(CASE WHEN e.finishedDate IS NOT NULL THEN 100.0 ELSE COALESCE(e.progress, 0.0) END),
+            AVG(CASE WHEN e.finishedDate IS NOT NULL THEN (e.finishedDate - e.enrolledAt) BY SECOND END))
+        FROM Enrollment e
+        JOIN e.user u
+        WHERE u.buddy IS NOT NULL AND (:all = true OR u.buddy.id IN :buddyIds)
+        GROUP BY u.buddy.id
+    """)
+    List<RollupRow> rollupByBuddy(@Param("all") boolean all, @Param("buddyIds") Collection<Long> buddyIds);
 }
@@ -0,0 +1,24 @@
+package org.onboardme.dao.repositories;
+
+import org.onboardme.dao.entities.MetricRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MetricRollupRepository extends JpaRepository<MetricRollup, Long> {
+
+    @Query("SELECT r FROM MetricRollup r WHERE r.dimension = :dimension AND r.keyId = :keyId")
+    Optional<MetricRollup> findByKey(@Param("dimension") String dimension, @Param("keyId") Long keyId);
+
+    @Query("SELECT r FROM MetricRollup r WHERE r.dimension = :dimension AND r.keyId IN :keyIds")
+    List<MetricRollup> findByKeys(@Param("dimension") String dimension, @Param("keyIds") Collection<Long> keyIds);
+
+    @Query("SELECT r FROM MetricRollup r WHERE r.dimension = :dimension")
+    List<MetricRollup> findByDimension(@Param("dimension") String dimension);
+}
@@ -0,0 +1,37 @@
+package org.onboardme.dao.repositories;
+
+import org.onboardme.dao.entities.MetricSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MetricSnapshotRepository extends JpaRepository<MetricSnapshot, Long> {
+
+    // Usa uk_metrica_historial (Dimension, Clave, Fecha)
+    @Query("""
+        SELECT s FROM MetricSnapshot s
+        WHERE s.dimension = :dimension AND s.keyId = :keyId AND s.day >= :from
+        ORDER BY s.day
+    """)
+    List<MetricSnapshot> findTrend(@Param("dimension") String dimension, @Param("keyId") Long keyId,
+                                   @Param("from") LocalDate from);
+
+    @Modifying
+    @Query("DELETE FROM MetricSnapshot s WHERE s.day = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+
+    // Copia metrica_resumen tal como está, sin pasar las filas por la aplicación
+    @Modifying
+    @Query("""
+        INSERT INTO MetricSnapshot (day, dimension, keyId, assigned, inProgress, finished, averageProgress, averageDaysToFinish)
+        SELECT :day, r.dimension, r.keyId, r.assigned, r.inProgress, r.finished, r.averageProgress, r.averageDaysToFinish
+        FROM MetricRollup r
+    """)
+    int copyRollups(@Param("day") LocalDate day);
+}
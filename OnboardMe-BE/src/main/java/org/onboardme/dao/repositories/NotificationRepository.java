@@ -1,11 +1,53 @@
 package org.onboardme.dao.repositories;
 
 import org.onboardme.dao.entities.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Integer> {
-    List<Notification> findByUserId(Long userId);
+    List<Notification> findByUserIdOrderBySentDateDescIdDesc(Long userId);
     Notification findById(Long userId);
+
+    // Notificaciones de un usuario de la más nueva a la más vieja, paginadas por keyset
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.user.id = :userId
+          AND (:unreadOnly = false OR n.seen = false)
+          AND (:afterDate IS NULL
+               OR n.sentDate < :afterDate
+               OR (n.sentDate = :afterDate AND n.id < :afterId))
+        ORDER BY n.sentDate DESC, n.id DESC
+    """)
+    List<Notification> findPageByUserId(
+            @Param("userId") Long userId,
+            @Param("unreadOnly") boolean unreadOnly,
+            @Param("afterDate") Date afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    // Las posteriores a la última que recibió una conexión SSE, de la más nueva a la más vieja
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.id > :afterId ORDER BY n.id DESC")
+    List<Notification> findNewerThan(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.seen = false")
+    long countUnreadByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.seen = true WHERE n.user.id = :userId AND n.seen = false AND n.id IN :ids")
+    int markReadByIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.seen = true WHERE n.user.id = :userId AND n.seen = false AND n.sentDate <= :before")
+    int markReadBefore(@Param("userId") Long userId, @Param("before") Date before);
 }
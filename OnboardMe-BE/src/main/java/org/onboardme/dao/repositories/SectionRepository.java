@@ -1,13 +1,46 @@
 package org.onboardme.dao.repositories;
 
 import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.projections.SectionStats;
+import org.onboardme.dao.projections.TitleRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SectionRepository extends JpaRepository<Section, Long> {
 
     Optional<Section> findByTitle(String title);
+
+    // Explícita: la derivada hace un LEFT JOIN a curso y cuenta recorriendo todo el índice de la FK
+    @Query("SELECT COUNT(s) FROM Section s WHERE s.course.id = :courseId")
+    long countByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT new org.onboardme.dao.projections.TitleRow(s.id, s.title) FROM Section s WHERE s.id IN :ids")
+    List<TitleRow> findTitles(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.course.id FROM Section s WHERE s.id = :id")
+    Optional<Long> findCourseIdById(@Param("id") Long id);
+
+    // COUNT y MAX salen del índice único (Id_Curso, Orden), sin leer las secciones
+    @Query("""
+        SELECT new org.onboardme.dao.projections.SectionStats(s.course.id, COUNT(s), MAX(s.order))
+        FROM Section s
+        WHERE s.course.id = :courseId
+        GROUP BY s.course.id
+    """)
+    Optional<SectionStats> findStatsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("""
+        SELECT new org.onboardme.dao.projections.SectionStats(s.course.id, COUNT(s), MAX(s.order))
+        FROM Section s
+        WHERE s.course.id IN :courseIds
+        GROUP BY s.course.id
+    """)
+    List<SectionStats> findStatsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
 }
@@ -0,0 +1,41 @@
+package org.onboardme.dao.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.onboardme.dao.entities.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Altas masivas de usuarios por JDBC. {@code User} usa ids IDENTITY, con lo que Hibernate
+ * inserta de a una fila aunque se configure {@code hibernate.jdbc.batch_size}; acá se arma un
+ * único batch por lote (con {@code rewriteBatchedStatements} el driver de MySQL lo envía como
+ * un solo INSERT multi-fila).
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserJdbcRepository {
+
+    private static final String INSERT_USER = """
+            INSERT INTO usuario (nombre, apellido, email, contrasenia, area, estado, fecha_alta, id_rol)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<User> users) {
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getFirstName());
+            ps.setString(2, user.getLastName());
+            ps.setString(3, user.getEmail());
+            ps.setString(4, user.getPassword());
+            ps.setString(5, user.getArea());
+            ps.setObject(6, user.getStatus(), Types.INTEGER);
+            ps.setTimestamp(7, user.getCreatedDate() != null ? new Timestamp(user.getCreatedDate().getTime()) : null);
+            ps.setObject(8, user.getRole() != null ? user.getRole().getId() : null, Types.BIGINT);
+        });
+    }
+}
@@ -1,18 +1,102 @@
 package org.onboardme.dao.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.onboardme.dao.entities.User;
+import org.onboardme.dao.projections.CompletionExportRow;
+import org.onboardme.dao.projections.EmployeeRow;
+import org.onboardme.dao.projections.UserBuddyRow;
+import org.onboardme.dao.projections.UserCourseCompletionRow;
+import org.onboardme.dao.projections.UserCredentialsRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findById(Long id);
     Optional<User> findByEmail(String email);
-    List<User> findByBuddyId(Long idBuddy);
+    // Consultas explícitas en lugar de derivadas: Spring Data resuelve buddy.id con un LEFT JOIN
+    // al buddy y filtra por su PK, que no puede usar el índice de usuario.buddy_id
+    @Query("SELECT u FROM User u WHERE u.buddy.id = :idBuddy")
+    List<User> findByBuddyId(@Param("idBuddy") Long idBuddy);
 
+    @Query("""
+        SELECT new org.onboardme.dao.projections.UserBuddyRow(u.id, u.firstName, u.lastName, b.id, b.firstName, b.lastName)
+        FROM User u
+        LEFT JOIN u.buddy b
+        WHERE u.id IN :ids
+    """)
+    List<UserBuddyRow> findBuddyRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT u.buddy.id FROM User u WHERE u.id IN :ids AND u.buddy IS NOT NULL")
+    List<Long> findBuddyIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("""
+        SELECT new org.onboardme.dao.projections.UserCredentialsRow(u.email, u.password)
+        FROM User u
+        WHERE u.email IN :emails
+        ORDER BY u.id
+    """)
+    List<UserCredentialsRow> findCredentials(@Param("emails") Collection<String> emails);
+
+    @Query("""
+        SELECT new org.onboardme.dao.projections.UserCourseCompletionRow(
+            u.id, u.firstName, u.lastName, c.id, c.title, e.finishedDate, e.status, s.order, e.progress)
+        FROM User u
+        LEFT JOIN u.enrollments e
+        LEFT JOIN e.course c
+        LEFT JOIN e.section s
+        WHERE (:idBuddy IS NULL OR u.buddy.id = :idBuddy)
+        ORDER BY u.id, c.id
+    """)
+    List<UserCourseCompletionRow> findCourseCompletionRows(@Param("idBuddy") Long idBuddy);
+
+    // Misma regla de completado que MetricsService.isCompletedByRule, con el avance guardado. Cursor de
+    // solo avance como EnrollmentRepository.streamForExport.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        SELECT new org.onboardme.dao.projections.CompletionExportRow(
+            u.id, u.firstName, u.lastName, u.email, u.buddy.id,
+            SUM(CASE WHEN e.finishedDate IS NOT NULL OR UPPER(TRIM(e.status)) = 'COMPLETADO' OR e.progress >= 100
+                     THEN 1 ELSE 0 END),
+            COUNT(e.course.id))
+        FROM User u
+        LEFT JOIN u.enrollments e
+        WHERE (:idBuddy IS NULL OR u.buddy.id = :idBuddy)
+        GROUP BY u.id, u.firstName, u.lastName, u.email, u.buddy.id
+        ORDER BY u.id
+    """)
+    Stream<CompletionExportRow> streamCompletionForExport(@Param("idBuddy") Long idBuddy);
+
+    // Usuarios de la vista general de empleados ordenados por legajo, paginados por keyset
+    @Query("""
+        SELECT new org.onboardme.dao.projections.EmployeeRow(
+            u.id, u.firstName, u.lastName, u.email, u.area, r.name, b.id, b.firstName, b.lastName)
+        FROM User u
+        LEFT JOIN u.role r
+        LEFT JOIN u.buddy b
+        WHERE (:idBuddy IS NULL OR b.id = :idBuddy)
+          AND (:area IS NULL OR u.area = :area)
+          AND (:afterId IS NULL OR u.id > :afterId)
+        ORDER BY u.id
+    """)
+    List<EmployeeRow> findEmployeePage(
+            @Param("idBuddy") Long idBuddy,
+            @Param("area") String area,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
 }
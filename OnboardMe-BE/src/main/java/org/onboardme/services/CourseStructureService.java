@@ -0,0 +1,101 @@
+package org.onboardme.services;
+
+import com.onboardme.model.SectionContentDTO;
+import com.onboardme.model.SectionDTO;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.onboardme.config.CacheConfig;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.content.ExamContent;
+import org.onboardme.dao.loaders.CourseGraphLoader;
+import org.onboardme.dao.repositories.SectionRepository;
+import org.onboardme.transformers.SectionContentTransformer;
+import org.onboardme.transformers.SectionTransformer;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Lecturas cacheadas de la estructura de los cursos (ver {@link CacheConfig}).
+ *
+ * <p>La estructura sólo cambia en {@code CoursesService.createCourse} y en los
+ * {@code SectionContentService.addXxxContent}, que llaman a los métodos {@code evict*}.
+ * Lo que depende del usuario (inscripciones, avance, resultados) no se cachea.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseStructureService {
+
+    private final CourseGraphLoader courseGraphLoader;
+    private final SectionRepository sectionRepository;
+    private final SectionTransformer sectionTransformer;
+    private final SectionContentTransformer sectionContentTransformer;
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COURSE_SECTIONS, key = "#courseId")
+    public List<SectionDTO> getSections(Long courseId) {
+        return courseGraphLoader.loadStructureById(courseId)
+                .map(course -> course.getSections().stream()
+                        .map(sectionTransformer::buildSectionResponse)
+                        .toList())
+                .orElse(List.of());
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SECTION_CONTENT, key = "#sectionId")
+    public SectionContentDTO getSectionContent(Long sectionId) {
+        Section section = getSectionOrThrow(sectionId);
+        return section.getContent() != null
+                ? sectionContentTransformer.buildSectionContentResponse(section.getContent())
+                : null;
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EXAM_ANSWER_KEYS, key = "#sectionId")
+    public ExamAnswerKey getExamAnswerKey(Long sectionId) {
+        Section section = getSectionOrThrow(sectionId);
+        if (!(section.getContent() instanceof ExamContent exam)) {
+            throw new IllegalArgumentException("La sección no posee examen");
+        }
+        return ExamAnswerKey.compile(exam, section.getCourse().getId());
+    }
+
+    /**
+     * Curso al que pertenece la sección; no cambia mientras la sección exista.
+     */
+    @Cacheable(cacheNames = CacheConfig.SECTION_COURSE, key = "#sectionId")
+    public Long getCourseIdOfSection(Long sectionId) {
+        return sectionRepository.findCourseIdById(sectionId)
+                .orElseThrow(() -> new EntityNotFoundException("Sección no encontrada"));
+    }
+
+    /**
+     * Se reemplazaron las secciones del curso: los ids de sección viejos dejan de existir,
+     * así que además del curso se descarta todo el contenido y las claves de examen.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSE_SECTIONS, key = "#courseId"),
+            @CacheEvict(cacheNames = CacheConfig.SECTION_CONTENT, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EXAM_ANSWER_KEYS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SECTION_COURSE, allEntries = true)
+    })
+    public void evictCourse(Long courseId) {
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSE_SECTIONS, key = "#courseId"),
+            @CacheEvict(cacheNames = CacheConfig.SECTION_CONTENT, key = "#sectionId"),
+            @CacheEvict(cacheNames = CacheConfig.EXAM_ANSWER_KEYS, key = "#sectionId")
+    })
+    public void evictSection(Long courseId, Long sectionId) {
+    }
+
+    private Section getSectionOrThrow(Long sectionId) {
+        return sectionRepository.findById(sectionId)
+                .orElseThrow(() -> new EntityNotFoundException("Sección no encontrada"));
+    }
+}
@@ -0,0 +1,56 @@
+package org.onboardme.services;
+
+import lombok.RequiredArgsConstructor;
+import org.onboardme.dao.projections.CoursesVersion;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Versión de cada curso para los ETag de {@code getCourses}, {@code getCourseById} y
+ * {@code getSectionContent}. Lo que cambia la estructura, el contenido o el creador llama a
+ * {@link #bump}; las inscripciones entran al ETag por su contador de cambios, así las escrituras de
+ * los alumnos no tocan la fila del curso. El controller contesta 304 sin armar la respuesta.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseVersionService {
+
+    private final CourseRepository courseRepository;
+    private final CourseStructureService courseStructureService;
+
+    public void bump(Long courseId) {
+        courseRepository.bumpVersion(courseId);
+    }
+
+    /**
+     * Para cambios del usuario que se muestran anidados en el creador de sus cursos, como su buddy.
+     */
+    public void bumpCreatedBy(Long userId) {
+        courseRepository.bumpVersionsByCreator(userId);
+    }
+
+    /**
+     * ETag de {@code getCourseById}, o null si el curso no existe.
+     */
+    public String courseEtag(Long courseId) {
+        return courseRepository.findCourseVersion(courseId)
+                .map(v -> "\"c" + courseId + "-v" + v.getVersion() + "-e" + v.getEnrollments() + "-" + v.getEnrollmentChanges() + "\"")
+                .orElse(null);
+    }
+
+    public String coursesEtag() {
+        CoursesVersion v = courseRepository.findCoursesVersion();
+        return "\"courses-" + v.getCount() + "-" + v.getVersionSum() + "-" + v.getMaxId()
+                + "-e" + v.getEnrollments() + "-" + v.getEnrollmentChanges() + "\"";
+    }
+
+    /**
+     * ETag de {@code getSectionContent}: la versión del curso de la sección, que se busca en caché.
+     */
+    public String sectionContentEtag(Long sectionId) {
+        Long courseId = courseStructureService.getCourseIdOfSection(sectionId);
+        return courseRepository.findVersionById(courseId)
+                .map(version -> "\"s" + sectionId + "-v" + version + "\"")
+                .orElse(null);
+    }
+}
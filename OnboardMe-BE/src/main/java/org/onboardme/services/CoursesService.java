@@ -3,23 +3,43 @@ package org.onboardme.services;
 import com.onboardme.model.*;
 import jakarta.persistence.EntityNotFoundException;
 import org.onboardme.dao.entities.*;
+import org.onboardme.dao.loaders.CourseGraphLoader;
+import org.onboardme.dao.projections.CourseSummary;
+import org.onboardme.dao.projections.EnrollmentProgress;
+import org.onboardme.dao.projections.EnrollmentProgressRow;
+import org.onboardme.dao.projections.LearnerCourseRow;
+import org.onboardme.dao.projections.SectionStats;
 import org.onboardme.dao.repositories.*;
+import org.onboardme.services.EnrollmentProgressResolver.CourseSections;
 import org.onboardme.transformers.CourseTransformer;
 import org.onboardme.transformers.EnrollmentTransformer;
 import org.onboardme.transformers.SectionContentTransformer;
 import org.onboardme.transformers.SectionTransformer;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("onboardme.service")
 public class CoursesService {
 
+    private static final int CATALOG_DEFAULT_SIZE = 20;
+    private static final int CATALOG_MAX_SIZE = 100;
+    private static final int PROGRESS_MAX_IDS = 500;
+
     @Autowired
     UserRepository userRepository;
 
@@ -35,6 +55,9 @@ public class CoursesService {
     @Autowired
     SectionTransformer sectionTransformer;
 
+    @Autowired
+    SectionContentTransformer sectionContentTransformer;
+
     @Autowired
     SectionRepository sectionRepository;
 
@@ -42,30 +65,104 @@ public class CoursesService {
     EnrollmentTransformer enrollmentTransformer;
 
     @Autowired
-    private NotificationRepository notificationRepository;
+    private DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    CourseGraphLoader courseGraphLoader;
+
+    @Autowired
+    EnrollmentProgressJdbcRepository enrollmentProgressJdbcRepository;
+
+    @Autowired
+    EnrollmentProgressResolver progressResolver;
+
+    @Autowired
+    CourseStructureService courseStructureService;
+
+    @Autowired
+    CourseVersionService courseVersionService;
 
+    @Transactional(readOnly = true)
     public List<CourseDTO> getCourses() {
-        List<Course> courses = courseRepository.findAll();
+        List<Course> courses = courseGraphLoader.loadAll();
         return courses.stream().map(courseTransformer::buildCourseResponse).toList();
     }
 
+    public CourseCatalogPageDTO getCourseCatalog(String area, String sort, String cursor, Integer size) {
+        int pageSize = (size == null || size <= 0) ? CATALOG_DEFAULT_SIZE : Math.min(size, CATALOG_MAX_SIZE);
+        // Pido una fila de más para saber si existe una página siguiente
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        boolean byArea = "area".equals(sort);
+
+        List<CourseSummary> rows;
+        if (byArea) {
+            rows = courseRepository.findCatalogByArea(area,
+                    after != null ? after.getKey() : null,
+                    after != null ? after.getId() : null,
+                    limit);
+        } else if (sort == null || "createdDate".equals(sort)) {
+            rows = courseRepository.findCatalogByCreatedDate(area,
+                    after != null ? new Date(after.getKeyAsLong()) : null,
+                    after != null ? after.getId() : null,
+                    limit);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Orden no soportado: " + sort);
+        }
+
+        CourseCatalogPageDTO page = new CourseCatalogPageDTO();
+        List<CourseSummary> items = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        page.setItems(items.stream().map(courseTransformer::buildCourseSummaryResponse).toList());
+
+        if (rows.size() > pageSize) {
+            CourseSummary last = items.get(items.size() - 1);
+            page.setNextCursor(byArea
+                    ? KeysetCursor.encode(last.getArea() == null ? "" : last.getArea(), last.getId())
+                    : KeysetCursor.encode(String.valueOf(last.getCreatedDate().getTime()), last.getId()));
+        }
+        return page;
+    }
+
+    @Transactional(readOnly = true)
     public List<CourseDTO> getCoursesByUser(Long userId) {
 
-        Optional<User> user = userRepository.findById(userId);
+        List<Long> courseIds = enrollmentRepository.findCourseIdsByUserId(userId);
 
-        List<Course> courses = user.get().getEnrollments().stream()
-                .map(Enrollment::getCourse)
-                .distinct()
-                .toList();
+        List<Course> courses = courseGraphLoader.loadByIds(courseIds);
 
         return courses.stream().map(course -> courseTransformer.buildCourseResponse(course)).toList();
     }
 
+    /**
+     * Vista del alumno: sus cursos con su propia inscripción en una consulta, sin las inscripciones
+     * del resto ni los datos del creador. Solo si hay inscripciones sin avance precalculado se hace
+     * otra consulta para los órdenes de sección de esos cursos.
+     */
+    public List<LearnerCourseDTO> getLearnerCourses(Long userId) {
+        List<LearnerCourseRow> rows = enrollmentRepository.findLearnerCourses(userId);
+        Set<Long> withoutProgress = rows.stream()
+                .filter(r -> r.getProgress() == null)
+                .map(LearnerCourseRow::getCourseId)
+                .collect(Collectors.toSet());
+        Map<Long, CourseSections> sectionsByCourse = progressResolver.loadCourseSections(withoutProgress);
+
+        return rows.stream()
+                .map(r -> enrollmentTransformer.buildLearnerCourseResponse(r, EnrollmentProgressResolver.progressOf(
+                        r.getProgress(), r.getSectionOrder(), sectionsByCourse.get(r.getCourseId()))))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
     public CourseDTO getCourseById(Long idCourse) {
         Course course = courseRepository.findById(Math.toIntExact(idCourse))
                 .orElseThrow(() -> new EntityNotFoundException("Curso no encontrado con ID: " + idCourse));
 
-        return courseTransformer.buildCourseResponse(course);
+        // Secciones y contenido salen de la caché; las inscripciones se leen siempre de la base
+        List<EnrollmentDTO> enrollments = enrollmentRepository.findRowsByCourseId(idCourse).stream()
+                .map(enrollmentTransformer::buildEnrollmentResponse)
+                .toList();
+
+        return courseTransformer.buildCourseResponse(course, courseStructureService.getSections(idCourse), enrollments);
     }
 
     public ResponseEntity<Void> favCourse(Long idCourse, Long idUser) {
@@ -81,35 +178,126 @@ public class CoursesService {
         return ResponseEntity.ok().build();
     }
 
+    @Transactional(readOnly = true)
     public List<CourseDTO> getFavorites(Long userId) {
 
-        List<Enrollment> enrollments = enrollmentRepository.findByUserIdAndFavoriteTrue(userId);
+        List<Long> courseIds = enrollmentRepository.findFavoriteCourseIdsByUserId(userId);
 
-        List<Course> courses = enrollments.stream()
-                .map(Enrollment::getCourse)
-                .distinct()
-                .toList();
+        List<Course> courses = courseGraphLoader.loadByIds(courseIds);
 
         return courses.stream()
                 .map(courseTransformer::buildCourseResponse)
                 .toList();
     }
 
+    @Transactional
     public CourseDTO createCourse(CourseDTO dto) {
         Long creatorId = dto.getCreatedBy().getId();
         User creator = userRepository.findById(creatorId)
                 .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado con ID: " + creatorId));
 
-        Course course = courseTransformer.buildCourseEntity(dto, creator);
-
-        List<Section> sectionEntities = sectionTransformer.buildSectionEntities(dto.getSections(), course);
-        course.setSections(sectionEntities);
+        Course existing = dto.getId() != null ? courseRepository.findById(dto.getId()) : null;
+        Course saved;
+        if (existing != null) {
+            courseTransformer.updateCourseEntity(existing, dto, creator);
+            mergeSections(existing, dto.getSections());
+            saved = courseRepository.save(existing);
+        } else {
+            Course course = courseTransformer.buildCourseEntity(dto, creator);
+            course.setSections(sectionTransformer.buildSectionEntities(dto.getSections(), course));
+            saved = courseRepository.save(course);
+        }
 
-        Course saved = courseRepository.save(course);
+        // Si el DTO trae el id de un curso existente cambian sus secciones:
+        // recalculo el avance guardado de sus inscripciones.
+        List<Enrollment> enrollments = enrollmentRepository.findByCourseId(saved.getId());
+        enrollments.forEach(this::refreshProgress);
+        enrollmentRepository.saveAll(enrollments);
+        if (!enrollments.isEmpty()) {
+            domainEventPublisher.publish(new DomainEvents.CourseRestructured(creatorId, saved.getId()));
+        }
+        courseStructureService.evictCourse(saved.getId());
+        courseVersionService.bump(saved.getId());
 
         return courseTransformer.buildCourseResponse(saved);
     }
 
+    /**
+     * Aplica las secciones recibidas a un curso existente sin borrar las que siguen: las que traen el id
+     * de una sección del curso (o, sin id, caen en el orden de una que nadie reclamó) se actualizan en el
+     * lugar, así las inscripciones que apuntan a ellas no se pierden. Las que no vienen se borran y sus
+     * inscripciones pasan a la sección anterior que queda.
+     */
+    private void mergeSections(Course course, List<SectionDTO> sectionDTOs) {
+        List<SectionDTO> sorted = sectionTransformer.sortByOrder(sectionDTOs);
+        Map<Long, Section> byId = course.getSections().stream()
+                .collect(Collectors.toMap(Section::getId, s -> s));
+        Map<Integer, Section> byOrder = course.getSections().stream()
+                .collect(Collectors.toMap(Section::getOrder, s -> s));
+
+        Section[] kept = new Section[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            Section section = byId.remove(sorted.get(i).getId());
+            if (section != null) {
+                byOrder.remove(section.getOrder());
+                kept[i] = section;
+            }
+        }
+        for (int i = 0; i < sorted.size(); i++) {
+            if (kept[i] == null && sorted.get(i).getId() == null) {
+                Section section = byOrder.remove(i + 1);
+                if (section != null && byId.remove(section.getId()) != null) {
+                    kept[i] = section;
+                }
+            }
+        }
+
+        // Las inscripciones de una sección que se va pasan a la anterior que queda (o a ninguna)
+        List<Section> removed = course.getSections().stream().filter(s -> byId.containsKey(s.getId())).toList();
+        for (Section section : removed) {
+            Section previous = course.getSections().stream()
+                    .filter(s -> !byId.containsKey(s.getId()) && s.getOrder() < section.getOrder())
+                    .reduce((first, second) -> second)
+                    .orElse(null);
+            // Por consulta: tocar section.getEnrollments() las borraría junto con la sección
+            enrollmentRepository.moveToSection(section, previous);
+        }
+        course.getSections().removeAll(removed);
+
+        // Primero con órdenes negativos: el índice único (Id_Curso, Orden) se controla fila por fila
+        // y las secciones que quedan pueden intercambiar lugares con otras o con las borradas
+        for (int i = 0; i < kept.length; i++) {
+            if (kept[i] != null) {
+                kept[i].setOrder(-(i + 1));
+                SectionContentDTO content = sorted.get(i).getContent();
+                if (kept[i].getContent() != null && (content == null
+                        || !kept[i].getContent().getId_content().equals(content.getContentId()))) {
+                    kept[i].setContent(null);
+                }
+            }
+        }
+        courseRepository.flush();
+
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < kept.length; i++) {
+            SectionDTO sectionDTO = sorted.get(i);
+            Section section = kept[i];
+            if (section == null) {
+                section = sectionTransformer.buildSectionEntity(sectionDTO, course, i + 1);
+            } else {
+                section.setTitle(sectionDTO.getTitle());
+                section.setOrder(i + 1);
+                if (section.getContent() == null && sectionDTO.getContent() != null) {
+                    section.setContent(sectionContentTransformer.toEntity(sectionDTO.getContent(), section));
+                }
+            }
+            sections.add(section);
+        }
+        course.getSections().clear();
+        course.getSections().addAll(sections);
+    }
+
+    @Transactional
     public void updateCourseProgress(Long courseId, Long userId, Long sectionId) {
         Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
                 .orElseThrow(() -> new EntityNotFoundException("Inscripción no encontrada"));
@@ -123,65 +311,100 @@ public class CoursesService {
 
         Section currentSection = enrollment.getSection();
 
-        if (currentSection != null && newSection.getId() <= currentSection.getId()) {
+        if (currentSection != null && newSection.getOrder() <= currentSection.getOrder()) {
             return;
         }
 
+        // Cantidad de secciones y orden de la última salen del índice (Id_Curso, Orden), sin cargar las secciones
+        SectionStats sections = sectionRepository.findStatsByCourseId(courseId)
+                .orElseThrow(() -> new EntityNotFoundException("Sección no encontrada"));
+        int total = sections.getCount().intValue();
         enrollment.setSection(newSection);
+        enrollment.setSectionCount(total);
+        enrollment.setProgress(computeProgress(newSection.getOrder(), total));
 
-        // Verifico si la nueva sección es la última del curso para setear la fecha de finalización y el estado FINALIZADO
-        List<Section> sections = enrollment.getCourse().getSections();
-        Long maxId = sections.stream()
-                .map(Section::getId)
-                .max(Long::compareTo)
-                .orElse(null);
-
-        if (newSection.getId().equals(maxId) && enrollment.getFinishedDate() == null) {
+        // Verifico si la nueva sección es la última del curso para setear la fecha de finalización y el estado FINALIZADO.
+        // La notificación al buddy la crea NotificationEventHandler a partir del evento, fuera del request.
+        if (newSection.getOrder() >= sections.getLastOrder() && enrollment.getFinishedDate() == null) {
             enrollment.setFinishedDate(new Date());
             enrollment.setStatus("FINALIZADO");
-
-            Course course = courseRepository.findById(courseId);
-            User usuarioQueFinalizo = userRepository.findById(userId)
-                    .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado con ID: " + userId));
-            User usuarioANotificar = usuarioQueFinalizo.getBuddy();
-            if(usuarioANotificar == null){
-                return;
-            }else{
-                //Envío notificación al buddy
-                Notification notification = new Notification();
-                notification.setUser(usuarioANotificar);
-                notification.setTitle("CURSO FINALIZADO");
-                notification.setMessage("Hola, " + usuarioANotificar.getFirstName() + " " + usuarioANotificar.getLastName() +
-                        " te informamos que el usuario " + usuarioQueFinalizo.getFirstName() + " " + usuarioQueFinalizo.getLastName() +
-                        " ha finalizado el curso: " + course.getTitle());
-                notification.setSentDate(new Date());
-                notification.setSeen(false);
-
-                notificationRepository.save(notification);
-            }
+            domainEventPublisher.publish(new DomainEvents.CourseCompleted(userId, courseId));
+        } else {
+            domainEventPublisher.publish(new DomainEvents.CourseProgressed(userId, courseId));
         }
 
         enrollmentRepository.save(enrollment);
     }
 
     public Double getCourseProgress(Long courseId, Long userId) {
-        Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
+        EnrollmentProgress stored = enrollmentRepository.findProgress(userId, courseId)
                 .orElseThrow(() -> new EntityNotFoundException("Inscripción no encontrada"));
+        if (stored.getProgress() != null) {
+            return stored.getProgress();
+        }
 
-        Course course = enrollment.getCourse();
-        List<Section> sections = course.getSections();
-        sections.sort(Comparator.comparingInt(a -> Integer.parseInt(a.getOrder())));
+        // Inscripción todavía sin avance precalculado: lo calculo a partir de las secciones
+        Enrollment enrollment = enrollmentRepository.findByUserIdAndCourseId(userId, courseId)
+                .orElseThrow(() -> new EntityNotFoundException("Inscripción no encontrada"));
+        return calculateProgress(enrollment);
+    }
 
-        int total = sections.size();
-        int lastIndex = 0;
-        if (enrollment.getSection() != null) {
-            lastIndex = Integer.parseInt(enrollment.getSection().getOrder());
+    /**
+     * Avance de varios pares (curso, usuario) en una sola consulta: los cursos {@code courseIds} de un
+     * usuario o los usuarios {@code userIds} de un curso. Los pares sin inscripción no se devuelven.
+     */
+    public List<CourseProgressDTO> getCoursesProgress(Long userId, List<Long> courseIds, Long courseId, List<Long> userIds) {
+        boolean byUser = userId != null && courseIds != null && !courseIds.isEmpty();
+        boolean byCourse = courseId != null && userIds != null && !userIds.isEmpty();
+        if (byUser == byCourse) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Debe indicar idUser con courseIds o idCourse con userIds");
+        }
+        List<Long> ids = byUser ? courseIds : userIds;
+        if (ids.size() > PROGRESS_MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Se permiten como máximo " + PROGRESS_MAX_IDS + " ids por consulta");
         }
 
-        return total > 0 ? Math.ceil((lastIndex * 1000.0) / total) / 10.0 : 0.0;
+        List<EnrollmentProgressRow> rows = byUser
+                ? enrollmentProgressJdbcRepository.findByUser(userId, Set.copyOf(ids))
+                : enrollmentProgressJdbcRepository.findByCourse(courseId, Set.copyOf(ids));
+
+        // Solo las inscripciones sin avance precalculado necesitan los órdenes de sección
+        Set<Long> withoutProgress = rows.stream()
+                .filter(r -> r.getProgress() == null)
+                .map(EnrollmentProgressRow::getCourseId)
+                .collect(Collectors.toSet());
+        Map<Long, CourseSections> sectionsByCourse = progressResolver.loadCourseSections(withoutProgress);
+
+        return rows.stream().map(r -> new CourseProgressDTO()
+                .idCourse(r.getCourseId())
+                .idUser(r.getUserId())
+                .progress(EnrollmentProgressResolver.progressOf(r.getProgress(), r.getSectionOrder(),
+                        sectionsByCourse.get(r.getCourseId()))))
+                .toList();
+    }
 
+    /**
+     * Recalcula y guarda en la inscripción la cantidad de secciones del curso y el avance.
+     */
+    void refreshProgress(Enrollment enrollment) {
+        enrollment.setSectionCount(enrollment.getCourse().getSections().size());
+        enrollment.setProgress(calculateProgress(enrollment));
     }
 
+    private double calculateProgress(Enrollment enrollment) {
+        Section current = enrollment.getSection();
+        return computeProgress(current != null ? current.getOrder() : 0, enrollment.getCourse().getSections().size());
+    }
+
+    /**
+     * Porcentaje de avance con un decimal, redondeado hacia arriba: {@code lastIndex} es el orden
+     * de la última sección alcanzada y {@code total} la cantidad de secciones del curso.
+     */
+    public static double computeProgress(int lastIndex, int total) {
+        return total > 0 ? Math.ceil((lastIndex * 1000.0) / total) / 10.0 : 0.0;
+    }
+
+    @Transactional
     public void assignCourse(Long courseId, Long buddyId, Long userId) {
         User buddy = userRepository.findById(buddyId)
                 .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado con ID: " + buddyId));
@@ -201,16 +424,11 @@ public class CoursesService {
         }
 
         Enrollment enrollment = new Enrollment(new EnrollmentId(userId, courseId), user, course, new Date(), null, "ASIGNADO", false, null);
+        int sectionCount = (int) sectionRepository.countByCourseId(courseId);
+        enrollment.setSectionCount(sectionCount);
+        enrollment.setProgress(computeProgress(0, sectionCount));
         enrollmentRepository.save(enrollment);
-
-        Notification notification = new Notification();
-        notification.setUser(user);
-        notification.setTitle("CURSO ASIGNADO");
-        notification.setMessage("Hola, " + user.getFirstName() + " " + user.getLastName() + " se te ha asignado un nuevo curso: " + course.getTitle());
-        notification.setSentDate(new Date());
-        notification.setSeen(false);
-
-        notificationRepository.save(notification);
+        domainEventPublisher.publish(new DomainEvents.CourseAssigned(userId, courseId));
     }
 
     public EnrollmentDTO getEnrollment(Long courseId, Long userId) {
@@ -0,0 +1,13 @@
+package org.onboardme.services;
+
+import java.util.List;
+
+/**
+ * Efecto de los eventos de dominio. {@link DomainEventProcessor} llama a cada handler con el lote
+ * completo, dentro de la transacción que marca los eventos como procesados: si un handler falla o la
+ * aplicación se cae a mitad del lote, no queda nada a medias y el lote se vuelve a procesar.
+ */
+public interface DomainEventHandler {
+
+    void handle(List<DomainEvents.Event> events);
+}
@@ -0,0 +1,187 @@
+package org.onboardme.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.onboardme.config.AsyncConfig;
+import org.onboardme.dao.entities.DomainEvent;
+import org.onboardme.dao.repositories.DomainEventRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pasa los eventos pendientes de {@code evento_dominio} a los {@link DomainEventHandler}, en lotes y en
+ * el orden en que se guardaron. Los efectos y la marca PROCESADO van en la misma transacción; si un lote
+ * falla se reintenta evento por evento según {@link RetryPolicy}.
+ */
+@Component
+public class DomainEventProcessor {
+
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    private final DomainEventRepository domainEventRepository;
+    private final List<DomainEventHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int batchSize;
+    private final RetryPolicy retryPolicy;
+    private final Duration retention;
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final Counter processed;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer delay;
+
+    public DomainEventProcessor(DomainEventRepository domainEventRepository,
+                                List<DomainEventHandler> handlers,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Qualifier(AsyncConfig.DOMAIN_EVENT_EXECUTOR) Executor executor,
+                                MeterRegistry meterRegistry,
+                                @Value("${onboardme.events.batch-size:100}") int batchSize,
+                                @Value("${onboardme.events.max-attempts:8}") int maxAttempts,
+                                @Value("${onboardme.events.initial-backoff:30s}") Duration initialBackoff,
+                                @Value("${onboardme.events.max-backoff:1h}") Duration maxBackoff,
+                                @Value("${onboardme.events.retention:7d}") Duration retention) {
+        this.domainEventRepository = domainEventRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.retryPolicy = new RetryPolicy(maxAttempts, initialBackoff, maxBackoff);
+        this.retention = retention;
+
+        this.processed = meterRegistry.counter("onboardme.events.processed");
+        this.retried = meterRegistry.counter("onboardme.events.failures", "final", "false");
+        this.failed = meterRegistry.counter("onboardme.events.failures", "final", "true");
+        this.delay = meterRegistry.timer("onboardme.events.delay");
+    }
+
+    @TransactionalEventListener
+    public void onEventsStored(DomainEventPublisher.EventsStored event) {
+        // Varias transacciones seguidas despiertan al procesador una sola vez
+        if (wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                drain();
+            });
+        }
+    }
+
+    // El synchronized sólo ordena los hilos de esta JVM (el aviso post-commit, el @Scheduled y exclusively).
+    // Con más de una instancia habría que tomar los lotes con SELECT ... FOR UPDATE SKIP LOCKED.
+    @Scheduled(fixedDelayString = "${onboardme.events.poll-interval:30s}")
+    public synchronized void drain() {
+        int taken;
+        do {
+            taken = processBatch();
+        } while (taken == batchSize);
+    }
+
+    /**
+     * Corre {@code task} sin ningún lote en curso, para el que recalcula por fuera de los eventos lo mismo
+     * que escriben los handlers (ver {@link MetricsRollupService}). La transacción de {@code task} tiene que
+     * confirmarse adentro.
+     */
+    public synchronized <T> T exclusively(Supplier<T> task) {
+        return task.get();
+    }
+
+    /**
+     * Borra los eventos procesados hace más de {@code retention}, de a {@code batch-size}, y devuelve cuántos borró.
+     */
+    @Scheduled(fixedDelayString = "${onboardme.events.purge-interval:1h}")
+    public int purgeProcessed() {
+        Date before = new Date(System.currentTimeMillis() - retention.toMillis());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = domainEventRepository.deleteProcessedBefore(before, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    /**
+     * Procesa un lote de eventos pendientes y devuelve cuántos tomó.
+     */
+    int processBatch() {
+        List<DomainEvent> due = domainEventRepository.findDue(new Date(), PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> process(due));
+        } catch (RuntimeException e) {
+            // Un evento que falla no debe frenar al resto del lote
+            for (DomainEvent event : due) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> process(List.of(event)));
+                } catch (RuntimeException failure) {
+                    registerFailure(event, failure);
+                    domainEventRepository.save(event);
+                }
+            }
+        }
+        return due.size();
+    }
+
+    private void process(List<DomainEvent> rows) {
+        List<DomainEvents.Event> events = new ArrayList<>(rows.size());
+        for (DomainEvent row : rows) {
+            events.add(read(row));
+        }
+        for (DomainEventHandler handler : handlers) {
+            handler.handle(events);
+        }
+
+        Date now = new Date();
+        domainEventRepository.markProcessed(rows.stream().map(DomainEvent::getId).toList(), now);
+        for (DomainEvent row : rows) {
+            processed.increment();
+            delay.record(now.getTime() - row.getCreatedAt().getTime(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private DomainEvents.Event read(DomainEvent row) {
+        try {
+            return objectMapper.readValue(row.getPayload(), DomainEvents.classOf(row.getType()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Error leyendo el evento " + row.getId(), e);
+        }
+    }
+
+    private void registerFailure(DomainEvent event, Exception failure) {
+        if (retryPolicy.registerFailure(event, failure, new Date())) {
+            event.setStatus(DomainEvent.FAILED);
+            failed.increment();
+            logger.log(Level.WARNING, "Se descarta el evento " + event.getId() + " (" + event.getType()
+                    + ") después de " + event.getAttempts() + " intentos", failure);
+        } else {
+            retried.increment();
+        }
+    }
+}
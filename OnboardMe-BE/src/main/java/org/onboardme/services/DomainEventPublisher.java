@@ -0,0 +1,57 @@
+package org.onboardme.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.onboardme.dao.entities.DomainEvent;
+import org.onboardme.dao.repositories.DomainEventRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+/**
+ * Guarda los eventos de dominio en {@code evento_dominio}; los procesa {@link DomainEventProcessor}.
+ */
+@Service
+public class DomainEventPublisher {
+
+    /** Se guardaron eventos: al confirmarse la transacción se despierta al procesador. */
+    public record EventsStored() {}
+
+    private final DomainEventRepository domainEventRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectMapper objectMapper;
+
+    public DomainEventPublisher(DomainEventRepository domainEventRepository,
+                                ApplicationEventPublisher applicationEventPublisher,
+                                ObjectMapper objectMapper) {
+        this.domainEventRepository = domainEventRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Guarda el evento. Debe llamarse en la misma transacción que el cambio que lo origina: si el
+     * cambio se revierte, el evento también.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvents.Event event) {
+        Date now = new Date();
+        DomainEvent row = new DomainEvent();
+        row.setType(DomainEvents.typeOf(event));
+        try {
+            row.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializando el evento " + row.getType(), e);
+        }
+        row.setStatus(DomainEvent.PENDING);
+        row.setAttempts(0);
+        row.setNextAttemptAt(now);
+        row.setCreatedAt(now);
+        domainEventRepository.save(row);
+
+        applicationEventPublisher.publishEvent(new EventsStored());
+    }
+}
@@ -0,0 +1,55 @@
+package org.onboardme.services;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Eventos de dominio que publica {@link DomainEventPublisher}. Se guardan con el nombre del record
+ * como tipo y el record como JSON, así que renombrar uno o sus campos deja sin leer los pendientes.
+ */
+public final class DomainEvents {
+
+    public sealed interface Event
+            permits CourseAssigned, CourseProgressed, CourseCompleted, ExamSubmitted, CourseRestructured, BuddyAssigned {
+        Long userId();
+    }
+
+    /** Se asignó un curso a un empleado. */
+    public record CourseAssigned(Long userId, Long courseId) implements Event {}
+
+    /** Un empleado avanzó de sección en un curso, sin llegar a la última. */
+    public record CourseProgressed(Long userId, Long courseId) implements Event {}
+
+    /** Un empleado llegó a la última sección de un curso. */
+    public record CourseCompleted(Long userId, Long courseId) implements Event {}
+
+    /** Un empleado envió el examen de una sección. */
+    public record ExamSubmitted(Long userId, Long courseId, Long sectionId, int score, int totalQuestions) implements Event {}
+
+    /** Se reemplazaron las secciones de un curso con inscripciones; {@code userId} es quien lo editó. */
+    public record CourseRestructured(Long userId, Long courseId) implements Event {}
+
+    /** Se cambió el buddy de un empleado; {@code previousBuddyId} es null si no tenía. */
+    public record BuddyAssigned(Long userId, Long previousBuddyId, Long buddyId) implements Event {}
+
+    private static final Map<String, Class<? extends Event>> TYPES = Arrays.stream(Event.class.getPermittedSubclasses())
+            .map(type -> type.asSubclass(Event.class))
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+    private DomainEvents() {
+    }
+
+    static String typeOf(Event event) {
+        return event.getClass().getSimpleName();
+    }
+
+    static Class<? extends Event> classOf(String type) {
+        Class<? extends Event> eventClass = TYPES.get(type);
+        if (eventClass == null) {
+            throw new IllegalArgumentException("Tipo de evento desconocido: " + type);
+        }
+        return eventClass;
+    }
+}
@@ -0,0 +1,203 @@
+package org.onboardme.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.onboardme.dao.entities.EmailOutbox;
+import org.onboardme.dao.repositories.EmailOutboxRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Vacía {@code email_outbox} en lotes, con un único {@code JavaMailSender.send(...)} (una conexión SMTP)
+ * por lote. Los mails que fallan se reintentan según {@link RetryPolicy}.
+ */
+@Component
+public class EmailOutboxSender {
+
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final UserRepository userRepository;
+    private final JavaMailSender mailSender;
+    private final int batchSize;
+    private final RetryPolicy retryPolicy;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer batchTimer;
+    private final Timer deliveryDelay;
+
+    public EmailOutboxSender(EmailOutboxRepository emailOutboxRepository,
+                             UserRepository userRepository,
+                             JavaMailSender mailSender,
+                             MeterRegistry meterRegistry,
+                             @Value("${onboardme.mail.outbox.batch-size:50}") int batchSize,
+                             @Value("${onboardme.mail.outbox.max-attempts:8}") int maxAttempts,
+                             @Value("${onboardme.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+                             @Value("${onboardme.mail.outbox.max-backoff:1h}") Duration maxBackoff) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.userRepository = userRepository;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.retryPolicy = new RetryPolicy(maxAttempts, initialBackoff, maxBackoff);
+
+        this.sent = meterRegistry.counter("onboardme.mail.outbox.sent");
+        this.retried = meterRegistry.counter("onboardme.mail.outbox.failures", "final", "false");
+        this.failed = meterRegistry.counter("onboardme.mail.outbox.failures", "final", "true");
+        this.batchTimer = meterRegistry.timer("onboardme.mail.outbox.batch");
+        this.deliveryDelay = meterRegistry.timer("onboardme.mail.outbox.delay");
+    }
+
+    @Scheduled(fixedDelayString = "${onboardme.mail.outbox.poll-interval:5s}")
+    public void drain() {
+        int processed;
+        do {
+            processed = sendBatch();
+        } while (processed == batchSize);
+    }
+
+    /**
+     * Envía un lote de mails vencidos y devuelve cuántos tomó.
+     */
+    int sendBatch() {
+        List<EmailOutbox> due = emailOutboxRepository.findDue(new Date(), PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, String> passwords = findPasswords(due);
+        List<EmailOutbox> retry = new ArrayList<>();
+        List<EmailOutbox> toSend = new ArrayList<>(due.size());
+        for (EmailOutbox mail : due) {
+            if (mail.isCredentials() && !passwords.containsKey(mail.getRecipient())) {
+                // Sin usuario no hay contraseña que mandar: reintentar no cambia nada
+                discard(mail, "No existe el usuario " + mail.getRecipient());
+                retry.add(mail);
+            } else {
+                toSend.add(mail);
+            }
+        }
+
+        SimpleMailMessage[] messages = new SimpleMailMessage[toSend.size()];
+        for (int i = 0; i < toSend.size(); i++) {
+            messages[i] = toMessage(toSend.get(i), passwords);
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        Exception batchFailure = null;
+        long start = System.nanoTime();
+        try {
+            if (messages.length > 0) {
+                mailSender.send(messages);
+            }
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                batchFailure = e;
+            }
+        } catch (MailParseException | MailPreparationException e) {
+            // Un mail mal formado (p. ej. una dirección inválida) no debe frenar al resto del lote
+            failures = sendIndividually(messages);
+        } catch (MailException e) {
+            batchFailure = e;
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        Date now = new Date();
+        List<Long> sentIds = new ArrayList<>();
+        for (int i = 0; i < toSend.size(); i++) {
+            EmailOutbox mail = toSend.get(i);
+            Exception failure = batchFailure != null ? batchFailure : failures.get(messages[i]);
+            if (failure == null) {
+                sentIds.add(mail.getId());
+                sent.increment();
+                deliveryDelay.record(now.getTime() - mail.getCreatedAt().getTime(), TimeUnit.MILLISECONDS);
+            } else {
+                registerFailure(mail, failure, now);
+                retry.add(mail);
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            emailOutboxRepository.markSent(sentIds, now);
+        }
+        if (!retry.isEmpty()) {
+            emailOutboxRepository.saveAll(retry);
+        }
+        return due.size();
+    }
+
+    // Contraseña actual de cada destinatario de un mail de alta; si el email se repite gana el último usuario
+    private Map<String, String> findPasswords(List<EmailOutbox> mails) {
+        List<String> recipients = mails.stream().filter(EmailOutbox::isCredentials).map(EmailOutbox::getRecipient).distinct().toList();
+        Map<String, String> passwords = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (!recipients.isEmpty()) {
+            userRepository.findCredentials(recipients).forEach(row -> passwords.put(row.getEmail(), row.getPassword()));
+        }
+        return passwords;
+    }
+
+    private Map<Object, Exception> sendIndividually(SimpleMailMessage[] messages) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage message : messages) {
+            try {
+                mailSender.send(message);
+            } catch (MailException e) {
+                failures.put(message, e);
+            }
+        }
+        return failures;
+    }
+
+    private void registerFailure(EmailOutbox mail, Exception failure, Date now) {
+        if (retryPolicy.registerFailure(mail, failure, now)) {
+            mail.setStatus(EmailOutbox.FAILED);
+            failed.increment();
+            logger.log(Level.WARNING, "Se descarta el mail " + mail.getId() + " a " + mail.getRecipient()
+                    + " después de " + mail.getAttempts() + " intentos", failure);
+        } else {
+            retried.increment();
+        }
+    }
+
+    private void discard(EmailOutbox mail, String error) {
+        mail.setAttempts(mail.getAttempts() + 1);
+        mail.setLastError(error);
+        mail.setStatus(EmailOutbox.FAILED);
+        failed.increment();
+        logger.warning("Se descarta el mail " + mail.getId() + ": " + error);
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox mail, Map<String, String> passwords) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(EmailService.FROM);
+        message.setTo(mail.getRecipient());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.isCredentials()
+                ? mail.getBody().replace(EmailService.PASSWORD_PLACEHOLDER, String.valueOf(passwords.get(mail.getRecipient())))
+                : mail.getBody());
+        return message;
+    }
+}
@@ -1,30 +1,63 @@
 package org.onboardme.services;
 
+import org.onboardme.dao.entities.EmailOutbox;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.EmailOutboxJdbcRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Arma los mails de la plataforma y los deja en la tabla {@code email_outbox}; el envío por
+ * SMTP lo hace {@link EmailOutboxSender}.
+ */
 @Service
 public class EmailService {
 
+    static final String FROM = "juancruzcaggiano@gmail.com";
+
+    // Lugar de la contraseña en el mail de alta: EmailOutboxSender la completa al enviar, así no queda guardada en email_outbox
+    static final String PASSWORD_PLACEHOLDER = "{{contraseña}}";
+
     @Autowired
-    private JavaMailSender mailSender;
-
-    public void sendUserCreationEmail(String to, String firstName, String email, String password) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom("juancruzcaggiano@gmail.com");
-        message.setTo(to);
-        message.setSubject("Alta en la Plataforma OnboardMe");
-        message.setText("Estimado/a " + firstName + ",\n\n" +
+    private EmailOutboxJdbcRepository emailOutboxJdbcRepository;
+
+    /**
+     * Encola el mail de alta de cada usuario. Debe llamarse en la misma transacción que inserta
+     * los usuarios: si el alta se revierte, los mails también.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUserCreationEmails(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        emailOutboxJdbcRepository.insertAll(users.stream()
+                .map(user -> buildUserCreationEmail(user.getEmail(), user.getFirstName(), user.getEmail()))
+                .toList());
+    }
+
+    EmailOutbox buildUserCreationEmail(String to, String firstName, String email) {
+        Date now = new Date();
+        EmailOutbox mail = new EmailOutbox();
+        mail.setRecipient(to);
+        mail.setSubject("Alta en la Plataforma OnboardMe");
+        mail.setBody("Estimado/a " + firstName + ",\n\n" +
                 "Nos complace informarle que se le ha dado de alta en nuestra plataforma.\n" +
                 "Sus credenciales son las siguientes:\n\n" +
                 "Email: " + email + "\n" +
-                "Contraseña: " + password + "\n\n" +
+                "Contraseña: " + PASSWORD_PLACEHOLDER + "\n\n" +
                 "Por favor, ingrese a la plataforma y cambie su contraseña a la brevedad.\n\n" +
                 "Saludos cordiales,\n" +
                 "El equipo de soporte.");
-
-        mailSender.send(message);
+        mail.setStatus(EmailOutbox.PENDING);
+        mail.setAttempts(0);
+        mail.setNextAttemptAt(now);
+        mail.setCreatedAt(now);
+        mail.setCredentials(true);
+        return mail;
     }
 }
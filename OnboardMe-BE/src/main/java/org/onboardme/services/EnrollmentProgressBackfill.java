@@ -0,0 +1,62 @@
+package org.onboardme.services;
+
+import org.onboardme.dao.entities.Enrollment;
+import org.onboardme.dao.repositories.EnrollmentRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Completa el avance precalculado de las inscripciones creadas antes de que existieran las
+ * columnas Progreso / Cantidad_Secciones. Corre una vez al levantar la aplicación, en lotes
+ * con su propia transacción, y no hace nada si ya no quedan filas pendientes.
+ */
+@Component
+public class EnrollmentProgressBackfill {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final CoursesService coursesService;
+    private final TransactionTemplate transactionTemplate;
+
+    public EnrollmentProgressBackfill(EnrollmentRepository enrollmentRepository,
+                                      CoursesService coursesService,
+                                      PlatformTransactionManager transactionManager) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.coursesService = coursesService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Antes de MetricsRollupService.rebuild, que promedia el avance guardado
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        int total = 0;
+        int processed;
+        do {
+            processed = transactionTemplate.execute(status -> {
+                // refreshProgress siempre completa Cantidad_Secciones, así que cada lote sale de la consulta
+                List<Enrollment> pending = enrollmentRepository.findWithoutSectionCount(PageRequest.of(0, BATCH_SIZE));
+                pending.forEach(coursesService::refreshProgress);
+                enrollmentRepository.saveAll(pending);
+                return pending.size();
+            });
+            total += processed;
+        } while (processed == BATCH_SIZE);
+
+        if (total > 0) {
+            logger.info("Avance precalculado completado para " + total + " inscripciones");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.onboardme.services;
+
+import org.onboardme.dao.projections.SectionStats;
+import org.onboardme.dao.repositories.SectionRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Avance de inscripciones leídas como proyección: usa el avance precalculado y, solo para las
+ * inscripciones que todavía no lo tienen, lo calcula con el orden de la sección actual y la
+ * cantidad de secciones del curso.
+ */
+@Component
+public class EnrollmentProgressResolver {
+
+    /** Cantidad de secciones de un curso. */
+    public record CourseSections(int count) {}
+
+    private final SectionRepository sectionRepository;
+
+    public EnrollmentProgressResolver(SectionRepository sectionRepository) {
+        this.sectionRepository = sectionRepository;
+    }
+
+    /**
+     * Trae en una sola consulta la cantidad de secciones de los cursos indicados.
+     */
+    public Map<Long, CourseSections> loadCourseSections(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) return Map.of();
+
+        Map<Long, CourseSections> result = new HashMap<>();
+        for (Long courseId : courseIds) {
+            result.put(courseId, new CourseSections(0));
+        }
+        for (SectionStats stats : sectionRepository.findStatsByCourseIds(courseIds)) {
+            result.put(stats.getCourseId(), new CourseSections(stats.getCount().intValue()));
+        }
+        return result;
+    }
+
+    // Misma regla que CoursesService.getCourseProgress: el orden de la sección actual sobre la cantidad de secciones
+    public static double progressOf(Double stored, Integer sectionOrder, CourseSections sections) {
+        if (stored != null) return stored;
+        if (sections == null) return 0.0;
+        return CoursesService.computeProgress(sectionOrder != null ? sectionOrder : 0, sections.count());
+    }
+}
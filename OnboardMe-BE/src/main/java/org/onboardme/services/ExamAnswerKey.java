@@ -0,0 +1,101 @@
+package org.onboardme.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.onboardme.dao.entities.content.ExamContent;
+import org.onboardme.dao.entities.content.ExamOption;
+import org.onboardme.dao.entities.content.ExamQuestion;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Respuestas correctas de un examen, compiladas una sola vez a partir de sus preguntas y opciones
+ * y guardadas en la caché {@code examAnswerKeys}. Es inmutable: se comparte entre requests.
+ *
+ * <p>Cada pregunta guarda los ids de opciones correctas como un {@code long[]} ordenado, de modo
+ * que corregir una respuesta no crea colecciones: alcanza con búsquedas binarias y un recorrido
+ * de la selección.</p>
+ */
+@Getter
+@AllArgsConstructor
+public final class ExamAnswerKey {
+
+    private final Long examId;
+    private final Long courseId;
+    private final List<QuestionKey> questions;
+
+    public static ExamAnswerKey compile(ExamContent exam, Long courseId) {
+        QuestionKey[] questions = new QuestionKey[exam.getQuestions().size()];
+        int i = 0;
+        for (ExamQuestion question : exam.getQuestions()) {
+            questions[i++] = QuestionKey.compile(question);
+        }
+        return new ExamAnswerKey(exam.getId_content(), courseId, List.of(questions));
+    }
+
+    public static final class QuestionKey {
+
+        private final Long questionId;
+        private final long[] correct;
+        // Misma información en el orden de las opciones, para devolverla en ExamQuestionResultDTO
+        private final List<Long> correctOptionIds;
+
+        private QuestionKey(Long questionId, long[] correct, List<Long> correctOptionIds) {
+            this.questionId = questionId;
+            this.correct = correct;
+            this.correctOptionIds = correctOptionIds;
+        }
+
+        static QuestionKey compile(ExamQuestion question) {
+            Long[] ids = question.getOptions().stream()
+                    .filter(o -> Boolean.TRUE.equals(o.getCorrect()))
+                    .map(ExamOption::getId)
+                    .toArray(Long[]::new);
+            long[] sorted = Arrays.stream(ids).mapToLong(Long::longValue).sorted().distinct().toArray();
+            return new QuestionKey(question.getId(), sorted, Collections.unmodifiableList(Arrays.asList(ids)));
+        }
+
+        public Long getQuestionId() {
+            return questionId;
+        }
+
+        public List<Long> getCorrectOptionIds() {
+            return correctOptionIds;
+        }
+
+        /**
+         * Misma regla que comparar ambos lados como conjuntos: ignora el orden y los repetidos,
+         * y una opción inexistente o incorrecta invalida la respuesta.
+         */
+        public boolean isCorrect(List<Long> selected) {
+            if (selected == null || selected.isEmpty()) {
+                return correct.length == 0;
+            }
+            // Toda opción elegida tiene que ser correcta...
+            for (int i = 0, n = selected.size(); i < n; i++) {
+                Long id = selected.get(i);
+                if (id == null || Arrays.binarySearch(correct, id) < 0) {
+                    return false;
+                }
+            }
+            // ...y toda opción correcta tiene que haber sido elegida
+            for (long id : correct) {
+                if (!containsId(selected, id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean containsId(List<Long> selected, long id) {
+            for (int i = 0, n = selected.size(); i < n; i++) {
+                if (selected.get(i) == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
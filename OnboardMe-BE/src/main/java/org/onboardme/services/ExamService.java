@@ -3,37 +3,41 @@ package org.onboardme.services;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.onboardme.model.*;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
-import org.onboardme.dao.entities.Section;
 import org.onboardme.dao.entities.content.*;
 import org.onboardme.dao.repositories.ExamResultRepository;
-import org.onboardme.dao.repositories.SectionRepository;
 import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.util.*;
 
 @Service
+@Timed("onboardme.service")
 @RequiredArgsConstructor
 public class ExamService {
 
-    private final SectionRepository sectionRepository;
+    private final CourseStructureService courseStructureService;
     private final UserRepository userRepository;
     private final ExamResultRepository examResultRepository;
     private final CoursesService coursesService;
+    private final DomainEventPublisher domainEventPublisher;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public ExamResultDTO submitExam(Long sectionId, Long userId, ExamSubmissionDTO submission) {
-        Section section = sectionRepository.findById(sectionId)
-                .orElseThrow(() -> new EntityNotFoundException("Sección no encontrada"));
+    @PersistenceContext
+    private EntityManager entityManager;
 
-        if (!(section.getContent() instanceof ExamContent exam)) {
-            throw new IllegalArgumentException("La sección no posee examen");
-        }
+    @Transactional
+    public ExamResultDTO submitExam(Long sectionId, Long userId, ExamSubmissionDTO submission) {
+        ExamAnswerKey answerKey = courseStructureService.getExamAnswerKey(sectionId);
 
-        examResultRepository.findByUserAndExam(userId, exam.getId_content()).ifPresent(r -> {
+        examResultRepository.findByUserAndExam(userId, answerKey.getExamId()).ifPresent(r -> {
             throw new IllegalStateException("El examen ya fue completado");
         });
 
@@ -46,30 +50,26 @@ public class ExamService {
 
         List<ExamQuestionResultDTO> questionResults = new ArrayList<>();
         int score = 0;
-        for (ExamQuestion question : exam.getQuestions()) {
-            List<Long> selected = answersMap.getOrDefault(question.getId(), List.of());
-            List<Long> correctOptionIds = question.getOptions().stream()
-                    .filter(o -> Boolean.TRUE.equals(o.getCorrect()))
-                    .map(ExamOption::getId)
-                    .toList();
-            boolean correct = new HashSet<>(selected).equals(new HashSet<>(correctOptionIds));
+        for (ExamAnswerKey.QuestionKey question : answerKey.getQuestions()) {
+            List<Long> selected = answersMap.getOrDefault(question.getQuestionId(), List.of());
+            boolean correct = question.isCorrect(selected);
             if (correct) {
                 score++;
             }
             ExamQuestionResultDTO qr = new ExamQuestionResultDTO();
-            qr.setQuestionId(question.getId());
+            qr.setQuestionId(question.getQuestionId());
             qr.setSelectedOptionIds(selected);
-            qr.setCorrectOptionIds(correctOptionIds);
+            qr.setCorrectOptionIds(question.getCorrectOptionIds());
             qr.setCorrect(correct);
             questionResults.add(qr);
         }
 
         ExamResult result = new ExamResult();
-        result.setExam(exam);
+        result.setExam(entityManager.getReference(ExamContent.class, answerKey.getExamId()));
         result.setUser(userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("Usuario no encontrado")));
         result.setScore(score);
-        result.setTotalQuestions(exam.getQuestions().size());
+        result.setTotalQuestions(answerKey.getQuestions().size());
         result.setCompletedAt(new Date());
         try {
             result.setDetail(objectMapper.writeValueAsString(questionResults));
@@ -77,26 +77,28 @@ public class ExamService {
             throw new RuntimeException("Error serializando resultados", e);
         }
 
-        examResultRepository.save(result);
+        try {
+            examResultRepository.save(result);
+        } catch (DataIntegrityViolationException e) {
+            // Otro envío del mismo examen se guardó entre la consulta de arriba y este insert
+            throw new IllegalStateException("El examen ya fue completado");
+        }
 
-        coursesService.updateCourseProgress(section.getCourse().getId(), userId, sectionId);
+        coursesService.updateCourseProgress(answerKey.getCourseId(), userId, sectionId);
+        domainEventPublisher.publish(new DomainEvents.ExamSubmitted(userId, answerKey.getCourseId(), sectionId,
+                score, answerKey.getQuestions().size()));
 
         ExamResultDTO dto = new ExamResultDTO();
         dto.setScore(score);
-        dto.setTotalQuestions(exam.getQuestions().size());
+        dto.setTotalQuestions(answerKey.getQuestions().size());
         dto.setResults(questionResults);
         return dto;
     }
 
     public ExamResultDTO getExamResult(Long sectionId, Long userId) {
-        Section section = sectionRepository.findById(sectionId)
-                .orElseThrow(() -> new EntityNotFoundException("Sección no encontrada"));
-
-        if (!(section.getContent() instanceof ExamContent exam)) {
-            throw new IllegalArgumentException("La sección no posee examen");
-        }
+        ExamAnswerKey answerKey = courseStructureService.getExamAnswerKey(sectionId);
 
-        ExamResult result = examResultRepository.findByUserAndExam(userId, exam.getId_content())
+        ExamResult result = examResultRepository.findByUserAndExam(userId, answerKey.getExamId())
                 .orElseThrow(() -> new EntityNotFoundException("Resultado no encontrado"));
 
         List<ExamQuestionResultDTO> questionResults;
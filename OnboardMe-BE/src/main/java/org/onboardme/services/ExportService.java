@@ -0,0 +1,140 @@
+package org.onboardme.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.onboardme.dao.projections.CompletionExportRow;
+import org.onboardme.dao.projections.EnrollmentExportRow;
+import org.onboardme.dao.repositories.EnrollmentRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Exportaciones de inscripciones y de la métrica USER_COURSE_COMPLETION a CSV o NDJSON. Las filas
+ * se leen con un cursor y se escriben a medida que llegan, así que la memoria no depende de la
+ * cantidad de filas.
+ *
+ * <p>Cada exportación ocupa una conexión a la base mientras dura: {@code onboardme.exports.max-concurrent}
+ * limita cuántas corren a la vez. Métrica: {@code onboardme.exports.rows} (tag {@code export}).</p>
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * El formato pedido, sin distinguir mayúsculas, o null si no existe.
+         */
+        public static Format parse(String format) {
+            for (Format value : values()) {
+                if (value.name().equals(format.toUpperCase(Locale.ROOT))) {
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    static final List<String> ENROLLMENT_COLUMNS = List.of("userId", "firstName", "lastName", "email", "buddyId",
+            "courseId", "courseTitle", "status", "enrolledAt", "finishedDate", "progress");
+
+    static final List<String> COMPLETION_COLUMNS = List.of("userId", "firstName", "lastName", "email", "buddyId",
+            "completedCourses", "totalCourses", "completionPercentage");
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final Semaphore slots;
+    private final Counter enrollmentRows;
+    private final Counter completionRows;
+
+    public ExportService(EnrollmentRepository enrollmentRepository,
+                         UserRepository userRepository,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${onboardme.exports.max-concurrent:2}") int maxConcurrent) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(maxConcurrent);
+        this.enrollmentRows = meterRegistry.counter("onboardme.exports.rows", "export", "enrollments");
+        this.completionRows = meterRegistry.counter("onboardme.exports.rows", "export", "user-course-completion");
+    }
+
+    /**
+     * Reserva el lugar de una exportación; false si ya corren {@code max-concurrent}. Quien lo
+     * consigue tiene que llamar a {@link #release()} al terminar.
+     */
+    public boolean tryAcquire() {
+        return slots.tryAcquire();
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    /**
+     * Inscripciones, opcionalmente de un curso o de los empleados de un buddy, por empleado y curso.
+     */
+    @Transactional(readOnly = true)
+    public void exportEnrollments(Long idBuddy, Long idCourse, Format format, OutputStream out) throws IOException {
+        try (Stream<EnrollmentExportRow> rows = enrollmentRepository.streamForExport(idBuddy, idCourse);
+             ExportWriter writer = ExportWriter.of(format, ENROLLMENT_COLUMNS, out, objectMapper)) {
+            Iterator<EnrollmentExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                EnrollmentExportRow r = iterator.next();
+                writer.row(r.getUserId(), r.getFirstName(), r.getLastName(), r.getEmail(), r.getBuddyId(),
+                        r.getCourseId(), r.getCourseTitle(), r.getStatus(), r.getEnrolledAt(), r.getFinishedDate(),
+                        r.getProgress());
+                enrollmentRows.increment();
+            }
+        }
+    }
+
+    /**
+     * Una fila por empleado, opcionalmente de un buddy, con sus cursos completados y asignados. Es la
+     * métrica USER_COURSE_COMPLETION sin las etiquetas con {@code |}, ordenada por id de empleado.
+     */
+    @Transactional(readOnly = true)
+    public void exportUserCourseCompletion(Long idBuddy, Format format, OutputStream out) throws IOException {
+        try (Stream<CompletionExportRow> rows = userRepository.streamCompletionForExport(idBuddy);
+             ExportWriter writer = ExportWriter.of(format, COMPLETION_COLUMNS, out, objectMapper)) {
+            Iterator<CompletionExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                CompletionExportRow r = iterator.next();
+                long percentage = r.getTotal() > 0 ? Math.round(r.getCompleted() * 100.0 / r.getTotal()) : 0;
+                writer.row(r.getUserId(), r.getFirstName(), r.getLastName(), r.getEmail(), r.getBuddyId(),
+                        r.getCompleted(), r.getTotal(), percentage);
+                completionRows.increment();
+            }
+        }
+    }
+}
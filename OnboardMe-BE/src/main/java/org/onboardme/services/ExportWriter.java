@@ -0,0 +1,150 @@
+package org.onboardme.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Escribe filas de una exportación de a una, sin juntarlas en memoria. Los valores pueden ser
+ * {@code String}, números, {@code Date} (ISO-8601 en UTC) o null.
+ */
+abstract class ExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final List<String> columns;
+
+    private ExportWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    static ExportWriter of(ExportService.Format format, List<String> columns, OutputStream out,
+                           ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(columns, out);
+            case NDJSON -> new Ndjson(columns, out, objectMapper);
+        };
+    }
+
+    abstract void row(Object... values) throws IOException;
+
+    /**
+     * CSV según RFC 4180, con BOM para que Excel lea los acentos. Los textos que empiezan con
+     * {@code = + - @}, tabulación o retorno de carro (la lista de OWASP para CSV injection) se
+     * escriben con un {@code '} adelante para que la planilla no los evalúe como fórmulas.
+     */
+    private static final class Csv extends ExportWriter {
+
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        private final Writer writer;
+
+        Csv(List<String> columns, OutputStream out) throws IOException {
+            super(columns);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write('\uFEFF');
+            writeLine(columns.toArray());
+        }
+
+        @Override
+        void row(Object... values) throws IOException {
+            writeLine(values);
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeValue(values[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Date date) {
+                writer.write(date.toInstant().toString());
+                return;
+            }
+            if (!(value instanceof String text)) {
+                writer.write(value.toString());
+                return;
+            }
+            if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Un objeto JSON por línea, con las columnas como claves.
+     */
+    private static final class Ndjson extends ExportWriter {
+
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        Ndjson(List<String> columns, OutputStream out, ObjectMapper objectMapper) throws IOException {
+            super(columns);
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        void row(Object... values) throws IOException {
+            empty = false;
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof String text) {
+                    generator.writeString(text);
+                } else if (value instanceof Long || value instanceof Integer) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else if (value instanceof Double number) {
+                    generator.writeNumber(number);
+                } else if (value instanceof Date date) {
+                    generator.writeString(date.toInstant().toString());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.onboardme.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Almacén local de documentos direccionado por contenido: cada archivo se guarda una sola vez
+ * con el nombre {@code <sha256>.<extensión>} (en subcarpetas por los dos primeros caracteres del
+ * hash), así el mismo PDF adjuntado a varias secciones ocupa disco una vez y su URL nunca cambia.
+ *
+ * <p>La subida se copia en streaming a un temporal mientras se calcula el hash y después se mueve
+ * de forma atómica a su nombre definitivo; si ese archivo ya existía, el temporal se descarta.</p>
+ */
+@Service
+public class FileStoreService {
+
+    public static final String URL_PREFIX = "/files/";
+
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]{1,10}");
+
+    private final Path root;
+    private final Set<String> allowedExtensions;
+
+    public FileStoreService(@Value("${onboardme.files.dir}") Path root,
+                            @Value("${onboardme.files.allowed-extensions}") List<String> allowedExtensions) {
+        this.root = root.toAbsolutePath().normalize();
+        this.allowedExtensions = allowedExtensions.stream()
+                .map(ext -> ext.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Guarda el archivo y devuelve su nombre en el almacén ({@code <sha256>.<extensión>}).
+     */
+    public String store(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Debe adjuntar un archivo");
+        }
+        String extension = StringUtils.getFilenameExtension(file.getOriginalFilename());
+        extension = extension != null ? extension.toLowerCase(Locale.ROOT) : null;
+        if (extension == null || !allowedExtensions.contains(extension)) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                    "Tipo de archivo no permitido: " + file.getOriginalFilename());
+        }
+
+        Path temp = null;
+        try {
+            Files.createDirectories(root);
+            temp = Files.createTempFile(root, "upload-", ".tmp");
+            MessageDigest digest = sha256();
+            try (InputStream in = file.getInputStream();
+                 OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                in.transferTo(out);
+            }
+
+            String name = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            Path target = pathOf(name);
+            // Si el mismo contenido ya estaba guardado se conserva el existente (y su Last-Modified)
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return name;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el archivo " + file.getOriginalFilename(), e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Archivo guardado con ese nombre, o null si el nombre no es válido o no existe.
+     */
+    public Path find(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches()) {
+            return null;
+        }
+        Path path = pathOf(name);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    public static String urlOf(String name) {
+        return URL_PREFIX + name;
+    }
+
+    private Path pathOf(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Temporal huérfano: no afecta al archivo guardado
+        }
+    }
+}
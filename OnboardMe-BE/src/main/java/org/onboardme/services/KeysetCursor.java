@@ -0,0 +1,56 @@
+package org.onboardme.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginación por keyset: codifica el valor de la columna de orden
+ * y el id de la última fila devuelta, de modo que la página siguiente arranque
+ * justo después sin usar OFFSET.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final String key;
+    private final Long id;
+
+    private KeysetCursor(String key, Long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static String encode(String key, Long id) {
+        String raw = (key == null ? "" : key) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(raw.substring(0, idx), Long.parseLong(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido: " + cursor);
+        }
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public long getKeyAsLong() {
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido para este orden");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.onboardme.services;
+
+import org.onboardme.dao.repositories.EnrollmentRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mantiene {@code metrica_resumen} al día con los cambios de inscripciones: junta los cursos y
+ * buddies afectados por el lote y los recalcula de una vez.
+ */
+@Component
+public class MetricsRollupHandler implements DomainEventHandler {
+
+    private final MetricsRollupService rollupService;
+    private final UserRepository userRepository;
+    private final EnrollmentRepository enrollmentRepository;
+
+    public MetricsRollupHandler(MetricsRollupService rollupService,
+                                UserRepository userRepository,
+                                EnrollmentRepository enrollmentRepository) {
+        this.rollupService = rollupService;
+        this.userRepository = userRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    @Override
+    public void handle(List<DomainEvents.Event> events) {
+        Set<Long> courseIds = new HashSet<>();
+        Set<Long> restructuredIds = new HashSet<>();
+        Set<Long> buddyIds = new HashSet<>();
+        // Empleados cuyo buddy hay que buscar
+        Set<Long> userIds = new HashSet<>();
+
+        for (DomainEvents.Event event : events) {
+            if (event instanceof DomainEvents.CourseAssigned assigned) {
+                courseIds.add(assigned.courseId());
+                userIds.add(assigned.userId());
+            } else if (event instanceof DomainEvents.CourseProgressed progressed) {
+                courseIds.add(progressed.courseId());
+                userIds.add(progressed.userId());
+            } else if (event instanceof DomainEvents.CourseCompleted completed) {
+                courseIds.add(completed.courseId());
+                userIds.add(completed.userId());
+            } else if (event instanceof DomainEvents.CourseRestructured restructured) {
+                restructuredIds.add(restructured.courseId());
+            } else if (event instanceof DomainEvents.BuddyAssigned buddyAssigned) {
+                buddyIds.add(buddyAssigned.buddyId());
+                if (buddyAssigned.previousBuddyId() != null) {
+                    buddyIds.add(buddyAssigned.previousBuddyId());
+                }
+            }
+        }
+
+        if (!userIds.isEmpty()) {
+            buddyIds.addAll(userRepository.findBuddyIds(userIds));
+        }
+        if (!restructuredIds.isEmpty()) {
+            // Cambió el avance de todas las inscripciones del curso
+            courseIds.addAll(restructuredIds);
+            buddyIds.addAll(enrollmentRepository.findBuddyIdsByCourseIds(restructuredIds));
+        }
+        rollupService.refresh(courseIds, buddyIds);
+    }
+}
@@ -0,0 +1,184 @@
+package org.onboardme.services;
+
+import org.onboardme.dao.entities.MetricRollup;
+import org.onboardme.dao.entities.MetricSnapshot;
+import org.onboardme.dao.projections.RollupRow;
+import org.onboardme.dao.repositories.EnrollmentRepository;
+import org.onboardme.dao.repositories.MetricRollupRepository;
+import org.onboardme.dao.repositories.MetricSnapshotRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene {@code metrica_resumen} (agregados por curso y por buddy) y su foto diaria en
+ * {@code metrica_historial}.
+ *
+ * <p>{@link MetricsRollupHandler} llama a {@link #refresh} con los cursos y buddies que tocó cada lote
+ * de eventos: se recalcula la fila entera de cada clave con un GROUP BY sobre sus inscripciones en vez
+ * de sumar diferencias, así un lote reprocesado deja el mismo resultado. Al arrancar y antes de cada
+ * foto diaria se recalcula todo, lo que corrige cualquier cambio que no haya pasado por un evento.
+ * Ese recálculo corre con {@link DomainEventProcessor#exclusively} para no pisarse con un lote que esté
+ * actualizando las mismas filas.</p>
+ */
+@Service
+public class MetricsRollupService {
+
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final MetricRollupRepository rollupRepository;
+    private final MetricSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Provider: el procesador llega a este servicio a través de sus handlers
+    private final ObjectProvider<DomainEventProcessor> domainEventProcessor;
+    private final int trendDays;
+
+    public MetricsRollupService(EnrollmentRepository enrollmentRepository,
+                                MetricRollupRepository rollupRepository,
+                                MetricSnapshotRepository snapshotRepository,
+                                PlatformTransactionManager transactionManager,
+                                ObjectProvider<DomainEventProcessor> domainEventProcessor,
+                                @Value("${onboardme.metrics.trend-days:90}") int trendDays) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.rollupRepository = rollupRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.domainEventProcessor = domainEventProcessor;
+        this.trendDays = trendDays;
+    }
+
+    /**
+     * Recalcula las filas de los cursos y buddies indicados. Corre en la transacción del que llama.
+     */
+    @Transactional
+    public void refresh(Collection<Long> courseIds, Collection<Long> buddyIds) {
+        if (!courseIds.isEmpty()) {
+            apply(MetricRollup.COURSE, rollupRepository.findByKeys(MetricRollup.COURSE, courseIds),
+                    enrollmentRepository.rollupByCourse(false, courseIds), courseIds);
+        }
+        if (!buddyIds.isEmpty()) {
+            apply(MetricRollup.BUDDY, rollupRepository.findByKeys(MetricRollup.BUDDY, buddyIds),
+                    enrollmentRepository.rollupByBuddy(false, buddyIds), buddyIds);
+        }
+    }
+
+    // Después de EnrollmentProgressBackfill, que completa el avance guardado de las inscripciones viejas
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void rebuild() {
+        domainEventProcessor.getObject().exclusively(() -> transactionTemplate.execute(status -> {
+            rebuildAll();
+            return null;
+        }));
+    }
+
+    @Scheduled(cron = "${onboardme.metrics.snapshot-cron:0 5 0 * * *}")
+    public void dailySnapshot() {
+        // Pasada la medianoche: la foto es el cierre del día anterior
+        snapshot(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * Recalcula todo y guarda la foto de {@code day}, reemplazando la que hubiera de ese día.
+     */
+    public void snapshot(LocalDate day) {
+        int rows = domainEventProcessor.getObject().exclusively(() -> transactionTemplate.execute(status -> {
+            rebuildAll();
+            snapshotRepository.deleteByDay(day);
+            return snapshotRepository.copyRollups(day);
+        }));
+        logger.info("Foto de métricas del " + day + ": " + rows + " filas");
+    }
+
+    /**
+     * Fotos diarias de los últimos {@code trend-days} días, más el estado actual con la fecha de hoy.
+     */
+    @Transactional(readOnly = true)
+    public List<MetricSnapshot> getTrend(String dimension, Long keyId) {
+        LocalDate today = LocalDate.now();
+        List<MetricSnapshot> trend = new ArrayList<>(
+                snapshotRepository.findTrend(dimension, keyId, today.minusDays(trendDays)));
+        trend.removeIf(snapshot -> !snapshot.getDay().isBefore(today));
+
+        Optional<MetricRollup> current = rollupRepository.findByKey(dimension, keyId);
+        current.ifPresent(rollup -> trend.add(toSnapshot(rollup, today)));
+        return trend;
+    }
+
+    private void rebuildAll() {
+        List<RollupRow> courses = enrollmentRepository.rollupByCourse(true, List.of());
+        apply(MetricRollup.COURSE, rollupRepository.findByDimension(MetricRollup.COURSE), courses, List.of());
+        List<RollupRow> buddies = enrollmentRepository.rollupByBuddy(true, List.of());
+        apply(MetricRollup.BUDDY, rollupRepository.findByDimension(MetricRollup.BUDDY), buddies, List.of());
+    }
+
+    /**
+     * Actualiza {@code existing} con {@code rows} y crea las filas que falten. Las claves de
+     * {@code existing} o {@code keyIds} sin inscripciones quedan en cero.
+     */
+    private void apply(String dimension, List<MetricRollup> existing, List<RollupRow> rows, Collection<Long> keyIds) {
+        Map<Long, RollupRow> byKey = rows.stream()
+                .collect(Collectors.toMap(RollupRow::getKeyId, Function.identity()));
+        Map<Long, MetricRollup> rollups = existing.stream()
+                .collect(Collectors.toMap(MetricRollup::getKeyId, Function.identity()));
+
+        Set<Long> keys = new LinkedHashSet<>(keyIds);
+        keys.addAll(rollups.keySet());
+        keys.addAll(byKey.keySet());
+
+        Date now = new Date();
+        List<MetricRollup> created = new ArrayList<>();
+        for (Long key : keys) {
+            MetricRollup rollup = rollups.get(key);
+            if (rollup == null) {
+                rollup = new MetricRollup(dimension, key);
+                created.add(rollup);
+            }
+            RollupRow row = byKey.get(key);
+            rollup.setAssigned(row != null ? row.getAssigned().intValue() : 0);
+            rollup.setInProgress(row != null ? row.getInProgress().intValue() : 0);
+            rollup.setFinished(row != null ? row.getFinished().intValue() : 0);
+            rollup.setAverageProgress(row != null ? row.getAverageProgress() : 0.0);
+            rollup.setAverageDaysToFinish(row != null && row.getAverageSecondsToFinish() != null
+                    ? row.getAverageSecondsToFinish() / (60 * 60 * 24)
+                    : null);
+            rollup.setUpdatedAt(now);
+        }
+        rollupRepository.saveAll(created);
+    }
+
+    private static MetricSnapshot toSnapshot(MetricRollup rollup, LocalDate day) {
+        MetricSnapshot snapshot = new MetricSnapshot();
+        snapshot.setDay(day);
+        snapshot.setDimension(rollup.getDimension());
+        snapshot.setKeyId(rollup.getKeyId());
+        snapshot.setAssigned(rollup.getAssigned());
+        snapshot.setInProgress(rollup.getInProgress());
+        snapshot.setFinished(rollup.getFinished());
+        snapshot.setAverageProgress(rollup.getAverageProgress());
+        snapshot.setAverageDaysToFinish(rollup.getAverageDaysToFinish());
+        return snapshot;
+    }
+}
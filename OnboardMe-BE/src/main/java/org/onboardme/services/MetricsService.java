@@ -3,35 +3,45 @@ package org.onboardme.services;
 import com.onboardme.model.DataPointDTO;
 import com.onboardme.model.GenericMetricDTO;
 import com.onboardme.model.MetricTypeDTO;
-import org.onboardme.dao.entities.Course;
-import org.onboardme.dao.entities.Enrollment;
-import org.onboardme.dao.entities.User;
+import org.onboardme.dao.entities.MetricRollup;
+import org.onboardme.dao.entities.MetricSnapshot;
+import org.onboardme.dao.projections.UserCourseCompletionRow;
 import org.onboardme.dao.repositories.EnrollmentRepository;
+import org.onboardme.dao.repositories.SectionRepository;
 import org.onboardme.dao.repositories.UserRepository;
+import org.onboardme.services.EnrollmentProgressResolver.CourseSections;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("onboardme.service")
 public class MetricsService {
 
     private final EnrollmentRepository enrollmentRepo;
     private final UserRepository userRepo;
-    private final CoursesService coursesService;
+    private final SectionRepository sectionRepo;
+    private final EnrollmentProgressResolver progressResolver;
+    private final MetricsRollupService rollupService;
 
     public MetricsService(
             EnrollmentRepository enrollmentRepo,
             UserRepository userRepo,
-            CoursesService coursesService
+            SectionRepository sectionRepo,
+            EnrollmentProgressResolver progressResolver,
+            MetricsRollupService rollupService
     ) {
         this.enrollmentRepo = enrollmentRepo;
         this.userRepo = userRepo;
-        this.coursesService = coursesService;
+        this.sectionRepo = sectionRepo;
+        this.progressResolver = progressResolver;
+        this.rollupService = rollupService;
     }
 
     public GenericMetricDTO getMetric(MetricTypeDTO type, Long idBuddy, Long idCourse) {
@@ -43,27 +53,26 @@ public class MetricsService {
                     throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                             "idUser (courseId) es obligatorio para COURSE_USER_PROGRESS");
                 }
-                var enrollments = enrollmentRepo.findByCourseAndOptionalBuddy(idCourse, idBuddy);
+                // Una fila por inscripción con el orden de la sección actual y la cantidad de secciones precalculada
+                var rows = enrollmentRepo.findCourseUserProgress(idCourse, idBuddy);
 
-                final long totalSections = Math.max(1L, enrollments.stream()
+                final long totalSections = Math.max(1L, rows.stream()
                         .findFirst()
-                        .map(e -> (long) (e.getCourse() != null && e.getCourse().getSections() != null
-                                ? e.getCourse().getSections().size()
-                                : 0))
+                        .map(r -> r.getSectionCount() != null
+                                ? (long) r.getSectionCount()
+                                : sectionRepo.countByCourseId(idCourse))
                         .orElse(0L));
 
-                points = enrollments.stream().map(e -> {
+                points = rows.stream().map(r -> {
                     double pct;
-                    if (e.getFinishedDate() != null) {
+                    if (r.getFinishedDate() != null) {
                         pct = 100.0;
-                    } else if (e.getSection() == null) {
+                    } else if (r.getSectionOrder() == null) {
                         pct = 0.0;
                     } else {
-                        int currentOrder = 0;
-                        try { currentOrder = Integer.parseInt(e.getSection().getOrder()); } catch (Exception ignore) {}
-                        pct = Math.max(0.0, Math.min(100.0, (currentOrder * 100.0) / totalSections));
+                        pct = Math.max(0.0, Math.min(100.0, (r.getSectionOrder() * 100.0) / totalSections));
                     }
-                    String fullName = e.getUser().getFirstName() + " " + e.getUser().getLastName();
+                    String fullName = r.getFirstName() + " " + r.getLastName();
                     return new DataPointDTO()
                             .label(fullName)
                             .value(BigDecimal.valueOf(pct));
@@ -93,11 +102,10 @@ public class MetricsService {
             }
 
             case USER_COURSE_COMPLETION -> {
-                List<User> users = (idBuddy != null)
-                        ? userRepo.findByBuddyId(idBuddy)
-                        : userRepo.findAll();
-
-                users = users.stream().filter(Objects::nonNull).collect(Collectors.toList());
+                // Una sola consulta trae usuarios + inscripciones con su avance precalculado (y, solo para las
+                // inscripciones sin avance guardado, otra los órdenes de sección); el resto se arma en memoria.
+                List<UserCourseCompletionRow> rows = userRepo.findCourseCompletionRows(idBuddy);
+                Map<Long, CourseSections> sectionsByCourse = loadCourseSections(rows);
 
                 class UItem {
                     long userId;
@@ -105,40 +113,32 @@ public class MetricsService {
                     int completed;
                     int total;
                     double pct; // 0..100
-                    List<Enrollment> enrollments;
+                    List<UserCourseCompletionRow> enrollments = new ArrayList<>();
+                    List<Double> progress = new ArrayList<>();
                 }
 
                 List<UItem> items = new ArrayList<>();
-
-                for (User u : users) {
-                    List<Enrollment> enrolls = u.getEnrollments();
-                    if (enrolls == null) enrolls = List.of();
-
-                    int total = enrolls.size();
-                    int completed = 0;
-
-                    for (Enrollment e : enrolls) {
-                        double p = 0.0;
-                        try {
-                            Course c = e.getCourse();
-                            if (c != null) {
-                                p = safeProgress(c.getId(), u.getId());
-                            }
-                        } catch (Exception ignore) {}
-                        boolean done = isCompletedByRule(e, p);
-                        if (done) completed++;
+                UItem current = null;
+
+                for (UserCourseCompletionRow r : rows) {
+                    if (current == null || current.userId != r.getUserId()) {
+                        current = new UItem();
+                        current.userId = r.getUserId();
+                        current.fullName = ((r.getFirstName() == null ? "" : r.getFirstName()) + " " +
+                                (r.getLastName() == null ? "" : r.getLastName())).trim();
+                        items.add(current);
                     }
+                    if (r.getCourseId() == null) continue;
 
-                    UItem it = new UItem();
-                    it.userId = u.getId();
-                    it.fullName = ((u.getFirstName() == null ? "" : u.getFirstName()) + " " +
-                            (u.getLastName() == null ? "" : u.getLastName())).trim();
-                    it.total = total;
-                    it.completed = completed;
-                    it.pct = (total > 0) ? (completed * 100.0 / total) : 0.0;
-                    it.enrollments = enrolls;
+                    double p = progressOf(r, sectionsByCourse.get(r.getCourseId()));
+                    current.enrollments.add(r);
+                    current.progress.add(p);
+                    current.total++;
+                    if (isCompletedByRule(r.getFinishedDate(), r.getStatus(), p)) current.completed++;
+                }
 
-                    items.add(it);
+                for (UItem it : items) {
+                    it.pct = (it.total > 0) ? (it.completed * 100.0 / it.total) : 0.0;
                 }
 
                 items.sort(Comparator
@@ -159,14 +159,12 @@ public class MetricsService {
                             .value(BigDecimal.valueOf(Math.round(Math.max(0, Math.min(100, it.pct))))));
 
                     if (it.total == 0 || it.completed < it.total) {
-                        for (Enrollment e : it.enrollments) {
-                            double p = 0.0;
-                            Course c = e.getCourse();
-                            if (c == null) continue;
-                            try { p = safeProgress(c.getId(), it.userId); } catch (Exception ignore) {}
-                            if (!isCompletedByRule(e, p)) {
+                        for (int i = 0; i < it.enrollments.size(); i++) {
+                            UserCourseCompletionRow e = it.enrollments.get(i);
+                            double p = it.progress.get(i);
+                            if (!isCompletedByRule(e.getFinishedDate(), e.getStatus(), p)) {
                                 out.add(new DataPointDTO()
-                                        .label("MISSING|" + it.userId + "|" + c.getId() + "|" + esc(c.getTitle()))
+                                        .label("MISSING|" + it.userId + "|" + e.getCourseId() + "|" + esc(e.getCourseTitle()))
                                         .value(BigDecimal.valueOf(Math.round(Math.max(0, Math.min(100, p))))));
                             }
                         }
@@ -176,6 +174,23 @@ public class MetricsService {
                 points = out;
             }
 
+            // Tendencias: salen de metrica_historial y metrica_resumen, sin recorrer inscripciones
+            case COURSE_TREND -> {
+                if (idCourse == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "idCourse es obligatorio para COURSE_TREND");
+                }
+                points = trendPoints(rollupService.getTrend(MetricRollup.COURSE, idCourse));
+            }
+
+            case BUDDY_TREND -> {
+                if (idBuddy == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "idBuddy es obligatorio para BUDDY_TREND");
+                }
+                points = trendPoints(rollupService.getTrend(MetricRollup.BUDDY, idBuddy));
+            }
+
             default -> throw new IllegalArgumentException("Métrica no soportada: " + type);
         }
 
@@ -184,20 +199,42 @@ public class MetricsService {
                 .data(points);
     }
 
-    private boolean isCompletedByRule(Enrollment e, double courseProgressPct) {
-        if (e.getFinishedDate() != null) return true;
-        String status = e.getStatus();
+    private List<DataPointDTO> trendPoints(List<MetricSnapshot> trend) {
+        List<DataPointDTO> out = new ArrayList<>(trend.size() * 5);
+        for (MetricSnapshot s : trend) {
+            String day = s.getDay() + "|";
+            out.add(new DataPointDTO().label(day + "ASSIGNED").value(BigDecimal.valueOf(s.getAssigned())));
+            out.add(new DataPointDTO().label(day + "IN_PROGRESS").value(BigDecimal.valueOf(s.getInProgress())));
+            out.add(new DataPointDTO().label(day + "FINISHED").value(BigDecimal.valueOf(s.getFinished())));
+            out.add(new DataPointDTO().label(day + "AVG_PROGRESS").value(oneDecimal(s.getAverageProgress())));
+            if (s.getAverageDaysToFinish() != null) {
+                out.add(new DataPointDTO().label(day + "AVG_DAYS_TO_FINISH").value(oneDecimal(s.getAverageDaysToFinish())));
+            }
+        }
+        return out;
+    }
+
+    private static BigDecimal oneDecimal(double value) {
+        return BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP);
+    }
+
+    private boolean isCompletedByRule(Date finishedDate, String status, double courseProgressPct) {
+        if (finishedDate != null) return true;
         if (status != null && "COMPLETADO".equalsIgnoreCase(status.trim())) return true;
         return courseProgressPct >= 100.0;
     }
 
-    private double safeProgress(Long courseId, Long userId) {
-        try {
-            Double v = coursesService.getCourseProgress(courseId, userId);
-            return v == null ? 0.0 : v;
-        } catch (EntityNotFoundException ex) {
-            return 0.0;
-        }
+    private Map<Long, CourseSections> loadCourseSections(List<UserCourseCompletionRow> rows) {
+        Set<Long> courseIds = rows.stream()
+                .filter(r -> r.getProgress() == null)
+                .map(UserCourseCompletionRow::getCourseId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return progressResolver.loadCourseSections(courseIds);
+    }
+
+    private double progressOf(UserCourseCompletionRow row, CourseSections sections) {
+        return EnrollmentProgressResolver.progressOf(row.getProgress(), row.getSectionOrder(), sections);
     }
 
     private String esc(String s) {
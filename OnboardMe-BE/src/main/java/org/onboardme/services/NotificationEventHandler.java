@@ -0,0 +1,119 @@
+package org.onboardme.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.onboardme.dao.entities.Notification;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.projections.TitleRow;
+import org.onboardme.dao.projections.UserBuddyRow;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.SectionRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Notificaciones de los eventos de dominio: al empleado cuando se le asigna un curso y a su buddy
+ * cuando termina un curso o envía un examen. Los nombres y títulos de todo el lote salen de una
+ * consulta por tabla.
+ */
+@Component
+public class NotificationEventHandler implements DomainEventHandler {
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final SectionRepository sectionRepository;
+    private final NotificationService notificationService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public NotificationEventHandler(UserRepository userRepository,
+                                    CourseRepository courseRepository,
+                                    SectionRepository sectionRepository,
+                                    NotificationService notificationService) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.sectionRepository = sectionRepository;
+        this.notificationService = notificationService;
+    }
+
+    @Override
+    public void handle(List<DomainEvents.Event> events) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        Set<Long> sectionIds = new HashSet<>();
+        for (DomainEvents.Event event : events) {
+            if (event instanceof DomainEvents.CourseAssigned assigned) {
+                userIds.add(assigned.userId());
+                courseIds.add(assigned.courseId());
+            } else if (event instanceof DomainEvents.CourseCompleted completed) {
+                userIds.add(completed.userId());
+                courseIds.add(completed.courseId());
+            } else if (event instanceof DomainEvents.ExamSubmitted exam) {
+                userIds.add(exam.userId());
+                courseIds.add(exam.courseId());
+                sectionIds.add(exam.sectionId());
+            }
+        }
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, UserBuddyRow> users = userRepository.findBuddyRows(userIds).stream()
+                .collect(Collectors.toMap(UserBuddyRow::getId, Function.identity()));
+        Map<Long, String> courses = titles(courseIds.isEmpty() ? List.of() : courseRepository.findTitles(courseIds));
+        Map<Long, String> sections = titles(sectionIds.isEmpty() ? List.of() : sectionRepository.findTitles(sectionIds));
+
+        List<Notification> notifications = new ArrayList<>();
+        for (DomainEvents.Event event : events) {
+            UserBuddyRow user = users.get(event.userId());
+            if (user == null) {
+                continue;
+            }
+            if (event instanceof DomainEvents.CourseAssigned assigned) {
+                notifications.add(notification(user.getId(), "CURSO ASIGNADO",
+                        "Hola, " + user.getFirstName() + " " + user.getLastName() +
+                        " se te ha asignado un nuevo curso: " + courses.get(assigned.courseId())));
+            } else if (user.getBuddyId() == null) {
+                continue;
+            } else if (event instanceof DomainEvents.CourseCompleted completed) {
+                notifications.add(notification(user.getBuddyId(), "CURSO FINALIZADO",
+                        greetBuddy(user) + " ha finalizado el curso: " + courses.get(completed.courseId())));
+            } else if (event instanceof DomainEvents.ExamSubmitted exam) {
+                notifications.add(notification(user.getBuddyId(), "EXAMEN COMPLETADO",
+                        greetBuddy(user) + " completó el examen de la sección " + sections.get(exam.sectionId()) +
+                        " del curso " + courses.get(exam.courseId()) + " con " + exam.score() + " de " +
+                        exam.totalQuestions() + " respuestas correctas"));
+            }
+        }
+        notificationService.sendAll(notifications);
+    }
+
+    private static String greetBuddy(UserBuddyRow user) {
+        return "Hola, " + user.getBuddyFirstName() + " " + user.getBuddyLastName() +
+                " te informamos que el usuario " + user.getFirstName() + " " + user.getLastName();
+    }
+
+    private Notification notification(Long userId, String title, String message) {
+        Notification notification = new Notification();
+        notification.setUser(entityManager.getReference(User.class, userId));
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setSentDate(new Date());
+        notification.setSeen(false);
+        return notification;
+    }
+
+    private static Map<Long, String> titles(List<TitleRow> rows) {
+        return rows.stream().collect(Collectors.toMap(TitleRow::getId, TitleRow::getTitle));
+    }
+}
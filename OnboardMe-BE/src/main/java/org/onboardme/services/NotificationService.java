@@ -1,38 +1,131 @@
 package org.onboardme.services;
 
+import com.onboardme.model.MarkNotificationsReadDTO;
+import com.onboardme.model.NotificationCountDTO;
 import com.onboardme.model.NotificationDTO;
+import com.onboardme.model.NotificationPageDTO;
 import jakarta.persistence.EntityNotFoundException;
 import org.onboardme.dao.entities.Notification;
 import org.onboardme.dao.repositories.NotificationRepository;
 import org.onboardme.transformers.NotificationTransformer;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("onboardme.service")
 public class NotificationService {
 
+    private static final int PAGE_DEFAULT_SIZE = 20;
+    private static final int PAGE_MAX_SIZE = 100;
+
+    /** Notificación recién guardada. */
+    public record NotificationSaved(Notification notification) {}
+
+    /** Cambió la cantidad de notificaciones sin leer del usuario. */
+    public record UnreadCountChanged(Long userId) {}
+
     @Autowired
     NotificationRepository notificationRepository;
 
     @Autowired
     NotificationTransformer notificationTransformer;
 
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Guarda la notificación y la publica como {@link NotificationSaved}, que
+     * {@link NotificationStreamService} envía a las conexiones abiertas del usuario.
+     */
+    public Notification send(Notification notification) {
+        Notification saved = notificationRepository.save(notification);
+        eventPublisher.publishEvent(new NotificationSaved(saved));
+        return saved;
+    }
+
+    /**
+     * Como {@link #send}, para varias notificaciones.
+     */
+    public List<Notification> sendAll(List<Notification> notifications) {
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        saved.forEach(notification -> eventPublisher.publishEvent(new NotificationSaved(notification)));
+        return saved;
+    }
+
     public List<NotificationDTO> getNotificationsByUser(Long userId) {
-        List<Notification> notifications = notificationRepository.findByUserId(userId);
+        List<Notification> notifications = notificationRepository.findByUserIdOrderBySentDateDescIdDesc(userId);
 
         return notifications.stream()
                 .map(notificationTransformer::buildNotificationResponse)
                 .collect(Collectors.toList());
     }
 
+    public NotificationPageDTO getNotificationPage(Long userId, Boolean unreadOnly, String cursor, Integer size) {
+        int pageSize = (size == null || size <= 0) ? PAGE_DEFAULT_SIZE : Math.min(size, PAGE_MAX_SIZE);
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+
+        // Pido una fila de más para saber si existe una página siguiente
+        List<Notification> rows = notificationRepository.findPageByUserId(userId,
+                Boolean.TRUE.equals(unreadOnly),
+                after != null ? new Date(after.getKeyAsLong()) : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1));
+
+        NotificationPageDTO page = new NotificationPageDTO();
+        List<Notification> items = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        page.setItems(items.stream().map(notificationTransformer::buildNotificationResponse).toList());
+
+        if (rows.size() > pageSize) {
+            Notification last = items.get(items.size() - 1);
+            page.setNextCursor(KeysetCursor.encode(String.valueOf(last.getSentDate().getTime()), last.getId()));
+        }
+        return page;
+    }
+
+    public NotificationCountDTO getUnreadCount(Long userId) {
+        NotificationCountDTO dto = new NotificationCountDTO();
+        dto.setCount(notificationRepository.countUnreadByUserId(userId));
+        return dto;
+    }
+
+    /**
+     * Marca como leídas las notificaciones indicadas, o todas las enviadas hasta {@code before},
+     * con un único UPDATE. Solo afecta notificaciones del usuario.
+     */
+    public NotificationCountDTO markNotificationsAsRead(Long userId, MarkNotificationsReadDTO request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byDate = request.getBefore() != null;
+        if (byIds == byDate) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Debe indicar ids o before, pero no ambos");
+        }
+
+        int updated = byIds
+                ? notificationRepository.markReadByIds(userId, request.getIds())
+                : notificationRepository.markReadBefore(userId, Date.from(request.getBefore().toInstant()));
+        if (updated > 0) {
+            eventPublisher.publishEvent(new UnreadCountChanged(userId));
+        }
+
+        NotificationCountDTO dto = new NotificationCountDTO();
+        dto.setCount((long) updated);
+        return dto;
+    }
+
     public NotificationDTO markNotificationAsRead(Long idNotification) {
         Notification notification = notificationRepository.findById(idNotification);
 
         notification.setSeen(true);
         notificationRepository.save(notification);
+        eventPublisher.publishEvent(new UnreadCountChanged(notification.getUser().getId()));
 
         return notificationTransformer.buildNotificationResponse(notification);
     }
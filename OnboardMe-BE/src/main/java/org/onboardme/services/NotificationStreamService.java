@@ -0,0 +1,295 @@
+package org.onboardme.services;
+
+import com.onboardme.model.NotificationCountDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.onboardme.config.AsyncConfig;
+import org.onboardme.dao.entities.Notification;
+import org.onboardme.dao.repositories.NotificationRepository;
+import org.onboardme.transformers.NotificationTransformer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Canal SSE de notificaciones ({@code /notifications/{idUser}/stream}). Cada conexión recibe:
+ * <ul>
+ *     <li>{@code notification}: cada notificación nueva del usuario, con su id como id del evento.</li>
+ *     <li>{@code unread-count}: la cantidad de no leídas, al conectarse y cada vez que cambia.</li>
+ *     <li>{@code resync}: faltan más notificaciones de las que se reenvían al reconectar; el cliente
+ *     recarga la lista con {@code /notifications/{idUser}/page}.</li>
+ *     <li>Un comentario cada {@code heartbeat} para que proxies y balanceadores no corten la conexión.</li>
+ * </ul>
+ *
+ * <p>Al reconectar con {@code Last-Event-ID} se reenvían desde la tabla las notificaciones posteriores.
+ * Una conexión ociosa no ocupa un hilo: el pedido queda asíncrono en Tomcat y solo guarda el emitter y su
+ * buffer. Los envíos los hace {@code notificationStreamExecutor}, uno por conexión a la vez, para que un
+ * cliente lento no frene a quien guarda la notificación. Si el buffer de una conexión se llena, se corta:
+ * el cliente reconecta y recupera lo que falta con {@code Last-Event-ID}.</p>
+ *
+ * <p>Las conexiones viven en memoria: con varias instancias, cada una solo avisa de las notificaciones
+ * que se guardaron en ella.</p>
+ */
+@Component
+public class NotificationStreamService {
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_COUNT_EVENT = "unread-count";
+    static final String RESYNC_EVENT = "resync";
+
+    private static final Pending HEARTBEAT = new Pending(null, SseEmitter.event().comment("ping").build());
+
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationTransformer notificationTransformer;
+    private final Executor executor;
+    private final int maxStreams;
+    private final int bufferSize;
+    private final int replayLimit;
+    private final long timeoutMillis;
+
+    private final Map<Long, Set<Stream>> streamsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final Counter dropped;
+
+    public NotificationStreamService(NotificationRepository notificationRepository,
+                                     NotificationTransformer notificationTransformer,
+                                     @Qualifier(AsyncConfig.NOTIFICATION_STREAM_EXECUTOR) Executor executor,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${onboardme.notifications.stream.max-streams:2000}") int maxStreams,
+                                     @Value("${onboardme.notifications.stream.buffer-size:32}") int bufferSize,
+                                     @Value("${onboardme.notifications.stream.replay-limit:100}") int replayLimit,
+                                     @Value("${onboardme.notifications.stream.timeout:30m}") Duration timeout) {
+        this.notificationRepository = notificationRepository;
+        this.notificationTransformer = notificationTransformer;
+        this.executor = executor;
+        this.maxStreams = maxStreams;
+        this.bufferSize = bufferSize;
+        this.replayLimit = replayLimit;
+        this.timeoutMillis = timeout.toMillis();
+
+        Gauge.builder("onboardme.notifications.streams", openStreams, AtomicInteger::get)
+                .description("Conexiones SSE de notificaciones abiertas")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("onboardme.notifications.streams.dropped")
+                .description("Conexiones SSE cortadas por no leer a tiempo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre una conexión para el usuario, o devuelve null si la instancia ya tiene {@code max-streams}.
+     * Con {@code lastEventId} reenvía antes las notificaciones posteriores a esa; lo que se guarde
+     * mientras tanto queda en el buffer y sale después, sin repetir.
+     */
+    public SseEmitter open(Long userId, Long lastEventId) {
+        if (openStreams.incrementAndGet() > maxStreams) {
+            openStreams.decrementAndGet();
+            return null;
+        }
+
+        Stream stream = new Stream(userId, new SseEmitter(timeoutMillis), bufferSize);
+        stream.emitter.onCompletion(() -> close(stream));
+        stream.emitter.onTimeout(() -> close(stream));
+        stream.emitter.onError(e -> close(stream));
+        streamsByUser.compute(userId, (id, streams) -> {
+            Set<Stream> result = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            result.add(stream);
+            return result;
+        });
+
+        // La conexión nace tomada (sending): los eventos que lleguen durante el reenvío esperan en el buffer
+        try {
+            if (lastEventId != null) {
+                replay(stream, lastEventId);
+            }
+            stream.countPending = true;
+        } catch (IOException e) {
+            disconnect(stream);
+        } catch (RuntimeException e) {
+            close(stream);
+            throw e;
+        } finally {
+            release(stream);
+        }
+        return stream.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationSaved(NotificationService.NotificationSaved event) {
+        Notification notification = event.notification();
+        Set<Stream> streams = streamsByUser.get(notification.getUser().getId());
+        if (streams == null) return;
+
+        Pending pending = new Pending(notification.getId(), notificationEvent(notification));
+        for (Stream stream : streams) {
+            stream.countPending = true;
+            enqueue(stream, pending);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnreadCountChanged(NotificationService.UnreadCountChanged event) {
+        Set<Stream> streams = streamsByUser.get(event.userId());
+        if (streams == null) return;
+
+        for (Stream stream : streams) {
+            stream.countPending = true;
+            schedule(stream);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${onboardme.notifications.stream.heartbeat:25s}")
+    public void heartbeat() {
+        for (Set<Stream> streams : streamsByUser.values()) {
+            for (Stream stream : streams) {
+                enqueue(stream, HEARTBEAT);
+            }
+        }
+    }
+
+    public int getOpenStreams() {
+        return openStreams.get();
+    }
+
+    private void replay(Stream stream, long lastEventId) throws IOException {
+        List<Notification> missed = notificationRepository.findNewerThan(stream.userId, lastEventId, PageRequest.of(0, replayLimit + 1));
+        if (missed.isEmpty()) return;
+
+        if (missed.size() > replayLimit) {
+            // El id de la más nueva, para que la próxima reconexión siga desde ahí y no desde la vieja
+            Long newest = missed.get(0).getId();
+            stream.emitter.send(SseEmitter.event().id(String.valueOf(newest)).name(RESYNC_EVENT).data("").build());
+            stream.lastSentId = newest;
+            return;
+        }
+        for (int i = missed.size() - 1; i >= 0; i--) {
+            stream.emitter.send(notificationEvent(missed.get(i)));
+        }
+        stream.lastSentId = missed.get(0).getId();
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> notificationEvent(Notification notification) {
+        // Se arma una sola vez y se manda igual a todas las conexiones del usuario
+        return SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name(NOTIFICATION_EVENT)
+                .data(notificationTransformer.buildNotificationResponse(notification), MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private void enqueue(Stream stream, Pending pending) {
+        if (!stream.buffer.offer(pending)) {
+            dropped.increment();
+            disconnect(stream);
+            return;
+        }
+        schedule(stream);
+    }
+
+    private void schedule(Stream stream) {
+        if (stream.closed.get() || !stream.sending.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> drain(stream));
+        } catch (RejectedExecutionException e) {
+            stream.sending.set(false);
+            disconnect(stream);
+        }
+    }
+
+    private void drain(Stream stream) {
+        try {
+            Pending pending;
+            while (!stream.closed.get() && (pending = stream.buffer.poll()) != null) {
+                if (pending.notificationId() != null) {
+                    // Ya salió en el reenvío de Last-Event-ID
+                    if (pending.notificationId() <= stream.lastSentId) continue;
+                    stream.lastSentId = pending.notificationId();
+                }
+                stream.emitter.send(pending.event());
+            }
+            if (!stream.closed.get() && stream.countPending) {
+                // Varios cambios seguidos se resuelven con un solo conteo
+                stream.countPending = false;
+                NotificationCountDTO count = new NotificationCountDTO();
+                count.setCount(notificationRepository.countUnreadByUserId(stream.userId));
+                stream.emitter.send(SseEmitter.event().name(UNREAD_COUNT_EVENT).data(count, MediaType.APPLICATION_JSON).build());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // El cliente se fue o el emitter ya estaba cerrado
+            disconnect(stream);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Error enviando notificaciones al usuario " + stream.userId, e);
+            disconnect(stream);
+        } finally {
+            release(stream);
+        }
+    }
+
+    // Suelta la conexión y la vuelve a programar si llegó algo mientras estaba tomada
+    private void release(Stream stream) {
+        stream.sending.set(false);
+        if (!stream.buffer.isEmpty() || stream.countPending) {
+            schedule(stream);
+        }
+    }
+
+    private void disconnect(Stream stream) {
+        close(stream);
+        stream.emitter.complete();
+    }
+
+    private void close(Stream stream) {
+        if (!stream.closed.compareAndSet(false, true)) return;
+
+        openStreams.decrementAndGet();
+        stream.buffer.clear();
+        streamsByUser.computeIfPresent(stream.userId, (id, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    /** Evento a enviar; {@code notificationId} es null para los que no son notificaciones. */
+    private record Pending(Long notificationId, Set<ResponseBodyEmitter.DataWithMediaType> event) {}
+
+    private static final class Stream {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<Pending> buffer;
+        // Solo un hilo a la vez manda por la conexión; open() la tiene tomada hasta terminar el reenvío
+        final AtomicBoolean sending = new AtomicBoolean(true);
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile boolean countPending;
+        // Lo lee y escribe solo quien tiene tomada la conexión
+        long lastSentId;
+
+        Stream(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
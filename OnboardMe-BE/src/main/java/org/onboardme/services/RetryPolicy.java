@@ -0,0 +1,49 @@
+package org.onboardme.services;
+
+import org.onboardme.dao.entities.Retryable;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Reintentos de {@link EmailOutboxSender} y {@link DomainEventProcessor}: la espera empieza en
+ * {@code initialBackoff}, se duplica en cada intento hasta {@code maxBackoff} y a los
+ * {@code maxAttempts} intentos la fila se da por perdida.
+ */
+class RetryPolicy {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Suma el intento fallido y programa el siguiente. Devuelve {@code true} si ya no quedan intentos.
+     */
+    boolean registerFailure(Retryable row, Exception failure, Date now) {
+        int attempts = row.getAttempts() + 1;
+        row.setAttempts(attempts);
+        row.setLastError(truncate(failure.getMessage()));
+        if (attempts >= maxAttempts) {
+            return true;
+        }
+        row.setNextAttemptAt(new Date(now.getTime() + backoff(attempts).toMillis()));
+        return false;
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
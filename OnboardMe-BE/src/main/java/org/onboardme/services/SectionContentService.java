@@ -2,16 +2,20 @@ package org.onboardme.services;
 
 import lombok.RequiredArgsConstructor;
 import org.onboardme.dao.entities.Section;
-import org.onboardme.dao.entities.SectionContent;
 import org.onboardme.dao.entities.content.DocumentContent;
 import org.onboardme.dao.entities.content.ExamContent;
 import com.onboardme.model.ExamContentDTO;
+import com.onboardme.model.SectionContentDTO;
 import org.onboardme.transformers.content.ExamContentTransformer;
 import org.onboardme.dao.entities.content.ImageContent;
 import org.onboardme.dao.entities.content.VideoContent;
 import org.onboardme.dao.repositories.SectionContentRepository;
 import org.onboardme.dao.repositories.SectionRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
 
 @Service
 @RequiredArgsConstructor
@@ -20,35 +24,70 @@ public class SectionContentService {
     private final SectionRepository sectionRepository;
     private final SectionContentRepository contentRepository;
     private final ExamContentTransformer examContentTransformer;
+    private final CourseStructureService courseStructureService;
+    private final FileStoreService fileStoreService;
+    private final CourseVersionService courseVersionService;
+    private final PlatformTransactionManager transactionManager;
 
-    public SectionContent getContentBySection(Long sectionId) {
-        return getSectionOrThrow(sectionId).getContent();
+    public SectionContentDTO getSectionContent(Long sectionId) {
+        return courseStructureService.getSectionContent(sectionId);
     }
 
+    @Transactional
     public void addVideoContent(Long sectionId, String url) {
+        Section section = getSectionOrThrow(sectionId);
         VideoContent video = new VideoContent();
         video.setUrl(url);
-        video.setSection(getSectionOrThrow(sectionId));
+        video.setSection(section);
         contentRepository.save(video);
+        courseStructureService.evictSection(section.getCourse().getId(), sectionId);
+        courseVersionService.bump(section.getCourse().getId());
     }
 
+    @Transactional
     public void addDocumentContent(Long sectionId, String url) {
+        Section section = getSectionOrThrow(sectionId);
         DocumentContent doc = new DocumentContent();
         doc.setUrl(url);
-        doc.setSection(getSectionOrThrow(sectionId));
+        doc.setSection(section);
         contentRepository.save(doc);
+        courseStructureService.evictSection(section.getCourse().getId(), sectionId);
+        courseVersionService.bump(section.getCourse().getId());
     }
 
+    /**
+     * Guarda el archivo en el almacén local y lo agrega a la sección como documento, en una transacción
+     * que empieza después de copiar el archivo. Devuelve la URL con la que se sirve
+     * ({@code /files/<sha256>.<extensión>}).
+     */
+    public String uploadDocumentContent(Long sectionId, MultipartFile file) {
+        // Valido la sección antes de copiar el archivo para no guardar subidas que se van a descartar
+        if (!sectionRepository.existsById(sectionId)) {
+            throw new RuntimeException("Sección no encontrada con id: " + sectionId);
+        }
+        String url = FileStoreService.urlOf(fileStoreService.store(file));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> addDocumentContent(sectionId, url));
+        return url;
+    }
+
+    @Transactional
     public void addImageContent(Long sectionId, String url) {
+        Section section = getSectionOrThrow(sectionId);
         ImageContent img = new ImageContent();
         img.setUrl(url);
-        img.setSection(getSectionOrThrow(sectionId));
+        img.setSection(section);
         contentRepository.save(img);
+        courseStructureService.evictSection(section.getCourse().getId(), sectionId);
+        courseVersionService.bump(section.getCourse().getId());
     }
 
+    @Transactional
     public void addExamContent(Long sectionId, ExamContentDTO dto) {
-        ExamContent exam = examContentTransformer.toEntity(dto, getSectionOrThrow(sectionId));
+        Section section = getSectionOrThrow(sectionId);
+        ExamContent exam = examContentTransformer.toEntity(dto, section);
         contentRepository.save(exam);
+        courseStructureService.evictSection(section.getCourse().getId(), sectionId);
+        courseVersionService.bump(section.getCourse().getId());
     }
 
     private Section getSectionOrThrow(Long sectionId) {
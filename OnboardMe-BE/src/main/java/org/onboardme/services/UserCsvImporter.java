@@ -0,0 +1,240 @@
+package org.onboardme.services;
+
+import com.onboardme.model.UploadUsersCsv200Response;
+import org.onboardme.dao.entities.Role;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.RoleRepository;
+import org.onboardme.dao.repositories.UserJdbcRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Alta masiva de usuarios desde un CSV (nombre, apellido, email, contraseña, rol, área).
+ *
+ * <p>Lee el archivo en lotes de {@value #CHUNK_SIZE} líneas. Los roles se cargan una sola vez,
+ * los emails existentes se consultan con un único {@code IN} por lote, los usuarios se insertan
+ * con un batch JDBC y los mails de bienvenida se guardan en {@code email_outbox} en la misma
+ * transacción. Los contadores y mensajes de error son los mismos que cuando se procesaba
+ * línea por línea.</p>
+ */
+@Component
+public class UserCsvImporter {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final UserJdbcRepository userJdbcRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserCsvImporter(UserRepository userRepository,
+                           RoleRepository roleRepository,
+                           UserJdbcRepository userJdbcRepository,
+                           EmailService emailService,
+                           PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.userJdbcRepository = userJdbcRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Avance de una importación, informado al terminar cada lote.
+     */
+    @FunctionalInterface
+    public interface Progress {
+        void chunkImported(int records, int created, List<String> errors);
+    }
+
+    public UploadUsersCsv200Response importCsv(InputStream input) throws IOException {
+        return importCsv(input, (records, created, errors) -> { });
+    }
+
+    public UploadUsersCsv200Response importCsv(InputStream input, Progress progress) throws IOException {
+        // Nombres de rol y emails se comparan sin distinguir mayúsculas, como la collation de MySQL
+        Map<String, Role> roles = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        roleRepository.findAll().forEach(role -> roles.putIfAbsent(role.getName(), role));
+        Set<String> importedEmails = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+        UploadUsersCsv200Response response = new UploadUsersCsv200Response();
+        List<String> errors = new ArrayList<>();
+        int totalRecords = 0;
+        int created = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line = reader.readLine(); // encabezado
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (line != null) {
+                line = reader.readLine();
+                if (line != null) {
+                    chunk.add(Row.parse(++totalRecords, line));
+                }
+                if (chunk.size() == CHUNK_SIZE || (line == null && !chunk.isEmpty())) {
+                    int errorsBefore = errors.size();
+                    int chunkCreated = importChunk(chunk, roles, importedEmails, errors);
+                    created += chunkCreated;
+                    progress.chunkImported(chunk.size(), chunkCreated, errors.subList(errorsBefore, errors.size()));
+                    chunk.clear();
+                }
+            }
+        }
+
+        response.setTotalRecords(totalRecords);
+        response.setCreated(created);
+        response.setFailed(totalRecords - created);
+        response.setErrors(errors);
+        return response;
+    }
+
+    private int importChunk(List<Row> chunk, Map<String, Role> roles, Set<String> importedEmails, List<String> errors) {
+        Set<String> existing = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> emails = chunk.stream().filter(Row::isValid).map(r -> r.user.getEmail()).distinct().toList();
+        if (!emails.isEmpty()) {
+            existing.addAll(userRepository.findExistingEmails(emails));
+        }
+
+        // Emails de este lote ya aceptados, para detectar repetidos dentro del mismo archivo
+        Set<String> chunkEmails = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        List<Row> toInsert = new ArrayList<>();
+        for (Row row : chunk) {
+            if (!row.isValid()) {
+                continue;
+            }
+            String email = row.user.getEmail();
+            Role role = roles.get(row.roleName);
+            if (existing.contains(email) || importedEmails.contains(email) || chunkEmails.contains(email)) {
+                row.error = "El usuario con email " + email + " ya existe en la plataforma";
+            } else if (role == null) {
+                row.error = "Rol no encontrado: " + row.roleName;
+            } else {
+                row.user.setRole(role);
+                chunkEmails.add(email);
+                toInsert.add(row);
+            }
+        }
+
+        insert(toInsert);
+        // Sólo cuentan como importados los que se insertaron: si una fila falló, su email puede volver a aparecer
+        for (Row row : toInsert) {
+            if (row.isValid()) {
+                importedEmails.add(row.user.getEmail());
+            }
+        }
+
+        int created = 0;
+        for (Row row : chunk) {
+            if (row.isValid()) {
+                created++;
+            } else {
+                errors.add(row.errorMessage());
+            }
+        }
+        return created;
+    }
+
+    private void insert(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            insertWithEmails(rows.stream().map(r -> r.user).toList());
+        } catch (DataAccessException batchFailure) {
+            // El batch se revirtió entero: reintento fila por fila para saber cuál falló
+            for (Row row : rows) {
+                try {
+                    insertWithEmails(List.of(row.user));
+                } catch (DataAccessException e) {
+                    row.error = e.getMostSpecificCause().getMessage();
+                }
+            }
+        }
+    }
+
+    // Usuarios y mails de bienvenida en la misma transacción: o quedan ambos o ninguno
+    private void insertWithEmails(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            userJdbcRepository.insertAll(users);
+            emailService.enqueueUserCreationEmails(users);
+        });
+    }
+
+    private static final class Row {
+
+        // nombre, apellido, email, contraseña, rol, área
+        private static final int COLUMNS = 6;
+
+        private final int lineNumber;
+        private String firstName;
+        private String lastName;
+        private String roleName;
+        private User user;
+        private String error;
+
+        private Row(int lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+
+        static Row parse(int lineNumber, String line) {
+            Row row = new Row(lineNumber);
+            String[] columns = line.split(",");
+            if (columns.length < COLUMNS) {
+                row.firstName = columns.length > 0 ? columns[0].trim() : null;
+                row.lastName = columns.length > 1 ? columns[1].trim() : null;
+                row.error = "Faltan columnas: se esperaban " + COLUMNS + " y la línea tiene " + columns.length;
+                return row;
+            }
+            try {
+                row.firstName = columns[0].trim();
+                row.lastName = columns[1].trim();
+                String email = columns[2].trim();
+                String password = columns[3].trim();
+                row.roleName = columns[4].trim();
+                String areaName = columns[5].trim();
+
+                User user = new User();
+                user.setFirstName(row.firstName);
+                user.setLastName(row.lastName);
+                user.setEmail(email);
+                user.setPassword(password);
+                user.setArea(areaName);
+                user.setStatus(1);
+                user.setBuddy(null);
+                user.setCreatedDate(new Date());
+                row.user = user;
+            } catch (Exception e) {
+                row.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            }
+            return row;
+        }
+
+        // Válida si se pudo armar el usuario y nadie la rechazó después
+        boolean isValid() {
+            return user != null && error == null;
+        }
+
+        String errorMessage() {
+            String personInfo = (firstName != null || lastName != null)
+                    ? (" | Usuario: " + (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : ""))
+                    : "";
+            return "Error en la línea " + lineNumber + personInfo + " -> " + error;
+        }
+    }
+}
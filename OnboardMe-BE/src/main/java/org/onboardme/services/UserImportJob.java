@@ -0,0 +1,139 @@
+package org.onboardme.services;
+
+import com.onboardme.model.ImportJobDTO;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado en memoria de una importación de usuarios. Lo actualizan el request que sube las
+ * partes y el hilo del executor, y lo leen los requests de consulta: todo acceso es sincronizado.
+ * El contenido de una parte se copia al archivo sin tener el lock; {@code appending} evita que se
+ * escriban dos partes a la vez.
+ */
+class UserImportJob {
+
+    private final String id;
+    private final Path spoolFile;
+    private final Instant createdAt = Instant.now();
+
+    private ImportJobDTO.StatusEnum status = ImportJobDTO.StatusEnum.RECEIVING;
+    private long receivedBytes;
+    private int processed;
+    private int created;
+    private int failed;
+    private final List<String> errors = new ArrayList<>();
+    private final int maxErrors;
+    private int errorsOmitted;
+    private boolean appending;
+    private String message;
+    private Instant finishedAt;
+
+    UserImportJob(String id, Path spoolFile, int maxErrors) {
+        this.id = id;
+        this.spoolFile = spoolFile;
+        this.maxErrors = maxErrors;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Path getSpoolFile() {
+        return spoolFile;
+    }
+
+    synchronized ImportJobDTO.StatusEnum getStatus() {
+        return status;
+    }
+
+    synchronized long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    synchronized boolean isAppending() {
+        return appending;
+    }
+
+    /**
+     * Reserva el archivo para escribir una parte; la escritura se hace fuera del lock.
+     */
+    synchronized void startAppend() {
+        appending = true;
+    }
+
+    synchronized void appended(long bytes) {
+        receivedBytes += bytes;
+        appending = false;
+    }
+
+    synchronized void queued() {
+        status = ImportJobDTO.StatusEnum.QUEUED;
+    }
+
+    synchronized void receiving(String reason) {
+        status = ImportJobDTO.StatusEnum.RECEIVING;
+        message = reason;
+    }
+
+    synchronized void running() {
+        status = ImportJobDTO.StatusEnum.RUNNING;
+        message = null;
+    }
+
+    synchronized void chunkImported(int records, int chunkCreated, List<String> chunkErrors) {
+        processed += records;
+        created += chunkCreated;
+        failed += records - chunkCreated;
+        // Se guardan los primeros maxErrors; del resto sólo se cuenta cuántos hubo
+        int room = Math.max(maxErrors - errors.size(), 0);
+        errors.addAll(chunkErrors.subList(0, Math.min(room, chunkErrors.size())));
+        errorsOmitted += Math.max(chunkErrors.size() - room, 0);
+    }
+
+    synchronized void completed() {
+        status = ImportJobDTO.StatusEnum.COMPLETED;
+        finishedAt = Instant.now();
+    }
+
+    synchronized void failed(String reason) {
+        status = ImportJobDTO.StatusEnum.FAILED;
+        message = reason;
+        finishedAt = Instant.now();
+    }
+
+    /**
+     * Finalizado hace más de {@code retentionStart}, o abandonado mientras se recibía.
+     */
+    synchronized boolean isExpired(Instant retentionStart) {
+        return switch (status) {
+            case COMPLETED, FAILED -> finishedAt.isBefore(retentionStart);
+            case RECEIVING -> !appending && createdAt.isBefore(retentionStart);
+            default -> false;
+        };
+    }
+
+    synchronized ImportJobDTO toDto(int errorsFrom) {
+        int from = Math.min(Math.max(errorsFrom, 0), errors.size());
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setJobId(id);
+        dto.setStatus(status);
+        dto.setReceivedBytes(receivedBytes);
+        dto.setProcessed(processed);
+        dto.setCreated(created);
+        dto.setFailed(failed);
+        dto.setErrorsFrom(from);
+        dto.setErrors(new ArrayList<>(errors.subList(from, errors.size())));
+        dto.setErrorsOmitted(errorsOmitted);
+        dto.setMessage(message);
+        dto.setCreatedAt(OffsetDateTime.ofInstant(createdAt, ZoneId.systemDefault()));
+        if (finishedAt != null) {
+            dto.setFinishedAt(OffsetDateTime.ofInstant(finishedAt, ZoneId.systemDefault()));
+        }
+        return dto;
+    }
+}
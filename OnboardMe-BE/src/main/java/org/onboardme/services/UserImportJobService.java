@@ -0,0 +1,196 @@
+package org.onboardme.services;
+
+import com.onboardme.model.ImportJobDTO;
+import org.onboardme.config.AsyncConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Importaciones de usuarios en segundo plano. El CSV se guarda en disco (entero o en partes,
+ * para archivos que superan el límite de multipart) y se procesa con {@link UserCsvImporter}
+ * en el executor de importaciones, dejando libre el hilo de Tomcat. El avance se consulta por id.
+ *
+ * <p>Los jobs viven en memoria: se pierden al reiniciar y se descartan pasado
+ * {@code onboardme.import.retention} desde que terminaron. Cada job guarda hasta
+ * {@code onboardme.import.max-errors} mensajes de error; del resto sólo informa cuántos hubo.</p>
+ */
+@Service
+public class UserImportJobService {
+
+    private final Logger logger = Logger.getLogger(getClass().getName());
+
+    private final Map<String, UserImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final UserCsvImporter userCsvImporter;
+    private final ThreadPoolTaskExecutor importExecutor;
+    private final Path spoolDir;
+    private final long maxFileSize;
+    private final Duration retention;
+    private final int maxErrors;
+
+    public UserImportJobService(UserCsvImporter userCsvImporter,
+                                @Qualifier(AsyncConfig.IMPORT_EXECUTOR) ThreadPoolTaskExecutor importExecutor,
+                                @Value("${onboardme.import.spool-dir}") Path spoolDir,
+                                @Value("${onboardme.import.max-file-size:1GB}") DataSize maxFileSize,
+                                @Value("${onboardme.import.retention:24h}") Duration retention,
+                                @Value("${onboardme.import.max-errors:1000}") int maxErrors) {
+        this.userCsvImporter = userCsvImporter;
+        this.importExecutor = importExecutor;
+        this.spoolDir = spoolDir;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.retention = retention;
+        this.maxErrors = maxErrors;
+    }
+
+    public ImportJobDTO createJob(MultipartFile file) {
+        UserImportJob job;
+        try {
+            Files.createDirectories(spoolDir);
+            String id = UUID.randomUUID().toString();
+            job = new UserImportJob(id, spoolDir.resolve(id + ".csv"), maxErrors);
+            Files.createFile(job.getSpoolFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el archivo temporal de la importación", e);
+        }
+        jobs.put(job.getId(), job);
+
+        if (file != null && !file.isEmpty()) {
+            job.startAppend();
+            append(job, file, true);
+        }
+        return job.toDto(0);
+    }
+
+    public ImportJobDTO appendChunk(String jobId, MultipartFile file, Long offset, boolean last) {
+        UserImportJob job = getJobOrThrow(jobId);
+        synchronized (job) {
+            if (job.getStatus() != ImportJobDTO.StatusEnum.RECEIVING) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "La importación ya no recibe partes: " + job.getStatus());
+            }
+            if (job.isAppending()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Todavía se está recibiendo otra parte de la importación");
+            }
+            if (offset != null && offset != job.getReceivedBytes()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Offset inválido: se esperaba " + job.getReceivedBytes() + " y se recibió " + offset);
+            }
+            job.startAppend();
+        }
+        // La copia de una parte grande no tiene el lock: las consultas de avance no la esperan
+        append(job, file, last);
+        return job.toDto(0);
+    }
+
+    public ImportJobDTO getJob(String jobId, Integer errorsFrom) {
+        return getJobOrThrow(jobId).toDto(errorsFrom != null ? errorsFrom : 0);
+    }
+
+    /**
+     * Escribe la parte a continuación de lo ya recibido y, si es la última, encola el job. La marca de
+     * escritura se suelta recién al final, así otra parte no puede entrar antes de que se encole.
+     */
+    private void append(UserImportJob job, MultipartFile file, boolean last) {
+        long start = job.getReceivedBytes();
+        long written = 0;
+        try {
+            try (InputStream in = file.getInputStream();
+                 FileChannel channel = FileChannel.open(job.getSpoolFile(), StandardOpenOption.WRITE)) {
+                // Lo que haya dejado una parte que falló a mitad de la copia se descarta
+                channel.truncate(start);
+                channel.position(start);
+                written = in.transferTo(Channels.newOutputStream(channel));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo guardar la parte recibida", e);
+            }
+            if (start + written > maxFileSize) {
+                job.failed("El archivo supera el tamaño máximo de " + maxFileSize + " bytes");
+                deleteSpool(job);
+                throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "El archivo supera el tamaño máximo permitido");
+            }
+            if (last) {
+                submit(job);
+            }
+        } finally {
+            job.appended(written);
+        }
+    }
+
+    private void submit(UserImportJob job) {
+        job.queued();
+        try {
+            importExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            // El archivo queda guardado: se puede reintentar enviando una parte vacía con last=true
+            job.receiving("Hay demasiadas importaciones en curso, reintente más tarde");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Hay demasiadas importaciones en curso");
+        }
+    }
+
+    private void run(UserImportJob job) {
+        job.running();
+        try (InputStream in = Files.newInputStream(job.getSpoolFile())) {
+            userCsvImporter.importCsv(in, job::chunkImported);
+            job.completed();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Falló la importación " + job.getId(), e);
+            job.failed("Error al procesar el archivo: " + e.getMessage());
+        } finally {
+            deleteSpool(job);
+        }
+    }
+
+    /**
+     * Descarta los jobs vencidos y sus archivos, aunque no lleguen importaciones nuevas.
+     */
+    @Scheduled(fixedDelayString = "${onboardme.import.purge-interval:1h}")
+    public void purgeExpired() {
+        Instant retentionStart = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.isExpired(retentionStart)) {
+                deleteSpool(job);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void deleteSpool(UserImportJob job) {
+        try {
+            Files.deleteIfExists(job.getSpoolFile());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "No se pudo borrar " + job.getSpoolFile(), e);
+        }
+    }
+
+    private UserImportJob getJobOrThrow(String jobId) {
+        UserImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Importación no encontrada: " + jobId);
+        }
+        return job;
+    }
+}
@@ -1,27 +1,40 @@
 package org.onboardme.services;
 
+import com.onboardme.model.EmployeeEnrollmentDTO;
+import com.onboardme.model.EmployeeOverviewPageDTO;
 import com.onboardme.model.UploadUsersCsv200Response;
 import com.onboardme.model.UserDTO;
-import org.onboardme.dao.entities.Role;
-import org.onboardme.dao.repositories.RoleRepository;
+import org.onboardme.dao.projections.EmployeeEnrollmentRow;
+import org.onboardme.dao.projections.EmployeeRow;
+import org.onboardme.dao.repositories.EnrollmentRepository;
+import org.onboardme.services.EnrollmentProgressResolver.CourseSections;
+import org.onboardme.transformers.EnrollmentTransformer;
 import org.onboardme.transformers.UserTransformer;
 import org.onboardme.dao.entities.User;
 import org.onboardme.dao.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("onboardme.service")
 public class UserService {
 
+    private static final int OVERVIEW_DEFAULT_SIZE = 20;
+    private static final int OVERVIEW_MAX_SIZE = 100;
+
     @Autowired
     UserRepository userRepository;
 
@@ -29,10 +42,22 @@ public class UserService {
     UserTransformer userTransformer;
 
     @Autowired
-    RoleRepository roleRepository;
+    UserCsvImporter userCsvImporter;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EnrollmentTransformer enrollmentTransformer;
 
     @Autowired
-    EmailService emailService;
+    DomainEventPublisher domainEventPublisher;
+
+    @Autowired
+    EnrollmentProgressResolver progressResolver;
+
+    @Autowired
+    CourseVersionService courseVersionService;
 
     public List<UserDTO> getUsers() {
 
@@ -48,13 +73,21 @@ public class UserService {
         return userTransformer.buildUserResponse(user);
     }
 
+    @Transactional
     public UserDTO assignBuddy(Long userId, Long buddyId){
         User user = userRepository.findById(userId).get();
         Optional<User> buddy = userRepository.findById(buddyId);
 
         if(buddy.isPresent()){
+            Long previousBuddyId = user.getBuddy() != null ? user.getBuddy().getId() : null;
             user.setBuddy(buddy.get());
             userRepository.save(user);
+            if (!buddyId.equals(previousBuddyId)) {
+                // Las métricas por buddy se recalculan para el anterior y el nuevo
+                domainEventPublisher.publish(new DomainEvents.BuddyAssigned(userId, previousBuddyId, buddyId));
+            }
+            // El buddy se muestra anidado en el creador de los cursos
+            courseVersionService.bumpCreatedBy(userId);
         } else {
             throw new RuntimeException();
         }
@@ -67,83 +100,55 @@ public class UserService {
         return users.stream().map(user -> userTransformer.buildUserResponse(user)).toList();
     }
 
-    public UploadUsersCsv200Response processUsersCsv(MultipartFile file) {
-        UploadUsersCsv200Response response = new UploadUsersCsv200Response();
-        int totalRecords = 0;
-        int created = 0;
-        int failed = 0;
-        List<String> errors = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            boolean headerSkipped = false;
-
-            while ((line = reader.readLine()) != null) {
-                if (!headerSkipped) {
-                    headerSkipped = true;
-                    continue;
-                }
-
-                totalRecords++;
-                String[] columns = line.split(",");
-
-                String firstName = null;
-                String lastName = null;
-                String email = null;
-
-                try {
-                    firstName = columns[0].trim();
-                    lastName = columns[1].trim();
-                    email = columns[2].trim();
-                    String password = columns[3].trim();
-                    String roleName = columns[4].trim();
-                    String areaName = columns[5].trim();
-
-                    // 🚨 Validación: Email ya existente
-                    if (userRepository.findByEmail(email).isPresent()) {
-                        throw new IllegalArgumentException("El usuario con email " + email + " ya existe en la plataforma");
-                    }
-
-                    User user = new User();
-                    user.setFirstName(firstName);
-                    user.setLastName(lastName);
-                    user.setEmail(email);
-                    user.setPassword(password);
-                    user.setArea(areaName);
-                    user.setStatus(1);
-
-                    Role role = roleRepository.findByName(roleName)
-                            .orElseThrow(() -> new IllegalArgumentException("Rol no encontrado: " + roleName));
-                    user.setRole(role);
-                    user.setBuddy(null);
-                    user.setCreatedDate(new Date());
-                    userRepository.save(user);
-
-                    emailService.sendUserCreationEmail(
-                            user.getEmail(),
-                            user.getFirstName(),
-                            user.getEmail(),
-                            user.getPassword()
-                    );
-
-                    created++;
-                } catch (Exception e) {
-                    failed++;
-                    String personInfo = (firstName != null || lastName != null)
-                            ? (" | Usuario: " + (firstName != null ? firstName : "") + " " + (lastName != null ? lastName : ""))
-                            : "";
-                    errors.add("Error en la línea " + totalRecords + personInfo + " -> " + e.getMessage());
-                }
+    /**
+     * Página de empleados con sus inscripciones y avance, armada con una consulta para los usuarios,
+     * otra para sus inscripciones y, solo si hay inscripciones sin avance precalculado, otra para los
+     * órdenes de sección de esos cursos.
+     */
+    public EmployeeOverviewPageDTO getEmployeeOverview(Long idBuddy, String area, String cursor, Integer size) {
+        int pageSize = (size == null || size <= 0) ? OVERVIEW_DEFAULT_SIZE : Math.min(size, OVERVIEW_MAX_SIZE);
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+
+        // Pido una fila de más para saber si existe una página siguiente
+        List<EmployeeRow> rows = userRepository.findEmployeePage(idBuddy, area,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1));
+        List<EmployeeRow> users = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+
+        Map<Long, List<EmployeeEnrollmentDTO>> enrollmentsByUser = new HashMap<>();
+        if (!users.isEmpty()) {
+            List<EmployeeEnrollmentRow> enrollments = enrollmentRepository.findEmployeeEnrollments(
+                    users.stream().map(EmployeeRow::getId).toList());
+            Set<Long> withoutProgress = enrollments.stream()
+                    .filter(e -> e.getProgress() == null)
+                    .map(EmployeeEnrollmentRow::getCourseId)
+                    .collect(Collectors.toSet());
+            Map<Long, CourseSections> sectionsByCourse = progressResolver.loadCourseSections(withoutProgress);
+
+            for (EmployeeEnrollmentRow e : enrollments) {
+                double progress = EnrollmentProgressResolver.progressOf(e.getProgress(), e.getSectionOrder(),
+                        sectionsByCourse.get(e.getCourseId()));
+                enrollmentsByUser.computeIfAbsent(e.getUserId(), k -> new ArrayList<>())
+                        .add(enrollmentTransformer.buildEmployeeEnrollmentResponse(e, progress));
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Error al procesar el archivo: " + e.getMessage());
         }
 
-        response.setTotalRecords(totalRecords);
-        response.setCreated(created);
-        response.setFailed(failed);
-        response.setErrors(errors);
+        EmployeeOverviewPageDTO page = new EmployeeOverviewPageDTO();
+        page.setItems(users.stream()
+                .map(u -> userTransformer.buildEmployeeOverviewResponse(u, enrollmentsByUser.getOrDefault(u.getId(), new ArrayList<>())))
+                .toList());
+
+        if (rows.size() > pageSize) {
+            page.setNextCursor(KeysetCursor.encode("", users.get(users.size() - 1).getId()));
+        }
+        return page;
+    }
 
-        return response;
+    public UploadUsersCsv200Response processUsersCsv(MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            return userCsvImporter.importCsv(input);
+        } catch (Exception e) {
+            throw new RuntimeException("Error al procesar el archivo: " + e.getMessage());
+        }
     }
 }
@@ -1,11 +1,13 @@
 package org.onboardme.transformers;
 
 import com.onboardme.model.CourseDTO;
+import com.onboardme.model.CourseSummaryDTO;
 import com.onboardme.model.EnrollmentDTO;
 import com.onboardme.model.SectionDTO;
 import com.onboardme.model.UserDTO;
 import org.onboardme.dao.entities.Course;
 import org.onboardme.dao.entities.User;
+import org.onboardme.dao.projections.CourseSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -27,8 +29,6 @@ public class CourseTransformer {
     private EnrollmentTransformer enrollmentTransformer;
 
     public CourseDTO buildCourseResponse(Course course) {
-        UserDTO createdByDTO = userTransformer.buildUserResponse(course.getCreatedBy());
-
         List<SectionDTO> sectionDTOs = course.getSections().stream()
                 .map(sectionTransformer::buildSectionResponse)
                 .collect(Collectors.toList());
@@ -37,6 +37,16 @@ public class CourseTransformer {
                 .map(enrollmentTransformer::buildEnrollmentResponse)
                 .collect(Collectors.toList());
 
+        return buildCourseResponse(course, sectionDTOs, enrollmentDTOS);
+    }
+
+    /**
+     * Arma el curso con secciones e inscripciones ya transformadas (por ejemplo, secciones
+     * tomadas de la caché de estructura); sólo lee las columnas propias y el creador.
+     */
+    public CourseDTO buildCourseResponse(Course course, List<SectionDTO> sectionDTOs, List<EnrollmentDTO> enrollmentDTOS) {
+        UserDTO createdByDTO = userTransformer.buildUserResponse(course.getCreatedBy());
+
         CourseDTO dto = new CourseDTO();
         dto.setId(course.getId());
         dto.setTitle(course.getTitle());
@@ -53,9 +63,39 @@ public class CourseTransformer {
         return dto;
     }
 
+    public CourseSummaryDTO buildCourseSummaryResponse(CourseSummary summary) {
+        CourseSummaryDTO dto = new CourseSummaryDTO();
+        dto.setId(summary.getId());
+        dto.setTitle(summary.getTitle());
+        dto.setDescription(summary.getDescription());
+        dto.setArea(summary.getArea());
+        if (summary.getCreatedDate() != null) {
+            dto.setCreatedDate(summary.getCreatedDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+        }
+        if (summary.getExpiryDate() != null) {
+            dto.setExpiryDate(summary.getExpiryDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+        }
+        if (summary.getCreatedById() != null) {
+            dto.setIdCreatedBy(summary.getCreatedById());
+            dto.setCreatedByName(((summary.getCreatedByFirstName() == null ? "" : summary.getCreatedByFirstName()) + " " +
+                    (summary.getCreatedByLastName() == null ? "" : summary.getCreatedByLastName())).trim());
+        }
+        dto.setSectionCount(summary.getSectionCount());
+        dto.setEnrollmentCount(summary.getEnrollmentCount());
+        return dto;
+    }
+
     public Course buildCourseEntity(CourseDTO dto, User createdBy) {
         Course course = new Course();
         course.setId(dto.getId());
+        updateCourseEntity(course, dto, createdBy);
+        return course;
+    }
+
+    /**
+     * Copia los datos del curso (no las secciones) sobre una entidad nueva o existente.
+     */
+    public void updateCourseEntity(Course course, CourseDTO dto, User createdBy) {
         course.setTitle(dto.getTitle());
         course.setDescription(dto.getDescription());
         course.setArea(dto.getArea());
@@ -70,7 +110,6 @@ public class CourseTransformer {
         }
 
         course.setCreatedBy(createdBy);
-        return course;
     }
 }
 
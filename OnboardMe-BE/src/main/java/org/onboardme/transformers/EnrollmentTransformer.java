@@ -1,7 +1,12 @@
 package org.onboardme.transformers;
 
+import com.onboardme.model.EmployeeEnrollmentDTO;
 import com.onboardme.model.EnrollmentDTO;
+import com.onboardme.model.LearnerCourseDTO;
 import org.onboardme.dao.entities.Enrollment;
+import org.onboardme.dao.projections.EmployeeEnrollmentRow;
+import org.onboardme.dao.projections.EnrollmentRow;
+import org.onboardme.dao.projections.LearnerCourseRow;
 import org.springframework.stereotype.Component;
 
 import java.time.ZoneId;
@@ -28,5 +33,65 @@ public class EnrollmentTransformer {
 
         return dto;
     }
-}
 
+    public EnrollmentDTO buildEnrollmentResponse(EnrollmentRow row) {
+        EnrollmentDTO dto = new EnrollmentDTO();
+        dto.setIdCourse(row.getCourseId());
+        dto.setIdUser(row.getUserId());
+        dto.setStatus(row.getStatus());
+        dto.setFavorite(row.getFavorite());
+        dto.setIdSection(row.getSectionId());
+
+        if (row.getEnrolledAt() != null) {
+            dto.setEnrolledAt(row.getEnrolledAt().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+        }
+
+        return dto;
+    }
+
+    public EmployeeEnrollmentDTO buildEmployeeEnrollmentResponse(EmployeeEnrollmentRow row, double progress) {
+        EmployeeEnrollmentDTO dto = new EmployeeEnrollmentDTO();
+        dto.setCourseId(row.getCourseId());
+        dto.setCourseTitle(row.getCourseTitle());
+        dto.setStatus(row.getStatus());
+        dto.setProgress(progress);
+
+        if (row.getEnrolledAt() != null) {
+            dto.setEnrolledAt(row.getEnrolledAt().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+        }
+
+        if (row.getFinishedDate() != null) {
+            dto.setFinishedDate(row.getFinishedDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+        }
+
+        return dto;
+    }
+
+    public LearnerCourseDTO buildLearnerCourseResponse(LearnerCourseRow row, double progress) {
+        LearnerCourseDTO dto = new LearnerCourseDTO();
+        dto.setIdCourse(row.getCourseId());
+        dto.setTitle(row.getTitle());
+        dto.setDescription(row.getDescription());
+        dto.setArea(row.getArea());
+        dto.setSectionCount(row.getSectionCount());
+        dto.setStatus(row.getStatus());
+        dto.setFavorite(row.getFavorite());
+        dto.setCurrentSectionId(row.getSectionId());
+        dto.setCurrentSectionTitle(row.getSectionTitle());
+        dto.setProgress(progress);
+
+        if (row.getExpiryDate() != null) {
+            dto.setExpiryDate(row.getExpiryDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+        }
+
+        if (row.getEnrolledAt() != null) {
+            dto.setEnrolledAt(row.getEnrolledAt().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+        }
+
+        if (row.getFinishedDate() != null) {
+            dto.setFinishedDate(row.getFinishedDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+        }
+
+        return dto;
+    }
+}
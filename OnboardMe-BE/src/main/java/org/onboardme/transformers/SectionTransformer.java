@@ -4,9 +4,14 @@ import com.onboardme.model.*;
 import org.onboardme.dao.entities.Course;
 import org.onboardme.dao.entities.Section;
 import org.onboardme.dao.entities.SectionContent;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.IntStream;
 
 @Component
 public class SectionTransformer {
@@ -21,7 +26,7 @@ public class SectionTransformer {
         SectionDTO dto = new SectionDTO();
         dto.setId(section.getId());
         dto.setTitle(section.getTitle());
-        dto.setOrder(section.getOrder());
+        dto.setOrder(section.getOrder() != null ? String.valueOf(section.getOrder()) : null);
         dto.setIdCourse(section.getCourse() != null ? section.getCourse().getId() : null);
 
         if (section.getContent() != null) {
@@ -31,22 +36,51 @@ public class SectionTransformer {
         return dto;
     }
 
+    /**
+     * Arma las secciones del curso ordenadas por el orden recibido y las numera de 1 a N, que es lo que
+     * guarda la base: el orden de una sección es su posición y el avance se calcula como orden / cantidad.
+     * Sin orden, una sección queda en la posición en que vino.
+     */
     public List<Section> buildSectionEntities(List<SectionDTO> sectionDTOs, Course course) {
-        return sectionDTOs.stream()
-                .map(sectionDTO -> {
-                    Section section = new Section();
-                    section.setTitle(sectionDTO.getTitle());
-                    section.setOrder(sectionDTO.getOrder());
-                    section.setCourse(course);
-
-                    if (sectionDTO.getContent() != null) {
-                        SectionContent content = sectionContentTransformer.toEntity(sectionDTO.getContent(), section);
-                        section.setContent(content);
-                    }
-
-                    return section;
-                })
+        List<Section> sections = new ArrayList<>();
+        for (SectionDTO sectionDTO : sortByOrder(sectionDTOs)) {
+            sections.add(buildSectionEntity(sectionDTO, course, sections.size() + 1));
+        }
+        return sections;
+    }
+
+    public Section buildSectionEntity(SectionDTO sectionDTO, Course course, int order) {
+        Section section = new Section();
+        section.setTitle(sectionDTO.getTitle());
+        section.setOrder(order);
+        section.setCourse(course);
+
+        if (sectionDTO.getContent() != null) {
+            SectionContent content = sectionContentTransformer.toEntity(sectionDTO.getContent(), section);
+            section.setContent(content);
+        }
+        return section;
+    }
+
+    /**
+     * Las secciones en el orden recibido: la posición de cada una en la lista es su orden 1..N.
+     */
+    public List<SectionDTO> sortByOrder(List<SectionDTO> sectionDTOs) {
+        return IntStream.range(0, sectionDTOs.size()).boxed()
+                .sorted(Comparator.comparingInt(i -> parseOrder(sectionDTOs.get(i).getOrder(), i + 1)))
+                .map(sectionDTOs::get)
                 .toList();
     }
 
+    private static int parseOrder(String order, int position) {
+        if (order == null || order.isBlank()) {
+            return position;
+        }
+        try {
+            return Integer.parseInt(order.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Orden de sección inválido: " + order);
+        }
+    }
+
 }
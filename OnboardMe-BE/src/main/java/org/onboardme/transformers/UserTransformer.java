@@ -1,13 +1,17 @@
 package org.onboardme.transformers;
 
+import com.onboardme.model.EmployeeEnrollmentDTO;
+import com.onboardme.model.EmployeeOverviewDTO;
 import com.onboardme.model.RoleDTO;
 import com.onboardme.model.UserDTO;
 import org.onboardme.dao.entities.Role;
 import org.onboardme.dao.entities.User;
+import org.onboardme.dao.projections.EmployeeRow;
 import org.springframework.stereotype.Component;
 
 import java.time.ZoneId;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -61,5 +65,22 @@ public class UserTransformer {
         dto.setName(role.getName());
         return dto;
     }
-}
 
+    public EmployeeOverviewDTO buildEmployeeOverviewResponse(EmployeeRow row, List<EmployeeEnrollmentDTO> enrollments) {
+        EmployeeOverviewDTO dto = new EmployeeOverviewDTO();
+        dto.setId(row.getId());
+        dto.setFirstName(row.getFirstName());
+        dto.setLastName(row.getLastName());
+        dto.setEmail(row.getEmail());
+        dto.setArea(row.getArea());
+        dto.setRole(row.getRoleName());
+        dto.setEnrollments(enrollments);
+
+        if (row.getBuddyId() != null) {
+            dto.setBuddyId(row.getBuddyId());
+            dto.setBuddyName((Objects.toString(row.getBuddyFirstName(), "") + " " + Objects.toString(row.getBuddyLastName(), "")).trim());
+        }
+
+        return dto;
+    }
+}
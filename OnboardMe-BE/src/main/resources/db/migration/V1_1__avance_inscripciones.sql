@@ -0,0 +1,4 @@
+-- Avance guardado en la inscripción, para no recorrer las secciones del curso en cada lectura.
+-- Las inscripciones existentes quedan en NULL y EnrollmentProgressBackfill las completa al arrancar.
+ALTER TABLE usuario_x_curso ADD COLUMN progreso FLOAT(53);
+ALTER TABLE usuario_x_curso ADD COLUMN cantidad_secciones INTEGER;
@@ -0,0 +1,16 @@
+-- Mails pendientes de envío: se guardan en la transacción del alta y EmailOutboxSender los envía.
+CREATE TABLE email_outbox (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    destinatario    VARCHAR(255) NOT NULL,
+    asunto          VARCHAR(255) NOT NULL,
+    cuerpo          TEXT NOT NULL,
+    estado          VARCHAR(16) NOT NULL,
+    intentos        INTEGER NOT NULL,
+    proximo_intento DATETIME(6) NOT NULL,
+    fecha_creacion  DATETIME(6) NOT NULL,
+    fecha_envio     DATETIME(6),
+    ultimo_error    VARCHAR(1000),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_email_outbox_pendientes ON email_outbox (estado, proximo_intento);
@@ -0,0 +1,3 @@
+-- Notificaciones de un usuario: no leídas (contador) y página por (fecha_envio, id)
+CREATE INDEX idx_notificacion_usuario_leida_fecha ON notificacion (id_usuario_enviado, leida, fecha_envio);
+CREATE INDEX idx_notificacion_usuario_fecha ON notificacion (id_usuario_enviado, fecha_envio, id);
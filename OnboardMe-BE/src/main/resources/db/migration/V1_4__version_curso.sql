@@ -0,0 +1,2 @@
+-- Versión de la estructura del curso, para los ETag de cursos y secciones
+ALTER TABLE curso ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
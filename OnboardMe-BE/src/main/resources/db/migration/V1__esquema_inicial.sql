@@ -0,0 +1,141 @@
+-- Esquema tal como lo generaba Hibernate (ddl-auto) a partir de las entidades originales, antes de pasar
+-- a migraciones. Una base existente creada así se marca en esta versión (spring.flyway.baseline-on-migrate)
+-- y recibe desde V1_1; lo que se agregó después va en su propia migración, nunca acá.
+
+CREATE TABLE rol (
+    id     BIGINT NOT NULL AUTO_INCREMENT,
+    nombre VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE usuario (
+    id_legajo        BIGINT NOT NULL AUTO_INCREMENT,
+    nombre           VARCHAR(255),
+    apellido         VARCHAR(255),
+    email            VARCHAR(255),
+    contrasenia      VARCHAR(255),
+    area             VARCHAR(255),
+    fecha_alta       DATETIME(6),
+    estado           INTEGER,
+    direccion        VARCHAR(255),
+    telefono         VARCHAR(255),
+    fecha_nacimiento DATETIME(6),
+    id_rol           BIGINT,
+    buddy_id         BIGINT,
+    PRIMARY KEY (id_legajo),
+    CONSTRAINT fk_usuario_rol FOREIGN KEY (id_rol) REFERENCES rol (id),
+    CONSTRAINT fk_usuario_buddy FOREIGN KEY (buddy_id) REFERENCES usuario (id_legajo)
+) ENGINE = InnoDB;
+
+CREATE TABLE curso (
+    id                 BIGINT NOT NULL AUTO_INCREMENT,
+    titulo             VARCHAR(255),
+    descripcion        VARCHAR(255),
+    area               VARCHAR(255),
+    fecha_creacion     DATETIME(6),
+    fecha_vencimiento  DATETIME(6),
+    id_usuario_creador BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_curso_usuario_creador FOREIGN KEY (id_usuario_creador) REFERENCES usuario (id_legajo)
+) ENGINE = InnoDB;
+
+CREATE TABLE seccion (
+    id       BIGINT NOT NULL AUTO_INCREMENT,
+    titulo   VARCHAR(255),
+    orden    VARCHAR(255),
+    id_curso BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_seccion_curso FOREIGN KEY (id_curso) REFERENCES curso (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE section_content (
+    id_content BIGINT NOT NULL AUTO_INCREMENT,
+    id_section BIGINT,
+    PRIMARY KEY (id_content),
+    CONSTRAINT uk_section_content_section UNIQUE (id_section),
+    CONSTRAINT fk_section_content_seccion FOREIGN KEY (id_section) REFERENCES seccion (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE video_content (
+    id_content BIGINT NOT NULL,
+    url        VARCHAR(255),
+    PRIMARY KEY (id_content),
+    CONSTRAINT fk_video_content FOREIGN KEY (id_content) REFERENCES section_content (id_content)
+) ENGINE = InnoDB;
+
+CREATE TABLE document_content (
+    id_content BIGINT NOT NULL,
+    url        VARCHAR(255),
+    PRIMARY KEY (id_content),
+    CONSTRAINT fk_document_content FOREIGN KEY (id_content) REFERENCES section_content (id_content)
+) ENGINE = InnoDB;
+
+CREATE TABLE image_content (
+    id_content BIGINT NOT NULL,
+    url        VARCHAR(255),
+    PRIMARY KEY (id_content),
+    CONSTRAINT fk_image_content FOREIGN KEY (id_content) REFERENCES section_content (id_content)
+) ENGINE = InnoDB;
+
+CREATE TABLE exam_content (
+    id_content BIGINT NOT NULL,
+    time_limit INTEGER,
+    PRIMARY KEY (id_content),
+    CONSTRAINT fk_exam_content FOREIGN KEY (id_content) REFERENCES section_content (id_content)
+) ENGINE = InnoDB;
+
+CREATE TABLE exam_question (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    text          VARCHAR(255),
+    question_type ENUM ('MULTIPLE_CHOICE', 'SINGLE_CHOICE') NOT NULL,
+    exam_id       BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_exam_question_exam FOREIGN KEY (exam_id) REFERENCES exam_content (id_content)
+) ENGINE = InnoDB;
+
+CREATE TABLE exam_option (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    text        VARCHAR(255),
+    correct     BIT,
+    question_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_exam_option_question FOREIGN KEY (question_id) REFERENCES exam_question (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE exam_result (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    user_id         BIGINT,
+    exam_id         BIGINT,
+    detail          LONGTEXT,
+    score           INTEGER,
+    total_questions INTEGER,
+    completed_at    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_exam_result_usuario FOREIGN KEY (user_id) REFERENCES usuario (id_legajo),
+    CONSTRAINT fk_exam_result_exam FOREIGN KEY (exam_id) REFERENCES exam_content (id_content)
+) ENGINE = InnoDB;
+
+CREATE TABLE usuario_x_curso (
+    id_usuario         BIGINT NOT NULL,
+    id_curso           BIGINT NOT NULL,
+    fecha_asignacion   DATETIME(6),
+    fecha_finalizacion DATETIME(6),
+    estado             VARCHAR(255),
+    marca_fav          BIT,
+    id_seccion         BIGINT,
+    PRIMARY KEY (id_usuario, id_curso),
+    CONSTRAINT fk_usuario_x_curso_usuario FOREIGN KEY (id_usuario) REFERENCES usuario (id_legajo),
+    CONSTRAINT fk_usuario_x_curso_curso FOREIGN KEY (id_curso) REFERENCES curso (id),
+    CONSTRAINT fk_usuario_x_curso_seccion FOREIGN KEY (id_seccion) REFERENCES seccion (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE notificacion (
+    id                 BIGINT NOT NULL AUTO_INCREMENT,
+    id_usuario_enviado BIGINT NOT NULL,
+    titulo             VARCHAR(255),
+    mensaje            VARCHAR(255),
+    fecha_envio        DATETIME(6),
+    leida              BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_notificacion_usuario FOREIGN KEY (id_usuario_enviado) REFERENCES usuario (id_legajo)
+) ENGINE = InnoDB;
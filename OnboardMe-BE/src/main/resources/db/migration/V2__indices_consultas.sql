@@ -0,0 +1,32 @@
+-- Índices de las consultas frecuentes de los repositorios. Las FK ya tienen el suyo; estos los
+-- reemplazan (MySQL descarta el índice implícito de una FK cuando otro empieza por esa columna)
+-- o agregan las columnas de filtro y de orden que faltaban. SchemaIndexesTest verifica los planes.
+
+-- UserRepository.findByEmail y findExistingEmails (login, alta y carga por CSV). Además un mail
+-- no puede repetirse: hasta ahora sólo lo evitaba el chequeo previo de cada alta.
+CREATE UNIQUE INDEX uk_usuario_email ON usuario (email);
+
+-- UserRepository.findByBuddyId y la vista de empleados filtrada por buddy, en orden de legajo
+CREATE INDEX idx_usuario_buddy ON usuario (buddy_id, id_legajo);
+
+-- CourseRepository.findByTitle y SectionRepository.findByTitle
+CREATE INDEX idx_curso_titulo ON curso (titulo);
+CREATE INDEX idx_seccion_titulo ON seccion (titulo);
+
+-- Catálogo por fecha de creación (keyset sobre fecha e id), sin filtro y filtrado por área
+CREATE INDEX idx_curso_fecha ON curso (fecha_creacion, id);
+CREATE INDEX idx_curso_area_fecha ON curso (area, fecha_creacion, id);
+
+-- Secciones de un curso: countByCourseId y findOrdersByCourseIds se resuelven sólo con el índice
+CREATE INDEX idx_seccion_curso_orden ON seccion (id_curso, orden);
+
+-- Inscripciones de un curso en orden de usuario: findByCourseAndOptionalBuddy, findRowsByCourseId,
+-- findCourseUserProgress y EnrollmentProgressJdbcRepository.findByCourse. Las de un usuario usan la PK.
+CREATE INDEX idx_usuario_x_curso_curso ON usuario_x_curso (id_curso, id_usuario);
+
+-- EnrollmentRepository.findByUserIdAndFavoriteTrue y findFavoriteCourseIdsByUserId
+CREATE INDEX idx_usuario_x_curso_favoritos ON usuario_x_curso (id_usuario, marca_fav, id_curso);
+
+-- ExamResultRepository.findByUserAndExam. Un resultado por usuario y examen: dos envíos
+-- simultáneos del mismo examen ya no pueden guardar dos resultados.
+CREATE UNIQUE INDEX uk_exam_result_usuario_examen ON exam_result (user_id, exam_id);
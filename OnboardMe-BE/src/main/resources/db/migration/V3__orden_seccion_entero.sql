@@ -0,0 +1,27 @@
+-- seccion.orden pasa de texto a entero: la posición de la sección en su curso, de 1 a N, única por curso.
+-- Cada curso se renumera respetando el orden numérico que tenía; los órdenes vacíos o no numéricos
+-- quedan al final, por id (antes rompían el cálculo del avance, que los tomaba como 0).
+
+CREATE TABLE seccion_orden_nuevo AS
+SELECT id,
+       ROW_NUMBER() OVER (
+           PARTITION BY id_curso
+           ORDER BY CASE WHEN TRIM(orden) REGEXP '^[0-9]{1,9}$' THEN 0 ELSE 1 END,
+                    CASE WHEN TRIM(orden) REGEXP '^[0-9]{1,9}$' THEN CAST(TRIM(orden) AS DECIMAL(9, 0)) END,
+                    id
+       ) AS orden
+FROM seccion;
+
+ALTER TABLE seccion ADD COLUMN orden_nuevo INTEGER;
+UPDATE seccion SET orden_nuevo = (SELECT n.orden FROM seccion_orden_nuevo n WHERE n.id = seccion.id);
+DROP TABLE seccion_orden_nuevo;
+
+-- El índice único se crea antes de borrar idx_seccion_curso_orden: en MySQL ése es el índice de la FK a curso
+CREATE UNIQUE INDEX uk_seccion_curso_orden ON seccion (id_curso, orden_nuevo);
+DROP INDEX idx_seccion_curso_orden ON seccion;
+ALTER TABLE seccion DROP COLUMN orden;
+ALTER TABLE seccion RENAME COLUMN orden_nuevo TO orden;
+ALTER TABLE seccion MODIFY orden INTEGER NOT NULL;
+
+-- El avance guardado se calculó con los órdenes viejos: EnrollmentProgressBackfill lo recalcula al arrancar
+UPDATE usuario_x_curso SET cantidad_secciones = NULL, progreso = NULL;
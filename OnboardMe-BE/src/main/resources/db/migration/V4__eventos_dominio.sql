@@ -0,0 +1,18 @@
+-- Eventos de dominio (curso asignado, curso finalizado, examen enviado). Se guardan en la misma
+-- transacción que el cambio que los origina y DomainEventProcessor los procesa en lotes, fuera del
+-- request: un reinicio a mitad de un lote no pierde eventos porque el lote se marca PROCESADO en la
+-- misma transacción que sus efectos.
+CREATE TABLE evento_dominio (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    tipo            VARCHAR(64) NOT NULL,
+    datos           TEXT NOT NULL,
+    estado          VARCHAR(16) NOT NULL,
+    intentos        INTEGER NOT NULL,
+    proximo_intento DATETIME(6) NOT NULL,
+    fecha_creacion  DATETIME(6) NOT NULL,
+    fecha_procesado DATETIME(6),
+    ultimo_error    VARCHAR(1000),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_evento_dominio_pendientes ON evento_dominio (estado, proximo_intento);
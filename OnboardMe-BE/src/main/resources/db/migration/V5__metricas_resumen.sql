@@ -0,0 +1,36 @@
+-- Métricas materializadas para los tableros. metrica_resumen tiene el estado actual de cada curso y de
+-- cada buddy (sobre las inscripciones de sus empleados); MetricsRollupService la recalcula por clave a
+-- partir de los eventos de dominio y completa una vez por día. metrica_historial guarda una foto diaria
+-- de cada fila para las tendencias.
+--   asignados:   inscripciones (todas)
+--   en_curso:    sin finalizar y con al menos una sección alcanzada
+--   finalizados: con fecha de finalización
+--   dias_promedio: días entre la asignación y la finalización, solo de las finalizadas (NULL si no hay)
+CREATE TABLE metrica_resumen (
+    id                  BIGINT NOT NULL AUTO_INCREMENT,
+    dimension           VARCHAR(8) NOT NULL,
+    clave               BIGINT NOT NULL,
+    asignados           INTEGER NOT NULL,
+    en_curso            INTEGER NOT NULL,
+    finalizados         INTEGER NOT NULL,
+    avance_promedio     DOUBLE NOT NULL,
+    dias_promedio       DOUBLE,
+    fecha_actualizacion DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_metrica_resumen UNIQUE (dimension, clave)
+) ENGINE = InnoDB;
+
+-- Una fila por clave y día; la tendencia de una clave se lee por el índice único, sin tocar inscripciones
+CREATE TABLE metrica_historial (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    fecha           DATE NOT NULL,
+    dimension       VARCHAR(8) NOT NULL,
+    clave           BIGINT NOT NULL,
+    asignados       INTEGER NOT NULL,
+    en_curso        INTEGER NOT NULL,
+    finalizados     INTEGER NOT NULL,
+    avance_promedio DOUBLE NOT NULL,
+    dias_promedio   DOUBLE,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_metrica_historial UNIQUE (dimension, clave, fecha)
+) ENGINE = InnoDB;
@@ -0,0 +1,9 @@
+-- El mail de alta ya no guarda la contraseña en el cuerpo: lleva una marca que EmailOutboxSender
+-- reemplaza al enviarlo con la contraseña del usuario. Los mails ya encolados (enviados o no)
+-- pasan al mismo formato, así la contraseña deja de quedar copiada en email_outbox.
+ALTER TABLE email_outbox ADD COLUMN credenciales BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE email_outbox
+SET cuerpo = REGEXP_REPLACE(cuerpo, 'Contraseña: [^\r\n]*', 'Contraseña: {{contraseña}}'),
+    credenciales = TRUE
+WHERE cuerpo LIKE '%Contraseña: %';
@@ -0,0 +1,12 @@
+-- curso.fecha_creacion pasa a ser obligatoria: el catálogo pagina por (fecha_creacion, id) y un curso sin
+-- fecha quedaba fuera del keyset y rompía el cursor. Course la completa al guardarse (@PrePersist); los
+-- cursos viejos sin fecha toman la de su primera asignación o, si nunca se asignaron, la de la migración.
+-- La columna queda en milisegundos, la precisión del cursor: con microsegundos el desempate por id de los
+-- cursos con la misma fecha (todos los completados acá) nunca coincidía y el catálogo los salteaba.
+UPDATE curso
+SET fecha_creacion = COALESCE(
+        (SELECT MIN(x.fecha_asignacion) FROM usuario_x_curso x WHERE x.id_curso = curso.id),
+        CURRENT_TIMESTAMP(3))
+WHERE fecha_creacion IS NULL;
+
+ALTER TABLE curso MODIFY fecha_creacion DATETIME(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3);
@@ -0,0 +1,4 @@
+-- Contador de cambios de cada inscripción (Enrollment lo suma al actualizarse). Los ETag de los cursos lo
+-- agregan por curso junto con la versión del curso, así el avance, los favoritos y las asignaciones de
+-- los alumnos no escriben en la fila compartida de curso.
+ALTER TABLE usuario_x_curso ADD COLUMN cambios BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,61 @@
+package org.onboardme.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Los tests desactivan por defecto la exportación de métricas, y con ella /actuator/prometheus
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "onboardme.management.password=secreto")
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@DirtiesContext
+class ObservabilityConfigTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void prometheusExposesLatencyServiceRepositoryAndQueryMetrics() {
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity("/courses/catalog", String.class).getStatusCode());
+
+        ResponseEntity<String> scrape = restTemplate.withBasicAuth("actuator", "secreto")
+                .getForEntity("/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        String metrics = scrape.getBody();
+
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{"), "histograma por endpoint");
+        assertTrue(metrics.matches("(?s).*onboardme_service_seconds_count\\{[^}]*class=\"org.onboardme.services.CoursesService\""
+                + "[^}]*method=\"getCourseCatalog\"[^}]*} 1(\\.0)?\\n.*"), "timer del servicio");
+        assertTrue(metrics.matches("(?s).*spring_data_repository_invocations_seconds_count\\{[^}]*method=\"findCatalogByCreatedDate\"[^}]*repository=\"CourseRepository\".*"),
+                "timer del repositorio");
+        assertTrue(metrics.matches("(?s).*onboardme_http_server_queries_sum\\{[^}]*uri=\"/courses/catalog\"[^}]*} 1(\\.0)?\\n.*"),
+                "consultas del pedido");
+    }
+
+    @Test
+    void onlyHealthIsPublic() {
+        // El estado general depende del servidor de mail, que en los tests no existe; importa que no pida credenciales
+        assertNotEquals(HttpStatus.UNAUTHORIZED, restTemplate.getForEntity("/actuator/health", String.class).getStatusCode());
+        assertNotEquals(HttpStatus.UNAUTHORIZED, restTemplate.getForEntity("/actuator/health/db", String.class).getStatusCode());
+
+        for (String endpoint : List.of("/actuator/prometheus", "/actuator/metrics", "/actuator/caches")) {
+            assertEquals(HttpStatus.UNAUTHORIZED, restTemplate.getForEntity(endpoint, String.class).getStatusCode(), endpoint);
+            assertEquals(HttpStatus.UNAUTHORIZED, restTemplate.withBasicAuth("actuator", "otra")
+                    .getForEntity(endpoint, String.class).getStatusCode(), endpoint);
+        }
+        assertEquals(HttpStatus.OK, restTemplate.withBasicAuth("actuator", "secreto")
+                .getForEntity("/actuator/caches", String.class).getStatusCode());
+    }
+}
@@ -0,0 +1,107 @@
+package org.onboardme.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class QueryBudgetTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void stopCounting() {
+        QueryCounter.stop();
+    }
+
+    @Test
+    void everyApiEndpointDeclaresABudget() {
+        List<String> missing = new ArrayList<>();
+        for (Object controller : context.getBeansWithAnnotation(RestController.class).values()) {
+            Class<?> type = AopUtils.getTargetClass(controller);
+            for (Class<?> api : type.getInterfaces()) {
+                if (!api.getPackageName().equals("com.onboardme.api")) continue;
+                for (Method endpoint : api.getDeclaredMethods()) {
+                    if (!AnnotatedElementUtils.hasAnnotation(endpoint, RequestMapping.class)) continue;
+                    Method implementation = ReflectionUtils.findMethod(type, endpoint.getName(), endpoint.getParameterTypes());
+                    if (implementation == null || !implementation.isAnnotationPresent(QueryBudget.class)) {
+                        missing.add(type.getSimpleName() + "." + endpoint.getName());
+                    }
+                }
+            }
+        }
+        assertEquals(List.of(), missing);
+    }
+
+    @Test
+    void failsTheStatementThatExceedsTheBudget() {
+        QueryCounter.start();
+        QueryCounter.budget("GET /prueba", 2);
+        userRepository.count();
+        userRepository.count();
+
+        Exception e = assertThrows(Exception.class, userRepository::count);
+        assertTrue(causes(e, QueryBudgetExceededException.class), e.toString());
+    }
+
+    @Test
+    void groupsRepeatedStatementsWithDifferentParameters() {
+        QueryCounter.start();
+        for (long id = 1; id <= 3; id++) {
+            userRepository.findByEmail("usuario" + id + "@empresa.com");
+        }
+        userRepository.count();
+
+        QueryCounter.RequestQueries queries = QueryCounter.stop();
+        assertEquals(4, queries.getCount());
+        assertEquals(List.of(1, 3), queries.getBySql().values().stream().sorted().toList());
+    }
+
+    @Test
+    void countsJdbcTemplateStatementsLikeHibernateOnes() {
+        QueryCounter.start();
+        userRepository.count();
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usuario", Long.class);
+        jdbcTemplate.batchUpdate("UPDATE usuario SET area = area WHERE id_legajo = ?",
+                List.of(new Object[]{1L}, new Object[]{2L}));
+
+        QueryCounter.RequestQueries queries = QueryCounter.stop();
+        assertEquals(3, queries.getCount());
+        assertTrue(queries.getBySql().containsKey("SELECT COUNT(*) FROM usuario"), queries.getBySql().toString());
+    }
+
+    private static boolean causes(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (type.isInstance(t)) return true;
+        }
+        return false;
+    }
+}
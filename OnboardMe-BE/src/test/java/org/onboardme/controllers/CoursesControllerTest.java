@@ -0,0 +1,176 @@
+package org.onboardme.controllers;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.entities.content.VideoContent;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.onboardme.services.CoursesService;
+import org.onboardme.services.SectionContentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DirtiesContext
+class CoursesControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SectionContentService sectionContentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void notModifiedResponsesOnlyReadTheCourseVersion() {
+        Course course = createCourse(2);
+        Long sectionId = course.getSections().get(0).getId();
+        sectionContentService.addVideoContent(sectionId, "https://videos/intro.mp4");
+        String courseUrl = "/courses/get/" + course.getId();
+        String sectionUrl = "/sections/" + sectionId + "/content";
+
+        ResponseEntity<String> full = get(courseUrl, null);
+        assertEquals(HttpStatus.OK, full.getStatusCode());
+        String courseEtag = full.getHeaders().getETag();
+        assertNotNull(courseEtag);
+        assertEquals("no-cache, private", full.getHeaders().getCacheControl());
+
+        ResponseEntity<String> content = get(sectionUrl, null);
+        assertEquals(HttpStatus.OK, content.getStatusCode());
+        String sectionEtag = content.getHeaders().getETag();
+        assertEquals("max-age=300, must-revalidate, private", content.getHeaders().getCacheControl());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResponseEntity<String> notModified = get(courseUrl, "W/" + courseEtag);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(courseEtag, notModified.getHeaders().getETag());
+        assertNull(notModified.getBody());
+        assertEquals(HttpStatus.NOT_MODIFIED, get(sectionUrl, "\"otro\", " + sectionEtag).getStatusCode());
+
+        // Una consulta por pedido, la de la versión del curso
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Section.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(VideoContent.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Course.class.getName()).getLoadCount());
+
+        // Un contenido nuevo en cualquier sección cambia la versión del curso
+        sectionContentService.addVideoContent(course.getSections().get(1).getId(), "https://videos/segunda.mp4");
+        ResponseEntity<String> changed = get(courseUrl, courseEtag);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(courseEtag, changed.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, get(sectionUrl, sectionEtag).getStatusCode());
+    }
+
+    @Test
+    void courseListEtagChangesWhenACourseIsAdded() {
+        String etag = get("/courses", null).getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_MODIFIED, get("/courses", etag).getStatusCode());
+
+        createCourse(1);
+        assertEquals(HttpStatus.OK, get("/courses", etag).getStatusCode());
+    }
+
+    @Test
+    void learnerWritesChangeTheEtagWithoutTouchingTheCourseRow() {
+        User buddy = createUser("etag.buddy@empresa.com", null);
+        User learner = createUser("etag.alumno@empresa.com", buddy);
+        Course course = createCourse(2);
+        String courseUrl = "/courses/get/" + course.getId();
+        long version = courseRepository.findVersionById(course.getId()).orElseThrow();
+
+        String etag = get(courseUrl, null).getHeaders().getETag();
+        String listEtag = get("/courses", null).getHeaders().getETag();
+        coursesService.assignCourse(course.getId(), buddy.getId(), learner.getId());
+        etag = assertChanged(courseUrl, etag);
+        coursesService.favCourse(course.getId(), learner.getId());
+        etag = assertChanged(courseUrl, etag);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> coursesService.updateCourseProgress(
+                course.getId(), learner.getId(), course.getSections().get(0).getId()));
+        etag = assertChanged(courseUrl, etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, get(courseUrl, etag).getStatusCode());
+        assertChanged("/courses", listEtag);
+
+        assertEquals(version, courseRepository.findVersionById(course.getId()).orElseThrow());
+    }
+
+    private String assertChanged(String url, String etag) {
+        ResponseEntity<String> response = get(url, etag);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+        return response.getHeaders().getETag();
+    }
+
+    private ResponseEntity<String> get(String url, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private User createUser(String email, User buddy) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("Empleado");
+        user.setEmail(email);
+        user.setBuddy(buddy);
+        return userRepository.save(user);
+    }
+
+    private Course createCourse(int sectionCount) {
+        Course course = new Course();
+        course.setTitle("Curso con versión");
+        course.setArea("IT");
+
+        List<Section> sections = new ArrayList<>();
+        for (int s = 1; s <= sectionCount; s++) {
+            Section section = new Section();
+            section.setTitle("Sección " + s);
+            section.setOrder(s);
+            section.setCourse(course);
+            sections.add(section);
+        }
+        course.setSections(sections);
+        return courseRepository.save(course);
+    }
+}
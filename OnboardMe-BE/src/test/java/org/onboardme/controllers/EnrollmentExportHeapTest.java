@@ -0,0 +1,75 @@
+package org.onboardme.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exporta un millón de inscripciones con poco heap: si las filas se juntaran en memoria el test
+ * termina en OutOfMemoryError. Corre sólo con {@code mvn -Pheap-tests test} (ver pom.xml),
+ * con {@code -Xmx256m} y una base H2 en disco para que los datos tampoco ocupen el heap.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties =
+        "spring.datasource.url=jdbc:h2:file:./target/export-heap/${random.uuid};MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,ORDER")
+@ActiveProfiles("test")
+@DirtiesContext
+class EnrollmentExportHeapTest {
+
+    private static final int USERS = 10_000;
+    private static final int COURSES = 100;
+    private static final long MAX_HEAP = 300L * 1024 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportsAMillionEnrollmentsWithABoundedHeap() throws Exception {
+        assertTrue(Runtime.getRuntime().maxMemory() <= MAX_HEAP,
+                "Correr con mvn -Pheap-tests test (-Xmx256m)");
+
+        // Los ids los genera la base: el esquema ya trae usuarios y cursos de ejemplo
+        jdbcTemplate.update("INSERT INTO usuario (nombre, apellido, email, estado) "
+                + "SELECT 'Empleado', 'Número ' || n, 'empleado' || n || '@export.com', 1 FROM (SELECT \"X\" AS n FROM SYSTEM_RANGE(1, ?))", USERS);
+        jdbcTemplate.update("INSERT INTO curso (titulo, area, version) "
+                + "SELECT 'Exportado ' || n, 'IT', 0 FROM (SELECT \"X\" AS n FROM SYSTEM_RANGE(1, ?))", COURSES);
+        jdbcTemplate.update("INSERT INTO usuario_x_curso (id_usuario, id_curso, fecha_asignacion, estado, progreso) "
+                + "SELECT u.id_legajo, c.id, CURRENT_TIMESTAMP, 'ASIGNADO', 0 FROM usuario u CROSS JOIN curso c "
+                + "WHERE u.email LIKE '%@export.com' AND c.titulo LIKE 'Exportado %'");
+
+        Long enrollments = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usuario_x_curso", Long.class);
+        assertTrue(enrollments >= (long) USERS * COURSES);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/exports/enrollments")).build();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+
+        long lines = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+            }
+        }
+        assertEquals(enrollments + 1, lines);
+    }
+}
@@ -0,0 +1,156 @@
+package org.onboardme.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.onboardme.services.CoursesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "onboardme.exports.max-concurrent=1")
+@ActiveProfiles("test")
+@DirtiesContext
+class ExportControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void exportsEnrollmentsAndCompletionAsCsvAndNdjson() throws Exception {
+        User buddy = createUser("Bruno", "Buddy", "export.buddy@empresa.com", null);
+        User first = createUser("Ana, María", "O\"Neil", "export.uno@empresa.com", buddy);
+        User second = createUser("Juan", "Pérez", "export.dos@empresa.com", buddy);
+        createUser("Sin", "Buddy", "export.otro@empresa.com", null);
+        Course course = createCourse("=Curso, avanzado");
+        coursesService.assignCourse(course.getId(), buddy.getId(), first.getId());
+        coursesService.assignCourse(course.getId(), buddy.getId(), second.getId());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> coursesService.updateCourseProgress(
+                course.getId(), first.getId(), course.getSections().get(0).getId()));
+
+        HttpResponse<String> csv = get("/exports/enrollments?idBuddy=" + buddy.getId());
+        assertEquals(200, csv.statusCode());
+        assertEquals("text/csv;charset=UTF-8", csv.headers().firstValue("Content-Type").orElseThrow());
+        assertTrue(csv.headers().firstValue("Content-Disposition").orElseThrow().startsWith("attachment; filename=\"inscripciones-"));
+        String[] lines = csv.body().split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("\uFEFFuserId,firstName,lastName,email,buddyId,courseId,courseTitle,status,enrolledAt,finishedDate,progress", lines[0]);
+        assertTrue(lines[1].startsWith(first.getId() + ",\"Ana, María\",\"O\"\"Neil\",export.uno@empresa.com," + buddy.getId()
+                + "," + course.getId() + ",\"'=Curso, avanzado\",FINALIZADO,"), lines[1]);
+        assertTrue(lines[1].endsWith(",100.0"), lines[1]);
+        assertTrue(lines[2].startsWith(second.getId() + ",Juan,Pérez,"), lines[2]);
+        assertTrue(lines[2].contains(",ASIGNADO,"), lines[2]);
+
+        HttpResponse<String> ndjson = get("/exports/enrollments?format=ndjson&idCourse=" + course.getId());
+        assertEquals("application/x-ndjson", ndjson.headers().firstValue("Content-Type").orElseThrow());
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : ndjson.body().split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertEquals(2, rows.size());
+        assertEquals("Ana, María", rows.get(0).get("firstName").asText());
+        assertEquals("=Curso, avanzado", rows.get(0).get("courseTitle").asText());
+        assertEquals(100.0, rows.get(0).get("progress").asDouble());
+        assertTrue(rows.get(1).get("finishedDate").isNull());
+
+        HttpResponse<String> completion = get("/exports/user-course-completion?format=ndjson&idBuddy=" + buddy.getId());
+        List<String> summary = new ArrayList<>();
+        for (String line : completion.body().split("\n")) {
+            JsonNode row = objectMapper.readTree(line);
+            summary.add(row.get("userId").asLong() + ":" + row.get("completedCourses").asInt() + "/"
+                    + row.get("totalCourses").asInt() + "=" + row.get("completionPercentage").asInt());
+        }
+        assertEquals(List.of(first.getId() + ":1/1=100", second.getId() + ":0/1=0"), summary);
+
+        assertEquals(400, get("/exports/enrollments?format=xlsx").statusCode());
+    }
+
+    @Test
+    void abortedExportsGiveTheirSlotBack() throws Exception {
+        // Con un solo lugar, cada cliente que se va sin leer la respuesta no puede dejarlo tomado
+        for (int i = 0; i < 5; i++) {
+            try (Socket socket = new Socket("localhost", port)) {
+                OutputStream out = socket.getOutputStream();
+                out.write("GET /exports/enrollments HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+            }
+        }
+
+        // El lugar vuelve al terminar el request, que con el cliente ido puede tardar un poco
+        int status = 0;
+        for (int i = 0; i < 50 && status != 200; i++) {
+            status = get("/exports/enrollments").statusCode();
+            if (status != 200) {
+                Thread.sleep(100);
+            }
+        }
+        assertEquals(200, status);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private User createUser(String firstName, String lastName, String email, User buddy) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        user.setPassword("clave");
+        user.setBuddy(buddy);
+        return userRepository.save(user);
+    }
+
+    private Course createCourse(String title) {
+        Course course = new Course();
+        course.setTitle(title);
+        course.setArea("IT");
+
+        Section section = new Section();
+        section.setTitle("Única");
+        section.setOrder(1);
+        section.setCourse(course);
+        course.setSections(new ArrayList<>(List.of(section)));
+        return courseRepository.save(course);
+    }
+}
@@ -0,0 +1,157 @@
+package org.onboardme.controllers;
+
+import com.onboardme.model.DocumentContentDTO;
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.services.SectionContentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DirtiesContext
+class FilesControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SectionContentService sectionContentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void storesUploadsOnceAndServesRangesAndConditionalRequests() {
+        byte[] pdf = new byte[200_000];
+        new Random(7).nextBytes(pdf);
+        List<Section> sections = createCourse(2).getSections();
+
+        String url = sectionContentService.uploadDocumentContent(sections.get(0).getId(), new MockMultipartFile("file", "Guía.PDF", "application/pdf", pdf));
+        String again = sectionContentService.uploadDocumentContent(sections.get(1).getId(), new MockMultipartFile("file", "copia.pdf", "application/pdf", pdf));
+        assertEquals(url, again);
+        assertTrue(url.matches("/files/[0-9a-f]{64}\\.pdf"));
+        var content = assertInstanceOf(DocumentContentDTO.class, sectionContentService.getSectionContent(sections.get(1).getId()));
+        assertEquals(url, content.getUrl());
+
+        ResponseEntity<byte[]> full = get(url, new HttpHeaders());
+        assertEquals(HttpStatus.OK, full.getStatusCode());
+        assertArrayEquals(pdf, full.getBody());
+        assertEquals("application/pdf", full.getHeaders().getContentType().toString());
+        assertEquals("bytes", full.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        String etag = full.getHeaders().getETag();
+
+        HttpHeaders range = new HttpHeaders();
+        range.set(HttpHeaders.RANGE, "bytes=100-199");
+        ResponseEntity<byte[]> partial = get(url, range);
+        assertEquals(HttpStatus.PARTIAL_CONTENT, partial.getStatusCode());
+        assertEquals("bytes 100-199/" + pdf.length, partial.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(pdf, 100, 200), partial.getBody());
+
+        HttpHeaders staleRange = new HttpHeaders();
+        staleRange.set(HttpHeaders.RANGE, "bytes=100-199");
+        staleRange.set(HttpHeaders.IF_RANGE, "\"otro\"");
+        assertEquals(HttpStatus.OK, get(url, staleRange).getStatusCode());
+
+        HttpHeaders outOfBounds = new HttpHeaders();
+        outOfBounds.set(HttpHeaders.RANGE, "bytes=" + pdf.length + "-");
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, get(url, outOfBounds).getStatusCode());
+
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, get(url, conditional).getStatusCode());
+
+        assertEquals(HttpStatus.NOT_FOUND, get("/files/" + "0".repeat(64) + ".pdf", new HttpHeaders()).getStatusCode());
+        assertTrue(get("/files/..%2Fapplication.yml", new HttpHeaders()).getStatusCode().is4xxClientError());
+    }
+
+    @Test
+    void uploadEndpointSavesTheDocumentAndChangesTheCourseEtag() {
+        Course course = createCourse(1);
+        Long sectionId = course.getSections().get(0).getId();
+        String courseUrl = "/courses/get/" + course.getId();
+        String etag = get(courseUrl, new HttpHeaders()).getHeaders().getETag();
+
+        LinkedMultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("file", new ByteArrayResource("%PDF-1.4 manual".getBytes()) {
+            @Override
+            public String getFilename() {
+                return "manual.pdf";
+            }
+        });
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        ResponseEntity<String> upload = restTemplate.postForEntity(
+                "/sections/" + sectionId + "/document/upload", new HttpEntity<>(form, headers), String.class);
+        assertEquals(HttpStatus.OK, upload.getStatusCode());
+
+        assertEquals(List.of(upload.getBody()), jdbcTemplate.queryForList("""
+                SELECT d.url FROM document_content d JOIN section_content c ON c.id_content = d.id_content
+                WHERE c.id_section = ?""", String.class, sectionId));
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(etag);
+        ResponseEntity<byte[]> changed = get(courseUrl, conditional);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    void rejectsExtensionsThatAreNotDocuments() {
+        Long sectionId = createCourse(1).getSections().get(0).getId();
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> sectionContentService.uploadDocumentContent(
+                sectionId, new MockMultipartFile("file", "pagina.html", "text/html", "<script></script>".getBytes())));
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getStatusCode());
+    }
+
+    private ResponseEntity<byte[]> get(String url, HttpHeaders headers) {
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private Course createCourse(int sectionCount) {
+        Course course = new Course();
+        course.setTitle("Curso con documentos");
+        course.setArea("IT");
+
+        List<Section> sections = new ArrayList<>();
+        for (int s = 1; s <= sectionCount; s++) {
+            Section section = new Section();
+            section.setTitle("Sección " + s);
+            section.setOrder(s);
+            section.setCourse(course);
+            sections.add(section);
+        }
+        course.setSections(sections);
+        return courseRepository.save(course);
+    }
+}
@@ -0,0 +1,137 @@
+package org.onboardme.controllers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.onboardme.services.NotificationStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mil conexiones SSE ociosas: cada una tiene que costar un heap acotado y ningún hilo, y un heartbeat a
+ * todas lo reparten los dos hilos de {@code notificationStreamExecutor}. Corre sólo con
+ * {@code mvn -Pheap-tests test} (ver pom.xml), con {@code -Xmx256m}. Los clientes son sockets crudos en
+ * la misma JVM, que casi no ocupan heap, así la medición es la del servidor.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "onboardme.notifications.stream.max-streams=" + NotificationStreamHeapTest.CONNECTIONS,
+        "onboardme.notifications.stream.heartbeat=1h"
+})
+@ActiveProfiles("test")
+@DirtiesContext
+class NotificationStreamHeapTest {
+
+    static final int CONNECTIONS = 1000;
+    private static final int USERS = 500;
+    private static final long MAX_HEAP = 300L * 1024 * 1024;
+    // Medido: unos 120 KB, casi todo buffers de Tomcat por request (encabezados, socket, entrada y salida)
+    private static final long MAX_BYTES_PER_CONNECTION = 150 * 1024;
+    private static final int MAX_NEW_THREADS = 20;
+    private static final long HEARTBEAT_MILLIS = 10_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @AfterEach
+    void disconnect() throws Exception {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        // El servidor se entera del cierre al escribir el siguiente heartbeat
+        for (int i = 0; i < 50 && notificationStreamService.getOpenStreams() > 0; i++) {
+            notificationStreamService.heartbeat();
+            Thread.sleep(100);
+        }
+        assertEquals(0, notificationStreamService.getOpenStreams());
+    }
+
+    @Test
+    void idleStreamsCostLittleHeapAndNoThreads() throws Exception {
+        assertTrue(Runtime.getRuntime().maxMemory() <= MAX_HEAP,
+                "Correr con mvn -Pheap-tests test (-Xmx256m)");
+
+        jdbcTemplate.update("INSERT INTO usuario (nombre, apellido, email, estado) "
+                + "SELECT 'Conectado', 'Número ' || n, 'conectado' || n || '@sse.com', 1 FROM (SELECT \"X\" AS n FROM SYSTEM_RANGE(1, ?))", USERS);
+        List<Long> users = jdbcTemplate.queryForList("SELECT id_legajo FROM usuario WHERE email LIKE '%@sse.com'", Long.class);
+
+        // Una conexión de calentamiento, para que la medición no cuente lo que Tomcat y Spring crean una sola vez
+        connect(users.get(0));
+        long heapBefore = usedHeap();
+        int threadsBefore = Thread.activeCount();
+
+        for (int i = 1; i < CONNECTIONS; i++) {
+            connect(users.get(i % users.size()));
+        }
+        assertEquals(CONNECTIONS, notificationStreamService.getOpenStreams());
+
+        long perConnection = (usedHeap() - heapBefore) / (CONNECTIONS - 1);
+        int newThreads = Thread.activeCount() - threadsBefore;
+        assertTrue(perConnection <= MAX_BYTES_PER_CONNECTION, "Heap por conexión: " + perConnection + " bytes");
+        assertTrue(newThreads <= MAX_NEW_THREADS, "Hilos nuevos con " + CONNECTIONS + " conexiones: " + newThreads);
+
+        // Un heartbeat encola un envío por conexión; lo resuelven los hilos del executor, no uno por cliente
+        long start = System.nanoTime();
+        notificationStreamService.heartbeat();
+        for (Socket socket : sockets) {
+            readUntil(socket, ":ping");
+        }
+        long heartbeatMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(heartbeatMillis <= HEARTBEAT_MILLIS, "Heartbeat a " + CONNECTIONS + " conexiones: " + heartbeatMillis + " ms");
+        long senders = Thread.getAllStackTraces().keySet().stream().filter(t -> t.getName().startsWith("sse-")).count();
+        assertTrue(senders <= 2, "Hilos de envío: " + senders);
+    }
+
+    private void connect(Long userId) throws IOException {
+        Socket socket = new Socket("localhost", port);
+        socket.setSoTimeout(10_000);
+        sockets.add(socket);
+        socket.getOutputStream().write(("GET /notifications/" + userId + "/stream HTTP/1.1\r\n"
+                + "Host: localhost\r\nAccept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        readUntil(socket, "unread-count");
+    }
+
+    // Lee la conexión hasta ver el texto; lo que venga después queda para la próxima lectura
+    private static void readUntil(Socket socket, String text) throws IOException {
+        InputStream in = socket.getInputStream();
+        byte[] expected = text.getBytes(StandardCharsets.US_ASCII);
+        int matched = 0;
+        while (matched < expected.length) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Se cerró la conexión esperando " + text);
+            }
+            matched = b == expected[matched] ? matched + 1 : (b == expected[0] ? 1 : 0);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,156 @@
+package org.onboardme.controllers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.Notification;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.UserRepository;
+import org.onboardme.services.NotificationService;
+import org.onboardme.services.NotificationStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "onboardme.notifications.stream.max-streams=2")
+@ActiveProfiles("test")
+@DirtiesContext
+class NotificationStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<CompletableFuture<HttpResponse<Stream<String>>>> connections = new ArrayList<>();
+
+    @AfterEach
+    void disconnect() throws InterruptedException {
+        // Cerrar el cuerpo corta la conexión; el servidor se entera al escribir el siguiente heartbeat
+        connections.forEach(connection -> connection.thenAccept(response -> response.body().close()));
+        for (int i = 0; i < 50 && notificationStreamService.getOpenStreams() > 0; i++) {
+            notificationStreamService.heartbeat();
+            Thread.sleep(100);
+        }
+        assertEquals(0, notificationStreamService.getOpenStreams());
+    }
+
+    @Test
+    void pushesNewNotificationsAndResumesFromLastEventId() throws Exception {
+        User user = createUser("sse@empresa.com");
+        send(user, "Primera");
+
+        BlockingQueue<String> events = connect(user, null);
+        assertEquals("unread-count {\"count\":1}", next(events));
+
+        Notification second = send(user, "Segunda");
+        assertEquals("notification " + second.getId() + " Segunda", next(events));
+        assertEquals("unread-count {\"count\":2}", next(events));
+
+        // Lo que se guardó mientras el cliente estaba desconectado sale de la tabla, en orden
+        Notification third = send(user, "Tercera");
+        Notification fourth = send(user, "Cuarta");
+        BlockingQueue<String> resumed = connect(user, second.getId());
+        assertEquals("notification " + third.getId() + " Tercera", next(resumed));
+        assertEquals("notification " + fourth.getId() + " Cuarta", next(resumed));
+        assertEquals("unread-count {\"count\":4}", next(resumed));
+    }
+
+    @Test
+    void rejectsStreamsOverTheNodeLimit() throws Exception {
+        User user = createUser("limite@empresa.com");
+        next(connect(user, null));
+        next(connect(user, null));
+
+        HttpResponse<Void> rejected = client.send(request(user, null), HttpResponse.BodyHandlers.discarding());
+        assertEquals(503, rejected.statusCode());
+        assertEquals(2, notificationStreamService.getOpenStreams());
+    }
+
+    private BlockingQueue<String> connect(User user, Long lastEventId) {
+        // Cada evento se resume en una línea: "<nombre> [<id>] <título o datos>"
+        BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        List<String> lines = new ArrayList<>();
+        CompletableFuture<HttpResponse<Stream<String>>> connection =
+                client.sendAsync(request(user, lastEventId), HttpResponse.BodyHandlers.ofLines());
+        connections.add(connection);
+        connection.thenAcceptAsync(response -> response.body().forEach(line -> {
+                    if (!line.isEmpty()) {
+                        lines.add(line);
+                        return;
+                    }
+                    String name = value(lines, "event:");
+                    String id = value(lines, "id:");
+                    String data = value(lines, "data:");
+                    if (name != null) {
+                        events.add(name + (id != null ? " " + id + " " + data.replaceAll(".*\"title\":\"([^\"]*)\".*", "$1") : " " + data));
+                    }
+                    lines.clear();
+                }));
+        return events;
+    }
+
+    private HttpRequest request(User user, Long lastEventId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/notifications/" + user.getId() + "/stream"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", String.valueOf(lastEventId));
+        }
+        return builder.timeout(Duration.ofSeconds(30)).build();
+    }
+
+    private static String value(List<String> lines, String field) {
+        return lines.stream().filter(line -> line.startsWith(field)).map(line -> line.substring(field.length())).findFirst().orElse(null);
+    }
+
+    private static String next(BlockingQueue<String> events) throws InterruptedException {
+        String event = events.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event, "No llegó el evento");
+        return event;
+    }
+
+    private Notification send(User user, String title) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setTitle(title);
+        notification.setMessage("Mensaje");
+        notification.setSentDate(new Date());
+        notification.setSeen(false);
+        return notificationService.send(notification);
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setEmail(email);
+        user.setPassword("clave");
+        return userRepository.save(user);
+    }
+}
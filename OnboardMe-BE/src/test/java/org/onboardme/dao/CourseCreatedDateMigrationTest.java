@@ -0,0 +1,55 @@
+package org.onboardme.dao;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * V7 sobre cursos cargados sin fecha de creación.
+ */
+class CourseCreatedDateMigrationTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:migracion_fecha_curso;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,ORDER;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @Test
+    void backfillsMissingDatesAndRequiresThem() {
+        migrate("6");
+        Timestamp created = Timestamp.valueOf("2024-03-01 10:00:00");
+        Timestamp firstAssignment = Timestamp.valueOf("2024-05-02 09:30:00");
+        jdbcTemplate.update("INSERT INTO curso (id, titulo, version, fecha_creacion) VALUES (1, 'Con fecha', 0, ?)", created);
+        jdbcTemplate.update("INSERT INTO curso (id, titulo, version) VALUES (2, 'Asignado', 0), (3, 'Nunca asignado', 0)");
+        jdbcTemplate.update("INSERT INTO usuario (id_legajo, email) VALUES (1, 'a@empresa.com'), (2, 'b@empresa.com')");
+        jdbcTemplate.update("INSERT INTO usuario_x_curso (id_usuario, id_curso, fecha_asignacion) VALUES (1, 2, ?), (2, 2, ?)",
+                Timestamp.valueOf("2024-06-10 12:00:00"), firstAssignment);
+
+        migrate(null);
+
+        assertEquals(created, fechaCreacion(1));
+        assertEquals(firstAssignment, fechaCreacion(2));
+        assertNotNull(fechaCreacion(3));
+        // Un alta por SQL sin fecha toma la actual en vez de quedar fuera del catálogo
+        jdbcTemplate.update("INSERT INTO curso (id, titulo, version) VALUES (4, 'Nuevo', 0)");
+        assertNotNull(fechaCreacion(4));
+    }
+
+    private Timestamp fechaCreacion(long id) {
+        return jdbcTemplate.queryForObject("SELECT fecha_creacion FROM curso WHERE id = ?", Timestamp.class, id);
+    }
+
+    private void migrate(String target) {
+        var configuration = Flyway.configure().dataSource(dataSource);
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+}
@@ -0,0 +1,70 @@
+package org.onboardme.dao;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Una base creada por Hibernate con las entidades originales (db/esquema_hibernate_original.sql), con
+ * datos y sin historial de Flyway, migrada con la misma configuración de baseline que application.yml.
+ */
+class ExistingSchemaBaselineTest {
+
+    private static final String COLUMNS = """
+            SELECT table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable
+            FROM information_schema.columns
+            WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history'
+            ORDER BY table_name, column_name
+            """;
+
+    private final DataSource legacy = dataSource("migracion_baseline");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(legacy);
+
+    @Test
+    void baselinedSchemaEndsLikeAFreshOne() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/esquema_hibernate_original.sql")).execute(legacy);
+        jdbcTemplate.update("INSERT INTO usuario (id_legajo, email) VALUES (1, 'existente@empresa.com')");
+        jdbcTemplate.update("INSERT INTO curso (id, titulo) VALUES (1, 'Curso viejo')");
+        jdbcTemplate.update("INSERT INTO seccion (id, titulo, orden, id_curso) VALUES (1, 'b', '2', 1), (2, 'a', '1', 1)");
+        jdbcTemplate.update("INSERT INTO usuario_x_curso (id_usuario, id_curso, id_seccion) VALUES (1, 1, 2)");
+
+        MigrateResult result = Flyway.configure()
+                .dataSource(legacy)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        // Recibe todas las migraciones que corre una base nueva salvo V1, contra la que se marcó
+        DataSource fresh = dataSource("migracion_nueva");
+        List<String> all = versions(Flyway.configure().dataSource(fresh).load().migrate());
+        assertEquals(all.subList(1, all.size()), versions(result));
+        assertEquals("BASELINE", jdbcTemplate.queryForObject(
+                "SELECT \"type\" FROM flyway_schema_history WHERE \"version\" = '1'", String.class));
+        assertEquals(List.of("a", "b"),
+                jdbcTemplate.queryForList("SELECT titulo FROM seccion WHERE id_curso = 1 ORDER BY orden", String.class));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT fecha_creacion FROM curso WHERE id = 1", Object.class));
+
+        // Y termina con las mismas columnas, contra las que los tests validan las entidades
+        assertEquals(new JdbcTemplate(fresh).queryForList(COLUMNS, String.class), jdbcTemplate.queryForList(COLUMNS, String.class));
+    }
+
+    private static List<String> versions(MigrateResult result) {
+        return result.migrations.stream().map(migration -> migration.version).toList();
+    }
+
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,ORDER;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
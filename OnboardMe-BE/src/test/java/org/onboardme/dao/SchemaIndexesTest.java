@@ -0,0 +1,106 @@
+package org.onboardme.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.onboardme.config.QueryCounter;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.EnrollmentRepository;
+import org.onboardme.dao.repositories.ExamResultRepository;
+import org.onboardme.dao.repositories.SectionRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Planes de las consultas frecuentes sobre el esquema de las migraciones (H2 en modo MySQL):
+ * se ejecuta el método del repositorio, se toma la SQL que generó Hibernate y se le hace EXPLAIN
+ * con los mismos parámetros. El plan tiene que resolver el filtro con un índice y no recorrer la tabla.
+ *
+ * <p>Se verifica la condición que resuelve el índice y no su nombre: H2 conserva el índice propio de
+ * cada FK junto a los compuestos de V2 y elige cualquiera de los dos, mientras que MySQL descarta el de la FK.</p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class SchemaIndexesTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SectionRepository sectionRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private ExamResultRepository examResultRepository;
+
+    private final List<String> wrongPlans = new ArrayList<>();
+
+    @AfterEach
+    void stopCounting() {
+        QueryCounter.stop();
+    }
+
+    @Test
+    void hotQueriesUseAnIndex() {
+        User employee = userRepository.findByEmail("laura.empleado@empresa.com").orElseThrow();
+        Long userId = employee.getId();
+        Long buddyId = employee.getBuddy().getId();
+        Long courseId = courseRepository.findByTitle("Curso Inicial").orElseThrow().getId();
+
+        expectLookup("email = ?1", () -> userRepository.findByEmail(employee.getEmail()), employee.getEmail());
+        expectLookup("buddy_id = ?1", () -> userRepository.findByBuddyId(buddyId), buddyId);
+        expectLookup("titulo = ?1", () -> courseRepository.findByTitle("Curso Inicial"), "Curso Inicial");
+        expectLookup("titulo = ?1", () -> sectionRepository.findByTitle("Bienvenida"), "Bienvenida");
+        expectLookup("id_curso = ?1", () -> sectionRepository.countByCourseId(courseId), courseId);
+        expectLookup("id_curso = ?1", () -> sectionRepository.findStatsByCourseId(courseId), courseId);
+        expectLookup("id_usuario = ?1", () -> enrollmentRepository.findByUserIdAndCourseId(userId, courseId), userId, courseId);
+        expectLookup("id_usuario = ?1", () -> enrollmentRepository.findByUserIdAndFavoriteTrue(userId), userId);
+        expectLookup("id_curso = ?1", () -> enrollmentRepository.findByCourseId(courseId), courseId);
+        expectLookup("id_curso = ?1", () -> enrollmentRepository.findByCourseAndOptionalBuddy(courseId, buddyId), courseId, buddyId, buddyId);
+        expectLookup("id_curso = ?1", () -> enrollmentRepository.findRowsByCourseId(courseId), courseId);
+        expectLookup("user_id = ?1", () -> examResultRepository.findByUserAndExam(userId, 1L), userId, 1L);
+
+        assertEquals(List.of(), wrongPlans);
+    }
+
+    @Test
+    void emailsAreUnique() {
+        User copy = new User();
+        copy.setEmail("laura.empleado@empresa.com");
+
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.save(copy));
+    }
+
+    private void expectLookup(String indexCondition, Runnable query, Object... params) {
+        QueryCounter.start();
+        query.run();
+        // La primera sentencia es la del repositorio; las siguientes cargan asociaciones EAGER
+        String sql = QueryCounter.stop().getBySql().keySet().iterator().next();
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, params);
+        if (plan.contains(".tableScan") || !plan.matches("(?s).*/\\* public\\.\\w+: " + Pattern.quote(indexCondition) + ".*")) {
+            wrongPlans.add(plan);
+        }
+    }
+}
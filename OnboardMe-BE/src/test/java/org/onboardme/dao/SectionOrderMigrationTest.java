@@ -0,0 +1,53 @@
+package org.onboardme.dao;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * V3 sobre datos cargados con el esquema anterior (orden como texto).
+ */
+class SectionOrderMigrationTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:migracion_orden;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,ORDER;DB_CLOSE_DELAY=-1", "sa", "");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @Test
+    void renumbersEachCourseByItsNumericOrder() {
+        migrate("2");
+        jdbcTemplate.update("INSERT INTO curso (id, titulo, version) VALUES (1, 'Uno', 0), (2, 'Dos', 0)");
+        jdbcTemplate.update("""
+                INSERT INTO seccion (id, titulo, orden, id_curso) VALUES
+                    (10, 'c', '10', 1), (11, 'a', '2', 1), (12, 'sin orden', NULL, 1), (13, 'd', 'cuatro', 1), (14, 'b', ' 3 ', 1),
+                    (20, 'única', '7', 2)
+                """);
+        jdbcTemplate.update("INSERT INTO usuario (id_legajo, email) VALUES (1, 'a@empresa.com')");
+        jdbcTemplate.update("INSERT INTO usuario_x_curso (id_usuario, id_curso, id_seccion, progreso, cantidad_secciones) VALUES (1, 1, 11, 40, 5)");
+
+        migrate(null);
+
+        assertEquals(List.of("a", "b", "c", "sin orden", "d"),
+                jdbcTemplate.queryForList("SELECT titulo FROM seccion WHERE id_curso = 1 ORDER BY orden", String.class));
+        assertEquals(List.of(1, 2, 3, 4, 5),
+                jdbcTemplate.queryForList("SELECT orden FROM seccion WHERE id_curso = 1 ORDER BY orden", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT orden FROM seccion WHERE id = 20", Integer.class));
+        // El avance se recalcula al arrancar con los órdenes nuevos
+        assertNull(jdbcTemplate.queryForObject("SELECT cantidad_secciones FROM usuario_x_curso", Integer.class));
+    }
+
+    private void migrate(String target) {
+        var configuration = Flyway.configure().dataSource(dataSource);
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+}
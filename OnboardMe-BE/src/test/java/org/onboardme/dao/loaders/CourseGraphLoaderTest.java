@@ -0,0 +1,150 @@
+package org.onboardme.dao.loaders;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.*;
+import org.onboardme.dao.entities.content.ExamContent;
+import org.onboardme.dao.entities.content.ExamOption;
+import org.onboardme.dao.entities.content.ExamQuestion;
+import org.onboardme.dao.entities.content.VideoContent;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.EnrollmentRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.onboardme.services.CoursesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class CourseGraphLoaderTest {
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithCoursesSectionsOrEnrollments() {
+        List<User> learners = userRepository.findAll();
+        User learner = userRepository.findByEmail("laura.empleado@empresa.com").orElseThrow();
+
+        createCourses(5, 2, learners);
+        long small = countStatements(() -> coursesService.getCourses());
+        long smallByUser = countStatements(() -> coursesService.getCoursesByUser(learner.getId()));
+
+        createCourses(30, 6, learners);
+        long large = countStatements(() -> coursesService.getCourses());
+        long largeByUser = countStatements(() -> coursesService.getCoursesByUser(learner.getId()));
+
+        assertEquals(small, large, "getCourses");
+        assertEquals(smallByUser, largeByUser, "getCoursesByUser");
+        assertTrue(large <= 10, "getCourses ejecutó " + large + " sentencias");
+    }
+
+    @Test
+    void getCourseByIdLoadsWholeStructure() {
+        Course course = createCourses(1, 6, userRepository.findAll()).get(0);
+
+        long statements = countStatements(() -> {
+            var dto = coursesService.getCourseById(course.getId());
+            assertEquals(6, dto.getSections().size());
+        });
+
+        assertTrue(statements <= 12, "getCourseById ejecutó " + statements + " sentencias");
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Course> createCourses(int courses, int sectionsPerCourse, List<User> learners) {
+        User creator = learners.get(0);
+        List<Course> created = new ArrayList<>();
+        for (int c = 0; c < courses; c++) {
+            Course course = new Course();
+            course.setTitle("Curso sintético " + c);
+            course.setArea("IT");
+            course.setCreatedBy(creator);
+
+            List<Section> sections = new ArrayList<>();
+            for (int s = 1; s <= sectionsPerCourse; s++) {
+                Section section = new Section();
+                section.setTitle("Sección " + c + "-" + s);
+                section.setOrder(s);
+                section.setCourse(course);
+                section.setContent(s % 2 == 0 ? exam(section) : video(section));
+                sections.add(section);
+            }
+            course.setSections(sections);
+            Course saved = courseRepository.save(course);
+            created.add(saved);
+
+            for (User learner : learners) {
+                enrollmentRepository.save(new Enrollment(new EnrollmentId(learner.getId(), saved.getId()),
+                        learner, saved, new Date(), null, "ASIGNADO", false, null));
+            }
+        }
+        return created;
+    }
+
+    private SectionContent video(Section section) {
+        VideoContent video = new VideoContent();
+        video.setUrl("https://example.com/video");
+        video.setSection(section);
+        return video;
+    }
+
+    private SectionContent exam(Section section) {
+        ExamContent exam = new ExamContent();
+        exam.setSection(section);
+        List<ExamQuestion> questions = new ArrayList<>();
+        for (int q = 0; q < 3; q++) {
+            ExamQuestion question = new ExamQuestion();
+            question.setText("Pregunta " + q);
+            List<ExamOption> options = new ArrayList<>();
+            for (int o = 0; o < 3; o++) {
+                ExamOption option = new ExamOption();
+                option.setText("Opción " + o);
+                option.setCorrect(o == 0);
+                options.add(option);
+            }
+            question.setOptions(options);
+            questions.add(question);
+        }
+        exam.setQuestions(questions);
+        return exam;
+    }
+}
@@ -0,0 +1,105 @@
+package org.onboardme.services;
+
+import com.onboardme.model.SectionDTO;
+import com.onboardme.model.VideoContentDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.entities.content.VideoContent;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class CourseStructureServiceTest {
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private SectionContentService sectionContentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void getCourseByIdReadsSectionsFromCacheAfterFirstCall() {
+        Course course = createCourse(4);
+        coursesService.getCourseById(course.getId());
+
+        statistics.clear();
+        var dto = coursesService.getCourseById(course.getId());
+
+        assertEquals(4, dto.getSections().size());
+        assertEquals(0, statistics.getEntityStatistics(Section.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(VideoContent.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void addingContentInvalidatesSectionAndCourse() {
+        Course course = createCourse(2);
+        Long sectionId = course.getSections().get(0).getId();
+        assertNull(sectionContentService.getSectionContent(sectionId));
+        coursesService.getCourseById(course.getId());
+
+        sectionContentService.addVideoContent(sectionId, "https://example.com/nuevo");
+
+        var content = assertInstanceOf(VideoContentDTO.class, sectionContentService.getSectionContent(sectionId));
+        assertEquals("https://example.com/nuevo", content.getUrl());
+        SectionDTO section = coursesService.getCourseById(course.getId()).getSections().stream()
+                .filter(s -> s.getId().equals(sectionId))
+                .findFirst()
+                .orElseThrow();
+        assertInstanceOf(VideoContentDTO.class, section.getContent());
+    }
+
+    private Course createCourse(int sectionCount) {
+        User creator = userRepository.findAll().get(0);
+        Course course = new Course();
+        course.setTitle("Curso cacheado");
+        course.setArea("IT");
+        course.setCreatedBy(creator);
+
+        List<Section> sections = new ArrayList<>();
+        for (int s = 1; s <= sectionCount; s++) {
+            Section section = new Section();
+            section.setTitle("Sección " + s);
+            section.setOrder(s);
+            section.setCourse(course);
+            sections.add(section);
+        }
+        course.setSections(sections);
+        return courseRepository.save(course);
+    }
+}
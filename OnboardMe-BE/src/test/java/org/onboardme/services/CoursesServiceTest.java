@@ -0,0 +1,218 @@
+package org.onboardme.services;
+
+import com.onboardme.model.CourseCatalogPageDTO;
+import com.onboardme.model.CourseDTO;
+import com.onboardme.model.CourseProgressDTO;
+import com.onboardme.model.LearnerCourseDTO;
+import com.onboardme.model.SectionDTO;
+import com.onboardme.model.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.onboardme.config.QueryCounter;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class CoursesServiceTest {
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bulkProgressMatchesTheSinglePairEndpoint() {
+        User buddy = createUser("progreso.buddy@empresa.com", null);
+        User first = createUser("progreso.uno@empresa.com", buddy);
+        User second = createUser("progreso.dos@empresa.com", buddy);
+        User notEnrolled = createUser("progreso.tres@empresa.com", buddy);
+        Course course = createCourse(3);
+        Course other = createCourse(4);
+        for (User user : List.of(first, second)) {
+            coursesService.assignCourse(course.getId(), buddy.getId(), user.getId());
+        }
+        coursesService.assignCourse(other.getId(), buddy.getId(), first.getId());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> coursesService.updateCourseProgress(
+                course.getId(), first.getId(), course.getSections().get(0).getId()));
+
+        List<CourseProgressDTO> byCourse = coursesService.getCoursesProgress(null, null, course.getId(),
+                List.of(first.getId(), second.getId(), notEnrolled.getId()));
+        assertEquals(List.of(first.getId(), second.getId()), byCourse.stream().map(CourseProgressDTO::getIdUser).toList());
+        for (CourseProgressDTO progress : byCourse) {
+            assertEquals(coursesService.getCourseProgress(progress.getIdCourse(), progress.getIdUser()), progress.getProgress());
+        }
+        assertEquals(33.4, byCourse.get(0).getProgress());
+
+        List<CourseProgressDTO> byUser = coursesService.getCoursesProgress(first.getId(), List.of(course.getId(), other.getId()), null, null);
+        assertEquals(List.of(33.4, 0.0), byUser.stream().map(CourseProgressDTO::getProgress).toList());
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> coursesService.getCoursesProgress(first.getId(), List.of(course.getId()), course.getId(), List.of(first.getId())));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    @Test
+    void catalogPagesThroughCoursesSharingABackfilledDate() {
+        // Como los deja V7: la misma fecha para todos, completada por la base
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO curso (titulo, area, fecha_creacion, version) VALUES (?, 'Relleno', ?, 0)",
+                    "Relleno " + i, Timestamp.valueOf("2020-01-01 10:00:00.123456"));
+        }
+        List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM curso WHERE area = 'Relleno' ORDER BY id DESC", Long.class);
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CourseCatalogPageDTO page = coursesService.getCourseCatalog("Relleno", null, cursor, 2);
+            page.getItems().forEach(item -> ids.add(item.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    void learnerCoursesOnlyCarryTheUsersOwnEnrollment() {
+        User buddy = createUser("alumno.buddy@empresa.com", null);
+        User learner = createUser("alumno.uno@empresa.com", buddy);
+        User classmate = createUser("alumno.dos@empresa.com", buddy);
+        Course course = createCourse(3);
+        Course other = createCourse(2);
+        coursesService.assignCourse(course.getId(), buddy.getId(), learner.getId());
+        coursesService.assignCourse(course.getId(), buddy.getId(), classmate.getId());
+        coursesService.assignCourse(other.getId(), buddy.getId(), learner.getId());
+        Section current = course.getSections().get(0);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> coursesService.updateCourseProgress(
+                course.getId(), learner.getId(), current.getId()));
+        coursesService.favCourse(other.getId(), learner.getId());
+
+        // Se cuenta solo este hilo: los eventos de las asignaciones se procesan en paralelo
+        QueryCounter.start();
+        List<LearnerCourseDTO> courses = coursesService.getLearnerCourses(learner.getId());
+        assertEquals(1, QueryCounter.stop().getCount());
+
+        assertEquals(List.of(course.getId(), other.getId()), courses.stream().map(LearnerCourseDTO::getIdCourse).toList());
+        LearnerCourseDTO first = courses.get(0);
+        assertEquals(3L, first.getSectionCount());
+        assertEquals(current.getId(), first.getCurrentSectionId());
+        assertEquals(current.getTitle(), first.getCurrentSectionTitle());
+        assertEquals(coursesService.getCourseProgress(course.getId(), learner.getId()), first.getProgress());
+        assertEquals(false, first.getFavorite());
+        LearnerCourseDTO second = courses.get(1);
+        assertNull(second.getCurrentSectionId());
+        assertEquals(true, second.getFavorite());
+        assertEquals(0.0, second.getProgress());
+    }
+
+    @Test
+    void updatingACourseKeepsTheSectionsItsLearnersAreOn() {
+        User buddy = createUser("edicion.buddy@empresa.com", null);
+        User onSecond = createUser("edicion.uno@empresa.com", buddy);
+        User onThird = createUser("edicion.dos@empresa.com", buddy);
+        Course course = createCourse(3);
+        List<Section> sections = course.getSections();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (User user : List.of(onSecond, onThird)) {
+            coursesService.assignCourse(course.getId(), buddy.getId(), user.getId());
+        }
+        transaction.executeWithoutResult(status -> coursesService.updateCourseProgress(
+                course.getId(), onSecond.getId(), sections.get(1).getId()));
+        transaction.executeWithoutResult(status -> coursesService.updateCourseProgress(
+                course.getId(), onThird.getId(), sections.get(2).getId()));
+
+        // La segunda pasa al principio, la primera cambia de título, la tercera se reconoce por su orden y
+        // se agrega una cuarta
+        CourseDTO updated = coursesService.createCourse(courseDTO(course.getId(), buddy,
+                new SectionDTO().id(sections.get(1).getId()).title("Segunda").order("1"),
+                new SectionDTO().id(sections.get(0).getId()).title("Primera editada").order("2"),
+                new SectionDTO().title("Tercera").order("3"),
+                new SectionDTO().title("Nueva").order("4")));
+        assertEquals(course.getId(), updated.getId());
+        List<SectionDTO> result = updated.getSections();
+        assertEquals(List.of(sections.get(1).getId(), sections.get(0).getId(), sections.get(2).getId()),
+                result.subList(0, 3).stream().map(SectionDTO::getId).toList());
+        assertEquals(List.of("1", "2", "3", "4"), result.stream().map(SectionDTO::getOrder).toList());
+        assertEquals(List.of("Segunda", "Primera editada", "Tercera", "Nueva"), result.stream().map(SectionDTO::getTitle).toList());
+        assertEquals(sections.get(1).getId(), currentSection(onSecond, course));
+        assertEquals(sections.get(2).getId(), currentSection(onThird, course));
+        assertEquals(25.0, coursesService.getCourseProgress(course.getId(), onSecond.getId()));
+        assertEquals(75.0, coursesService.getCourseProgress(course.getId(), onThird.getId()));
+
+        // Quien estaba en una sección borrada pasa a la anterior que queda
+        coursesService.createCourse(courseDTO(course.getId(), buddy,
+                new SectionDTO().id(sections.get(1).getId()).title("Segunda").order("1"),
+                new SectionDTO().id(sections.get(0).getId()).title("Primera editada").order("2")));
+        assertEquals(sections.get(1).getId(), currentSection(onSecond, course));
+        assertEquals(sections.get(0).getId(), currentSection(onThird, course));
+        assertEquals(50.0, coursesService.getCourseProgress(course.getId(), onSecond.getId()));
+        assertEquals(100.0, coursesService.getCourseProgress(course.getId(), onThird.getId()));
+    }
+
+    private CourseDTO courseDTO(Long id, User creator, SectionDTO... sections) {
+        CourseDTO dto = new CourseDTO().id(id).title("Curso editado").createdBy(new UserDTO().id(creator.getId()));
+        dto.setSections(List.of(sections));
+        return dto;
+    }
+
+    private Long currentSection(User user, Course course) {
+        return jdbcTemplate.queryForObject("SELECT id_seccion FROM usuario_x_curso WHERE id_usuario = ? AND id_curso = ?",
+                Long.class, user.getId(), course.getId());
+    }
+
+    private User createUser(String email, User buddy) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setEmail(email);
+        user.setPassword("clave");
+        user.setBuddy(buddy);
+        return userRepository.save(user);
+    }
+
+    private Course createCourse(int sectionCount) {
+        Course course = new Course();
+        course.setTitle("Curso de avance");
+        course.setArea("IT");
+
+        List<Section> sections = new ArrayList<>();
+        for (int s = 1; s <= sectionCount; s++) {
+            Section section = new Section();
+            section.setTitle("Sección " + s);
+            section.setOrder(s);
+            section.setCourse(course);
+            sections.add(section);
+        }
+        course.setSections(sections);
+        return courseRepository.save(course);
+    }
+}
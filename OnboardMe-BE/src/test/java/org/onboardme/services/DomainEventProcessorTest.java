@@ -0,0 +1,220 @@
+package org.onboardme.services;
+
+import org.junit.jupiter.api.Test;
+import org.onboardme.config.QueryCounter;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.DomainEvent;
+import org.onboardme.dao.entities.Notification;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.DomainEventRepository;
+import org.onboardme.dao.repositories.NotificationRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest(properties = "onboardme.events.batch-size=2")
+@ActiveProfiles("test")
+@DirtiesContext
+class DomainEventProcessorTest {
+
+    @Autowired
+    private DomainEventProcessor processor;
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private NotificationService notificationService;
+
+    @Test
+    void batchInterruptedMidwayIsReprocessedWithoutDuplicates() {
+        Course course = createCourse(1);
+        List<User> users = List.of(createUser("evento.uno@empresa.com", null),
+                createUser("evento.dos@empresa.com", null),
+                createUser("evento.tres@empresa.com", null));
+        List<DomainEvent> events = users.stream()
+                .map(user -> store("{\"userId\":" + user.getId() + ",\"courseId\":" + course.getId() + "}"))
+                .toList();
+
+        // El segundo lote guarda sus notificaciones y la aplicación se cae antes de confirmar
+        doCallRealMethod()
+                .doAnswer(invocation -> {
+                    invocation.callRealMethod();
+                    throw new Error("caída simulada");
+                })
+                .when(notificationService).sendAll(anyList());
+        assertThrows(Error.class, processor::drain);
+
+        assertEquals(List.of(1, 1, 0), notificationCounts(users));
+        assertEquals(List.of(DomainEvent.PROCESSED, DomainEvent.PROCESSED, DomainEvent.PENDING), statuses(events));
+        assertEquals(0, domainEventRepository.findById(events.get(2).getId()).orElseThrow().getAttempts());
+
+        // Al reiniciar se retoma el lote pendiente
+        reset(notificationService);
+        processor.drain();
+
+        assertEquals(List.of(1, 1, 1), notificationCounts(users));
+        assertEquals(List.of(DomainEvent.PROCESSED, DomainEvent.PROCESSED, DomainEvent.PROCESSED), statuses(events));
+        Notification notification = notificationRepository.findByUserIdOrderBySentDateDescIdDesc(users.get(2).getId()).get(0);
+        assertEquals("CURSO ASIGNADO", notification.getTitle());
+        assertEquals("Hola, Test Empleado se te ha asignado un nuevo curso: Curso de eventos", notification.getMessage());
+    }
+
+    @Test
+    void assignmentAndCompletionNotifyAfterCommit() throws InterruptedException {
+        User buddy = createUser("evento.buddy@empresa.com", null);
+        User learner = createUser("evento.alumno@empresa.com", buddy);
+        Course course = createCourse(1);
+
+        coursesService.assignCourse(course.getId(), buddy.getId(), learner.getId());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> coursesService.updateCourseProgress(
+                course.getId(), learner.getId(), course.getSections().get(0).getId()));
+
+        List<Notification> toLearner = awaitNotifications(learner.getId());
+        assertEquals("CURSO ASIGNADO", toLearner.get(0).getTitle());
+        List<Notification> toBuddy = awaitNotifications(buddy.getId());
+        assertEquals("CURSO FINALIZADO", toBuddy.get(0).getTitle());
+        assertEquals("Hola, Test Empleado te informamos que el usuario Test Empleado ha finalizado el curso: Curso de eventos",
+                toBuddy.get(0).getMessage());
+    }
+
+    @Test
+    void progressWritesOnlyTheEnrollmentRowAndItsEvent() {
+        User buddy = createUser("escritura.buddy@empresa.com", null);
+        User learner = createUser("escritura.alumno@empresa.com", buddy);
+        Course course = createCourse(2);
+        coursesService.assignCourse(course.getId(), buddy.getId(), learner.getId());
+
+        QueryCounter.start();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> coursesService.updateCourseProgress(
+                course.getId(), learner.getId(), course.getSections().get(0).getId()));
+        List<String> writes = QueryCounter.stop().getBySql().keySet().stream()
+                .filter(sql -> !sql.startsWith("select"))
+                .toList();
+
+        // Sin notificaciones ni la fila del curso: la inscripción del alumno y el evento, en la misma transacción
+        assertEquals(2, writes.size(), writes.toString());
+        assertTrue(writes.get(0).startsWith("insert into evento_dominio"), writes.get(0));
+        assertTrue(writes.get(1).startsWith("update usuario_x_curso"), writes.get(1));
+    }
+
+    @Test
+    void purgesOnlyOldProcessedEvents() {
+        Date old = new Date(System.currentTimeMillis() - Duration.ofDays(8).toMillis());
+        List<DomainEvent> oldProcessed = List.of(store(DomainEvent.PROCESSED, old), store(DomainEvent.PROCESSED, old),
+                store(DomainEvent.PROCESSED, old));
+        DomainEvent recent = store(DomainEvent.PROCESSED, new Date());
+        DomainEvent oldFailed = store(DomainEvent.FAILED, old);
+
+        assertEquals(3, processor.purgeProcessed());
+
+        oldProcessed.forEach(event -> assertFalse(domainEventRepository.existsById(event.getId())));
+        assertTrue(domainEventRepository.existsById(recent.getId()));
+        assertTrue(domainEventRepository.existsById(oldFailed.getId()));
+    }
+
+    private List<Notification> awaitNotifications(Long userId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            List<Notification> notifications = notificationRepository.findByUserIdOrderBySentDateDescIdDesc(userId);
+            if (!notifications.isEmpty()) {
+                return notifications;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("No llegó la notificación del usuario " + userId);
+    }
+
+    private List<Integer> notificationCounts(List<User> users) {
+        return users.stream()
+                .map(user -> notificationRepository.findByUserIdOrderBySentDateDescIdDesc(user.getId()).size())
+                .toList();
+    }
+
+    private List<String> statuses(List<DomainEvent> events) {
+        return events.stream()
+                .map(event -> domainEventRepository.findById(event.getId()).orElseThrow().getStatus())
+                .toList();
+    }
+
+    private DomainEvent store(String status, Date processedAt) {
+        DomainEvent event = store("{}");
+        event.setStatus(status);
+        event.setProcessedAt(processedAt);
+        return domainEventRepository.save(event);
+    }
+
+    private DomainEvent store(String payload) {
+        Date now = new Date();
+        DomainEvent event = new DomainEvent();
+        event.setType("CourseAssigned");
+        event.setPayload(payload);
+        event.setStatus(DomainEvent.PENDING);
+        event.setAttempts(0);
+        event.setNextAttemptAt(now);
+        event.setCreatedAt(now);
+        return domainEventRepository.save(event);
+    }
+
+    private User createUser(String email, User buddy) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("Empleado");
+        user.setEmail(email);
+        user.setPassword("clave");
+        user.setBuddy(buddy);
+        return userRepository.save(user);
+    }
+
+    private Course createCourse(int sectionCount) {
+        Course course = new Course();
+        course.setTitle("Curso de eventos");
+        course.setArea("IT");
+
+        List<Section> sections = new ArrayList<>();
+        for (int s = 1; s <= sectionCount; s++) {
+            Section section = new Section();
+            section.setTitle("Sección " + s);
+            section.setOrder(s);
+            section.setCourse(course);
+            sections.add(section);
+        }
+        course.setSections(sections);
+        return courseRepository.save(course);
+    }
+}
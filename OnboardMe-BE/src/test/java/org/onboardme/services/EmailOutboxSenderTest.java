@@ -0,0 +1,168 @@
+package org.onboardme.services;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.EmailOutbox;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.EmailOutboxRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class EmailOutboxSenderTest {
+
+    private static final GreenMail SMTP = new GreenMail(new ServerSetup(0, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+
+    static {
+        SMTP.start();
+    }
+
+    @DynamicPropertySource
+    static void smtp(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "127.0.0.1");
+        registry.add("spring.mail.port", () -> SMTP.getSmtp().getPort());
+        registry.add("spring.mail.username", () -> "");
+        registry.add("spring.mail.password", () -> "");
+        registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+        registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+    }
+
+    @AfterAll
+    static void stopSmtp() {
+        SMTP.stop();
+    }
+
+    @Autowired
+    private EmailOutboxSender sender;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clean() throws Exception {
+        emailOutboxRepository.deleteAll();
+        SMTP.purgeEmailFromAllMailboxes();
+    }
+
+    @Test
+    void sendsPendingMailsAndIsolatesMalformedOnes() {
+        double sentBefore = meterRegistry.counter("onboardme.mail.outbox.sent").count();
+        enqueue("uno@empresa.com", "no es una direccion@@", "dos@empresa.com");
+
+        sender.drain();
+
+        assertEquals(2, SMTP.getReceivedMessages().length);
+        assertEquals(2, emailOutboxRepository.countByStatus(EmailOutbox.SENT));
+        assertEquals(sentBefore + 2, meterRegistry.counter("onboardme.mail.outbox.sent").count());
+
+        EmailOutbox malformed = emailOutboxRepository.findAll().stream()
+                .filter(m -> EmailOutbox.PENDING.equals(m.getStatus()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, malformed.getAttempts());
+        assertNotNull(malformed.getLastError());
+        assertTrue(malformed.getNextAttemptAt().after(new Date()));
+    }
+
+    @Test
+    void retriesWithBackoffWhileServerIsUnreachable() {
+        enqueue("tres@empresa.com");
+        int port = mailSender.getPort();
+        mailSender.setPort(1);
+        try {
+            sender.drain();
+        } finally {
+            mailSender.setPort(port);
+        }
+
+        EmailOutbox mail = emailOutboxRepository.findAll().get(0);
+        assertEquals(EmailOutbox.PENDING, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertEquals(0, SMTP.getReceivedMessages().length);
+
+        // Vencida la espera se envía normalmente
+        mail.setNextAttemptAt(new Date(System.currentTimeMillis() - 1000));
+        emailOutboxRepository.save(mail);
+        sender.drain();
+
+        assertEquals(1, SMTP.getReceivedMessages().length);
+        assertEquals(EmailOutbox.SENT, emailOutboxRepository.findAll().get(0).getStatus());
+    }
+
+    @Test
+    void passwordIsFilledInAtSendTimeAndNeverStored() throws Exception {
+        enqueue("cuatro@empresa.com");
+        EmailOutbox stored = emailOutboxRepository.findAll().get(0);
+        assertFalse(stored.getBody().contains("clave-cuatro@empresa.com"));
+
+        sender.drain();
+
+        assertEquals(1, SMTP.getReceivedMessages().length);
+        assertTrue(GreenMailUtil.getBody(SMTP.getReceivedMessages()[0]).contains("Contrase=C3=B1a: clave-cuatro@empresa.com"));
+        assertFalse(emailOutboxRepository.findAll().get(0).getBody().contains("clave-cuatro@empresa.com"));
+    }
+
+    @Test
+    void credentialsMailWithoutUserIsDiscarded() {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setEmail("sin.usuario@empresa.com");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> emailService.enqueueUserCreationEmails(List.of(user)));
+
+        sender.drain();
+
+        EmailOutbox mail = emailOutboxRepository.findAll().get(0);
+        assertEquals(EmailOutbox.FAILED, mail.getStatus());
+        assertEquals(0, SMTP.getReceivedMessages().length);
+    }
+
+    private void enqueue(String... recipients) {
+        List<User> users = Arrays.stream(recipients).map(email -> {
+            User user = new User();
+            user.setFirstName("Test");
+            user.setEmail(email);
+            user.setPassword("clave-" + email);
+            return userRepository.save(user);
+        }).toList();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> emailService.enqueueUserCreationEmails(users));
+    }
+}
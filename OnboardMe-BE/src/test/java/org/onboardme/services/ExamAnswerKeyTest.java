@@ -0,0 +1,61 @@
+package org.onboardme.services;
+
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.content.ExamContent;
+import org.onboardme.dao.entities.content.ExamOption;
+import org.onboardme.dao.entities.content.ExamQuestion;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExamAnswerKeyTest {
+
+    @Test
+    void gradesLikeSetComparison() {
+        ExamAnswerKey.QuestionKey key = compile(List.of(10L, 13L), 10L, 11L, 12L, 13L);
+        List<Long> correct = List.of(10L, 13L);
+
+        List<List<Long>> submissions = List.of(
+                List.of(), List.of(10L), List.of(13L, 10L), List.of(10L, 13L, 10L),
+                List.of(10L, 11L, 13L), List.of(11L), List.of(99L), Arrays.asList(10L, null, 13L));
+        for (List<Long> selected : submissions) {
+            assertEquals(new HashSet<>(selected).equals(new HashSet<>(correct)), key.isCorrect(selected),
+                    selected.toString());
+        }
+    }
+
+    @Test
+    void questionWithoutCorrectOptionsOnlyAcceptsEmptySelection() {
+        ExamAnswerKey.QuestionKey key = compile(List.of(), 1L, 2L);
+
+        assertEquals(true, key.isCorrect(List.of()));
+        assertEquals(false, key.isCorrect(List.of(1L)));
+    }
+
+    @Test
+    void keepsCorrectIdsInOptionOrder() {
+        ExamAnswerKey.QuestionKey key = compile(List.of(7L, 3L), 7L, 5L, 3L);
+
+        assertEquals(List.of(7L, 3L), key.getCorrectOptionIds());
+    }
+
+    private static ExamAnswerKey.QuestionKey compile(List<Long> correct, Long... optionIds) {
+        ExamQuestion question = new ExamQuestion();
+        question.setId(1L);
+        List<ExamOption> options = Arrays.stream(optionIds).map(id -> {
+            ExamOption option = new ExamOption();
+            option.setId(id);
+            option.setCorrect(correct.contains(id));
+            return option;
+        }).toList();
+        question.setOptions(options);
+
+        ExamContent exam = new ExamContent();
+        exam.setId_content(1L);
+        exam.setQuestions(List.of(question));
+        return ExamAnswerKey.compile(exam, 1L).getQuestions().get(0);
+    }
+}
@@ -0,0 +1,28 @@
+package org.onboardme.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExportWriterTest {
+
+    @Test
+    void csvNeutralizesFormulasAndQuotes() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportWriter writer = ExportWriter.of(ExportService.Format.CSV, List.of("valor"), out, new ObjectMapper())) {
+            for (String value : List.of("=SUMA(A1)", "+1", "-1", "@cmd", "\tcmd", "\rcmd", "a, \"b\"", "normal")) {
+                writer.row(value);
+            }
+            writer.row(-5L);
+        }
+
+        assertEquals(String.join("\r\n",
+                "\uFEFFvalor", "'=SUMA(A1)", "'+1", "'-1", "'@cmd", "'\tcmd", "\"'\rcmd\"", "\"a, \"\"b\"\"\"", "normal", "-5", ""),
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
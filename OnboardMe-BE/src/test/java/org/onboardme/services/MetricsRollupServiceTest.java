@@ -0,0 +1,189 @@
+package org.onboardme.services;
+
+import com.onboardme.model.DataPointDTO;
+import com.onboardme.model.GenericMetricDTO;
+import com.onboardme.model.MetricTypeDTO;
+import org.junit.jupiter.api.Test;
+import org.onboardme.config.QueryCounter;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.DomainEvent;
+import org.onboardme.dao.entities.MetricRollup;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.DomainEventRepository;
+import org.onboardme.dao.repositories.MetricRollupRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class MetricsRollupServiceTest {
+
+    @Autowired
+    private MetricsRollupService rollupService;
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MetricRollupRepository rollupRepository;
+
+    @Autowired
+    private DomainEventRepository domainEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DomainEventProcessor domainEventProcessor;
+
+    @Test
+    void rollupsFollowEnrollmentChangesAndFeedTheTrend() throws InterruptedException {
+        User buddy = createUser("rollup.buddy@empresa.com", null);
+        User otherBuddy = createUser("rollup.otro.buddy@empresa.com", null);
+        User finisher = createUser("rollup.uno@empresa.com", buddy);
+        User starter = createUser("rollup.dos@empresa.com", buddy);
+        User idle = createUser("rollup.tres@empresa.com", buddy);
+        Course course = createCourse(4);
+        for (User user : List.of(finisher, starter, idle)) {
+            coursesService.assignCourse(course.getId(), buddy.getId(), user.getId());
+        }
+        for (Section section : course.getSections()) {
+            progress(course, finisher, section);
+        }
+        progress(course, starter, course.getSections().get(0));
+        awaitEvents();
+
+        MetricRollup byCourse = rollupRepository.findByKey(MetricRollup.COURSE, course.getId()).orElseThrow();
+        assertEquals(List.of(3, 1, 1), List.of(byCourse.getAssigned(), byCourse.getInProgress(), byCourse.getFinished()));
+        assertEquals(41.7, Math.round(byCourse.getAverageProgress() * 10) / 10.0);
+        assertEquals(0.0, Math.round(byCourse.getAverageDaysToFinish() * 10) / 10.0);
+        MetricRollup byBuddy = rollupRepository.findByKey(MetricRollup.BUDDY, buddy.getId()).orElseThrow();
+        assertEquals(List.of(3, 1, 1), List.of(byBuddy.getAssigned(), byBuddy.getInProgress(), byBuddy.getFinished()));
+
+        // Al cambiar de buddy se recalculan el anterior y el nuevo
+        userService.assignBuddy(idle.getId(), otherBuddy.getId());
+        awaitEvents();
+        assertEquals(2, rollupRepository.findByKey(MetricRollup.BUDDY, buddy.getId()).orElseThrow().getAssigned());
+        MetricRollup newBuddy = rollupRepository.findByKey(MetricRollup.BUDDY, otherBuddy.getId()).orElseThrow();
+        assertEquals(List.of(1, 0, 0), List.of(newBuddy.getAssigned(), newBuddy.getInProgress(), newBuddy.getFinished()));
+        assertNull(newBuddy.getAverageDaysToFinish());
+
+        // La foto de ayer más el estado actual, sin leer inscripciones
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rollupService.snapshot(yesterday);
+        QueryCounter.start();
+        GenericMetricDTO trend = metricsService.getMetric(MetricTypeDTO.COURSE_TREND, null, course.getId());
+        assertEquals(2, QueryCounter.stop().getCount());
+
+        List<String> labels = trend.getData().stream().map(DataPointDTO::getLabel).toList();
+        assertEquals(List.of(
+                yesterday + "|ASSIGNED", yesterday + "|IN_PROGRESS", yesterday + "|FINISHED",
+                yesterday + "|AVG_PROGRESS", yesterday + "|AVG_DAYS_TO_FINISH",
+                LocalDate.now() + "|ASSIGNED", LocalDate.now() + "|IN_PROGRESS", LocalDate.now() + "|FINISHED",
+                LocalDate.now() + "|AVG_PROGRESS", LocalDate.now() + "|AVG_DAYS_TO_FINISH"), labels);
+        assertEquals(new BigDecimal("41.7"), trend.getData().get(3).getValue());
+
+        List<String> buddyLabels = metricsService.getMetric(MetricTypeDTO.BUDDY_TREND, otherBuddy.getId(), null)
+                .getData().stream().map(DataPointDTO::getLabel).toList();
+        assertEquals(8, buddyLabels.size());
+    }
+
+    @Test
+    void snapshotWaitsForTheBatchInProgress() throws Exception {
+        CountDownLatch batchStarted = new CountDownLatch(1);
+        CountDownLatch finishBatch = new CountDownLatch(1);
+        // Un lote que se queda a mitad de camino mientras llega la foto
+        CompletableFuture<Void> batch = CompletableFuture.runAsync(() -> domainEventProcessor.exclusively(() -> {
+            batchStarted.countDown();
+            try {
+                return finishBatch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertTrue(batchStarted.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> snapshot = CompletableFuture.runAsync(() -> rollupService.snapshot(LocalDate.now().minusDays(2)));
+        Thread.sleep(500);
+        assertFalse(snapshot.isDone());
+
+        finishBatch.countDown();
+        batch.get(10, TimeUnit.SECONDS);
+        snapshot.get(10, TimeUnit.SECONDS);
+    }
+
+    private void progress(Course course, User user, Section section) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> coursesService.updateCourseProgress(
+                course.getId(), user.getId(), section.getId()));
+    }
+
+    private void awaitEvents() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (domainEventRepository.countByStatus(DomainEvent.PENDING) == 0) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Quedaron eventos sin procesar");
+    }
+
+    private User createUser(String email, User buddy) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setLastName("Empleado");
+        user.setEmail(email);
+        user.setPassword("clave");
+        user.setBuddy(buddy);
+        return userRepository.save(user);
+    }
+
+    private Course createCourse(int sectionCount) {
+        Course course = new Course();
+        course.setTitle("Curso de métricas");
+        course.setArea("IT");
+
+        List<Section> sections = new ArrayList<>();
+        for (int s = 1; s <= sectionCount; s++) {
+            Section section = new Section();
+            section.setTitle("Sección " + s);
+            section.setOrder(s);
+            section.setCourse(course);
+            sections.add(section);
+        }
+        course.setSections(sections);
+        return courseRepository.save(course);
+    }
+}
@@ -0,0 +1,113 @@
+package org.onboardme.services;
+
+import com.onboardme.model.MarkNotificationsReadDTO;
+import com.onboardme.model.NotificationDTO;
+import com.onboardme.model.NotificationPageDTO;
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.Notification;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.NotificationRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class NotificationServiceTest {
+
+    private static final long BASE = 1_700_000_000_000L;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void pagesNewestFirstWithoutRepeatingRowsWithTheSameDate() {
+        User user = createUser("paginas@empresa.com");
+        // Cinco notificaciones, dos de ellas enviadas en el mismo instante
+        List<Notification> sent = createNotifications(user, 0, 1, 2, 2, 3);
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            NotificationPageDTO page = notificationService.getNotificationPage(user.getId(), false, cursor, 2);
+            page.getItems().stream().map(NotificationDTO::getId).forEach(ids::add);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of(sent.get(4).getId(), sent.get(3).getId(), sent.get(2).getId(),
+                sent.get(1).getId(), sent.get(0).getId()), ids);
+    }
+
+    @Test
+    void countsAndMarksUnreadInBulk() {
+        User user = createUser("leidas@empresa.com");
+        User other = createUser("otro@empresa.com");
+        List<Notification> sent = createNotifications(user, 0, 1, 2, 3);
+        Notification foreign = createNotifications(other, 0).get(0);
+        assertEquals(4, notificationService.getUnreadCount(user.getId()).getCount());
+
+        MarkNotificationsReadDTO byIds = new MarkNotificationsReadDTO();
+        byIds.setIds(List.of(sent.get(3).getId(), foreign.getId()));
+        assertEquals(1, notificationService.markNotificationsAsRead(user.getId(), byIds).getCount());
+        assertEquals(1, notificationService.getUnreadCount(other.getId()).getCount());
+
+        NotificationPageDTO unread = notificationService.getNotificationPage(user.getId(), true, null, 10);
+        assertEquals(3, unread.getItems().size());
+        assertNull(unread.getNextCursor());
+
+        MarkNotificationsReadDTO before = new MarkNotificationsReadDTO();
+        before.setBefore(OffsetDateTime.ofInstant(new Date(BASE + 1000).toInstant(), ZoneOffset.UTC));
+        assertEquals(2, notificationService.markNotificationsAsRead(user.getId(), before).getCount());
+        assertEquals(1, notificationService.getUnreadCount(user.getId()).getCount());
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> notificationService.markNotificationsAsRead(user.getId(), new MarkNotificationsReadDTO()));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setFirstName("Test");
+        user.setEmail(email);
+        user.setPassword("clave");
+        return userRepository.save(user);
+    }
+
+    private List<Notification> createNotifications(User user, int... seconds) {
+        List<Notification> notifications = new ArrayList<>();
+        for (int second : seconds) {
+            Notification notification = new Notification();
+            notification.setUser(user);
+            notification.setTitle("Aviso");
+            notification.setMessage("Mensaje " + second);
+            notification.setSentDate(new Date(BASE + second * 1000L));
+            notification.setSeen(false);
+            notifications.add(notification);
+        }
+        return notificationRepository.saveAll(notifications);
+    }
+}
@@ -0,0 +1,42 @@
+package org.onboardme.services;
+
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.DomainEvent;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy policy = new RetryPolicy(3, Duration.ofSeconds(30), Duration.ofHours(1));
+
+    @Test
+    void backoffDoublesUpToTheMaximum() {
+        assertEquals(30, policy.backoff(1).toSeconds());
+        assertEquals(60, policy.backoff(2).toSeconds());
+        assertEquals(240, policy.backoff(4).toSeconds());
+        assertEquals(3600, policy.backoff(20).toSeconds());
+    }
+
+    @Test
+    void schedulesTheNextAttemptUntilTheLastOne() {
+        DomainEvent event = new DomainEvent();
+        event.setAttempts(0);
+        Date now = new Date();
+
+        assertFalse(policy.registerFailure(event, new RuntimeException("x".repeat(2000)), now));
+        assertEquals(1, event.getAttempts());
+        assertEquals(1000, event.getLastError().length());
+        assertEquals(now.getTime() + 30_000, event.getNextAttemptAt().getTime());
+
+        assertFalse(policy.registerFailure(event, new RuntimeException("otra vez"), now));
+        assertEquals(now.getTime() + 60_000, event.getNextAttemptAt().getTime());
+        assertTrue(policy.registerFailure(event, new RuntimeException("última"), now));
+        assertEquals(3, event.getAttempts());
+        assertEquals("última", event.getLastError());
+    }
+}
@@ -0,0 +1,87 @@
+package org.onboardme.services;
+
+import com.onboardme.model.UploadUsersCsv200Response;
+import org.junit.jupiter.api.Test;
+import org.onboardme.dao.entities.EmailOutbox;
+import org.onboardme.dao.repositories.EmailOutboxRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class UserCsvImporterTest {
+
+    @Autowired
+    private UserCsvImporter importer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Test
+    void importsAcrossChunksAndKeepsPerLineErrors() throws Exception {
+        int generated = UserCsvImporter.CHUNK_SIZE + 20;
+        StringBuilder csv = new StringBuilder("nombre,apellido,email,contrasenia,rol,area\n");
+        csv.append("Ana,Pérez,ana.import@empresa.com,clave,Empleado,IT\n");
+        csv.append("Laura,Repetida,laura.empleado@empresa.com,clave,Empleado,IT\n");
+        csv.append("Ana,Otra,ANA.IMPORT@empresa.com,clave,Empleado,IT\n");
+        csv.append("Sin,Rol,sin.rol@empresa.com,clave,Gerente,IT\n");
+        csv.append("Incompleta,Linea\n");
+        for (int i = 0; i < generated; i++) {
+            csv.append("Nombre").append(i).append(",Apellido,lote").append(i).append("@empresa.com,clave,empleado,Ventas\n");
+        }
+        long before = userRepository.count();
+        long pendingBefore = emailOutboxRepository.countByStatus(EmailOutbox.PENDING);
+
+        UploadUsersCsv200Response response = importCsv(csv);
+
+        assertEquals(5 + generated, response.getTotalRecords());
+        assertEquals(1 + generated, response.getCreated());
+        assertEquals(4, response.getFailed());
+        assertEquals(List.of(
+                "Error en la línea 2 | Usuario: Laura Repetida -> El usuario con email laura.empleado@empresa.com ya existe en la plataforma",
+                "Error en la línea 3 | Usuario: Ana Otra -> El usuario con email ANA.IMPORT@empresa.com ya existe en la plataforma",
+                "Error en la línea 4 | Usuario: Sin Rol -> Rol no encontrado: Gerente",
+                "Error en la línea 5 | Usuario: Incompleta Linea -> Faltan columnas: se esperaban 6 y la línea tiene 2"
+        ), response.getErrors());
+        assertEquals(before + 1 + generated, userRepository.count());
+        assertTrue(userRepository.findByEmail("lote519@empresa.com").isPresent());
+        assertEquals(pendingBefore + 1 + generated, emailOutboxRepository.countByStatus(EmailOutbox.PENDING));
+    }
+
+    @Test
+    void emailOfAFailedInsertCanBeImportedLater() throws Exception {
+        // El área no entra en la columna: falla el batch del primer lote y después esa fila sola
+        StringBuilder csv = new StringBuilder("nombre,apellido,email,contrasenia,rol,area\n");
+        csv.append("Area,Larga,reintento@empresa.com,clave,Empleado,").append("x".repeat(300)).append('\n');
+        for (int i = 1; i < UserCsvImporter.CHUNK_SIZE; i++) {
+            csv.append("Relleno").append(i).append(",Apellido,relleno").append(i).append("@empresa.com,clave,Empleado,IT\n");
+        }
+        csv.append("Area,Corta,reintento@empresa.com,clave,Empleado,IT\n");
+
+        UploadUsersCsv200Response response = importCsv(csv);
+
+        assertEquals(UserCsvImporter.CHUNK_SIZE + 1, response.getTotalRecords());
+        assertEquals(UserCsvImporter.CHUNK_SIZE, response.getCreated());
+        assertEquals(1, response.getErrors().size());
+        assertTrue(response.getErrors().get(0).startsWith("Error en la línea 1 | Usuario: Area Larga -> "), response.getErrors().get(0));
+        assertEquals("Corta", userRepository.findByEmail("reintento@empresa.com").orElseThrow().getLastName());
+    }
+
+    private UploadUsersCsv200Response importCsv(StringBuilder csv) throws Exception {
+        return importer.importCsv(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,92 @@
+package org.onboardme.services;
+
+import com.onboardme.model.ImportJobDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "onboardme.import.max-errors=2")
+@ActiveProfiles("test")
+@DirtiesContext
+class UserImportJobServiceTest {
+
+    @Autowired
+    private UserImportJobService jobService;
+
+    @Test
+    void importsFileSentInParts() throws Exception {
+        byte[] csv = ("nombre,apellido,email,contrasenia,rol,area\n" +
+                "Juan,Partes,juan.partes@empresa.com,clave,Empleado,IT\n" +
+                "Rol,Inexistente,rol.inexistente@empresa.com,clave,Gerente,IT\n" +
+                "Maria,Partes,maria.partes@empresa.com,clave,Buddy,RRHH\n").getBytes(StandardCharsets.UTF_8);
+        int split = 60; // corta una línea al medio
+
+        ImportJobDTO job = jobService.createJob(null);
+        assertEquals(ImportJobDTO.StatusEnum.RECEIVING, job.getStatus());
+
+        jobService.appendChunk(job.getJobId(), part(Arrays.copyOfRange(csv, 0, split)), 0L, false);
+        ResponseStatusException mismatch = assertThrows(ResponseStatusException.class,
+                () -> jobService.appendChunk(job.getJobId(), part(new byte[0]), 0L, false));
+        assertEquals(HttpStatus.CONFLICT, mismatch.getStatusCode());
+        jobService.appendChunk(job.getJobId(), part(Arrays.copyOfRange(csv, split, csv.length)), (long) split, true);
+
+        ImportJobDTO done = awaitFinished(job.getJobId());
+        assertEquals(ImportJobDTO.StatusEnum.COMPLETED, done.getStatus());
+        assertEquals(csv.length, done.getReceivedBytes());
+        assertEquals(3, done.getProcessed());
+        assertEquals(2, done.getCreated());
+        assertEquals(1, done.getFailed());
+        assertEquals(List.of("Error en la línea 2 | Usuario: Rol Inexistente -> Rol no encontrado: Gerente"), done.getErrors());
+        assertEquals(List.of(), jobService.getJob(job.getJobId(), 1).getErrors());
+    }
+
+    @Test
+    void keepsOnlyTheFirstErrorsAndCountsTheRest() throws Exception {
+        StringBuilder csv = new StringBuilder("nombre,apellido,email,contrasenia,rol,area\n");
+        for (int i = 1; i <= 5; i++) {
+            csv.append("Sin,Rol").append(i).append(",sin.rol").append(i).append("@empresa.com,clave,Gerente,IT\n");
+        }
+
+        ImportJobDTO job = jobService.createJob(part(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        ImportJobDTO done = awaitFinished(job.getJobId());
+        assertEquals(5, done.getFailed());
+        assertEquals(2, done.getErrors().size());
+        assertEquals(3, done.getErrorsOmitted());
+        assertTrue(done.getErrors().get(0).startsWith("Error en la línea 1 "), done.getErrors().get(0));
+    }
+
+    @Test
+    void unknownJobIsNotFound() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> jobService.getJob("no-existe", 0));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+
+    private ImportJobDTO awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ImportJobDTO job = jobService.getJob(jobId, 0);
+            if (job.getStatus() == ImportJobDTO.StatusEnum.COMPLETED || job.getStatus() == ImportJobDTO.StatusEnum.FAILED) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("La importación no terminó a tiempo");
+    }
+
+    private static MockMultipartFile part(byte[] content) {
+        return new MockMultipartFile("file", "usuarios.csv", "text/csv", content);
+    }
+}
@@ -0,0 +1,112 @@
+package org.onboardme.services;
+
+import com.onboardme.model.EmployeeEnrollmentDTO;
+import com.onboardme.model.EmployeeOverviewDTO;
+import com.onboardme.model.EmployeeOverviewPageDTO;
+import org.junit.jupiter.api.Test;
+import org.onboardme.config.QueryCounter;
+import org.onboardme.dao.entities.Course;
+import org.onboardme.dao.entities.Section;
+import org.onboardme.dao.entities.User;
+import org.onboardme.dao.repositories.CourseRepository;
+import org.onboardme.dao.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CoursesService coursesService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void employeeOverviewPagesUsersWithTheirProgressInAFewQueries() {
+        User buddy = createUser("Bruno", "Buddy", null);
+        List<User> mentees = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            mentees.add(createUser("Empleado" + i, "Overview", buddy));
+        }
+        Course first = createCourse("Inducción", 4);
+        Course second = createCourse("Seguridad", 2);
+        for (User mentee : mentees) {
+            coursesService.assignCourse(first.getId(), buddy.getId(), mentee.getId());
+            coursesService.assignCourse(second.getId(), buddy.getId(), mentee.getId());
+        }
+        // Fuera de un request no hay sesión abierta para las secciones del curso
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> coursesService.updateCourseProgress(
+                first.getId(), mentees.get(0).getId(), first.getSections().get(1).getId()));
+
+        // Se cuenta solo este hilo: los eventos de las asignaciones se procesan en paralelo
+        QueryCounter.start();
+        EmployeeOverviewPageDTO page = userService.getEmployeeOverview(buddy.getId(), null, null, 3);
+        assertEquals(2, QueryCounter.stop().getCount());
+        assertEquals(3, page.getItems().size());
+        EmployeeOverviewDTO employee = page.getItems().get(0);
+        assertEquals(mentees.get(0).getId(), employee.getId());
+        assertEquals(buddy.getId(), employee.getBuddyId());
+        assertEquals("Bruno Buddy", employee.getBuddyName());
+        assertEquals(List.of("Inducción", "Seguridad"),
+                employee.getEnrollments().stream().map(EmployeeEnrollmentDTO::getCourseTitle).toList());
+        assertEquals(50.0, employee.getEnrollments().get(0).getProgress());
+        assertEquals(0.0, employee.getEnrollments().get(1).getProgress());
+
+        EmployeeOverviewPageDTO last = userService.getEmployeeOverview(buddy.getId(), null, page.getNextCursor(), 3);
+        assertEquals(List.of(mentees.get(3).getId(), mentees.get(4).getId()),
+                last.getItems().stream().map(EmployeeOverviewDTO::getId).toList());
+        assertNull(last.getNextCursor());
+        assertTrue(userService.getEmployeeOverview(buddy.getId(), "Otra área", null, 3).getItems().isEmpty());
+    }
+
+    private User createUser(String firstName, String lastName, User buddy) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@empresa.com");
+        user.setPassword("clave");
+        user.setArea("IT");
+        user.setBuddy(buddy);
+        return userRepository.save(user);
+    }
+
+    private Course createCourse(String title, int sectionCount) {
+        Course course = new Course();
+        course.setTitle(title);
+        course.setArea("IT");
+
+        List<Section> sections = new ArrayList<>();
+        for (int s = 1; s <= sectionCount; s++) {
+            Section section = new Section();
+            section.setTitle("Sección " + s);
+            section.setOrder(s);
+            section.setCourse(course);
+            sections.add(section);
+        }
+        course.setSections(sections);
+        return courseRepository.save(course);
+    }
+}
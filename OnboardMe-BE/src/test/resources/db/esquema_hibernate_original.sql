@@ -0,0 +1,34 @@
+-- DDL que generaba Hibernate (MySQLDialect, ddl-auto) con las entidades anteriores a las migraciones.
+-- ExistingSchemaBaselineTest arma con esto una base "vieja" para probar el baseline de Flyway.
+create table curso (id bigint not null auto_increment, area varchar(255), fecha_creacion datetime(6), descripcion varchar(255), fecha_vencimiento datetime(6), titulo varchar(255), id_usuario_creador bigint, primary key (id)) engine=InnoDB;
+create table document_content (url varchar(255), id_content bigint not null, primary key (id_content)) engine=InnoDB;
+create table exam_content (time_limit integer, id_content bigint not null, primary key (id_content)) engine=InnoDB;
+create table exam_option (id bigint not null auto_increment, correct bit, text varchar(255), question_id bigint, primary key (id)) engine=InnoDB;
+create table exam_question (id bigint not null auto_increment, text varchar(255), question_type enum ('MULTIPLE_CHOICE','SINGLE_CHOICE') not null, exam_id bigint, primary key (id)) engine=InnoDB;
+create table exam_result (id bigint not null auto_increment, completed_at datetime(6), detail longtext, score integer, total_questions integer, exam_id bigint, user_id bigint, primary key (id)) engine=InnoDB;
+create table image_content (url varchar(255), id_content bigint not null, primary key (id_content)) engine=InnoDB;
+create table notificacion (id bigint not null auto_increment, mensaje varchar(255), leida bit, fecha_envio datetime(6), titulo varchar(255), id_usuario_enviado bigint not null, primary key (id)) engine=InnoDB;
+create table rol (id bigint not null auto_increment, nombre varchar(255), primary key (id)) engine=InnoDB;
+create table seccion (id bigint not null auto_increment, orden varchar(255), titulo varchar(255), id_curso bigint, primary key (id)) engine=InnoDB;
+create table section_content (id_content bigint not null auto_increment, id_section bigint, primary key (id_content)) engine=InnoDB;
+create table usuario (id_legajo bigint not null auto_increment, direccion varchar(255), area varchar(255), fecha_nacimiento datetime(6), fecha_alta datetime(6), email varchar(255), nombre varchar(255), apellido varchar(255), contrasenia varchar(255), telefono varchar(255), estado integer, buddy_id bigint, id_rol bigint, primary key (id_legajo)) engine=InnoDB;
+create table usuario_x_curso (id_curso bigint not null, id_usuario bigint not null, fecha_asignacion datetime(6), marca_fav bit, fecha_finalizacion datetime(6), estado varchar(255), id_seccion bigint, primary key (id_curso, id_usuario)) engine=InnoDB;
+create table video_content (url varchar(255), id_content bigint not null, primary key (id_content)) engine=InnoDB;
+alter table section_content add constraint UKija22p75reqae3pbq78pkg59g unique (id_section);
+alter table curso add constraint FK9ehm6mlqhlkf1uobidluthbio foreign key (id_usuario_creador) references usuario (id_legajo);
+alter table document_content add constraint FK3up8hq0lybab6a8rjqfab84c3 foreign key (id_content) references section_content (id_content);
+alter table exam_content add constraint FKcmq09kr6w47pj8q1vntxjwbqp foreign key (id_content) references section_content (id_content);
+alter table exam_option add constraint FK80b6o0ufyy7cw8oyybmwpoetd foreign key (question_id) references exam_question (id);
+alter table exam_question add constraint FK2t0dopglufrkl0gfq5jtkcfa9 foreign key (exam_id) references exam_content (id_content);
+alter table exam_result add constraint FK1s1jtpso89t75f7x9u179sn60 foreign key (exam_id) references exam_content (id_content);
+alter table exam_result add constraint FKbs6weaotr2y56g9fpax4aedde foreign key (user_id) references usuario (id_legajo);
+alter table image_content add constraint FKpivq7msfny14v62a2fsbxw4l0 foreign key (id_content) references section_content (id_content);
+alter table notificacion add constraint FKnch82h2sewko4iyms6214m4bi foreign key (id_usuario_enviado) references usuario (id_legajo);
+alter table seccion add constraint FK1cneu3m6auvw1p2ed53nxhskf foreign key (id_curso) references curso (id);
+alter table section_content add constraint FKj25ryfjxouegn417yo1gosc3f foreign key (id_section) references seccion (id);
+alter table usuario add constraint FKshdjt4i9bbasixc9172tf98id foreign key (buddy_id) references usuario (id_legajo);
+alter table usuario add constraint FKmyv3138vvci6kaq3y5kt4cntu foreign key (id_rol) references rol (id);
+alter table usuario_x_curso add constraint FK23jgw23dirk0b6dl0mkhbohxl foreign key (id_curso) references curso (id);
+alter table usuario_x_curso add constraint FK1uyewssodoyk2rrr8yy1misuh foreign key (id_seccion) references seccion (id);
+alter table usuario_x_curso add constraint FKp23y8ls30l4al13xvo051tn6h foreign key (id_usuario) references usuario (id_legajo);
+alter table video_content add constraint FK95o6o4q36hl0vssdbqd1q1mqd foreign key (id_content) references section_content (id_content);